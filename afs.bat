@@ -0,0 +1,7 @@
+set name=%~n0%
+java -jar target/microbenchmarks.jar ^
+  -jvmArgs "-server" ^
+  -r 1 -w 1 -f 1 -wi 5 -i 10 -tu us ^
+  -prof gc ^
+  -rf csv -rff %name%.csv -o %name%.log ^
+  ".*AllocationFreeSorts.*" 
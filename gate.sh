@@ -0,0 +1,13 @@
+#!/bin/sh
+# Regression gate: runs the benchmarks given as arguments (CompareSorts by
+# default) and checks the results against the baseline of this machine in
+# baselines/, see RegressionGate. Exits with 1 on a regression.
+# GATE=save ./gate.sh stores the results as the baseline instead.
+name=$(basename "$0" .sh)
+[ $# -eq 0 ] && set -- ".*CompareSorts.*"
+java -jar target/microbenchmarks.jar \
+  -jvmArgs "-server" \
+  -r 1 -w 1 -f 1 -wi 5 -i 10 -tu ms \
+  -rf csv -rff $name.csv -o $name.log \
+  "$@" || exit 2
+java -cp target/microbenchmarks.jar com.dmitryleskov.algs4bench.RegressionGate ${GATE:-check} $name.csv
@@ -0,0 +1,12 @@
+#!/bin/sh
+# Linux runner: the benchmarks given as arguments (CompareSorts by default)
+# with the gc, stack and, where perf is installed and allowed, perfnorm
+# profilers, followed by a per-algorithm report; see ProfileSuite.
+# Arguments are passed on to JMH, e.g. ./profile.sh -p problemSize=512 ".*MergeX.*"
+name=$(basename "$0" .sh)
+[ $# -eq 0 ] && set -- ".*CompareSorts.*"
+java -cp target/microbenchmarks.jar com.dmitryleskov.algs4bench.ProfileSuite \
+  -jvmArgs "-server" \
+  -r 1 -w 1 -f 1 -wi 5 -i 10 -tu ms \
+  -rf json -rff $name.json \
+  "$@" 2>&1 | tee $name.log
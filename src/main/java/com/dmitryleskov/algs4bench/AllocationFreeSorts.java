@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Allocating sorts vs. sorts with a caller-supplied or per-thread
+ * scratch array. Run with <tt>-prof gc</tt> and look at
+ * <tt>gc.alloc.rate.norm</tt>: the input is copied into a preallocated
+ * array, so everything but the *Clone and *New benchmarks should
+ * report 0 B/op.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class AllocationFreeSorts {
+
+    @Param({"32", "512", "100000"})
+    public int problemSize;
+
+    public TestDataGenerator data;
+
+    public int[] intData;
+    public String[] stringData;
+
+    private Comparable[] a, aux;
+    private int[] ints, intAux;
+
+    @Setup
+    public void init() {
+        data = new TestDataGenerator(problemSize);
+        intData = data.getIntData("shuffled");
+        stringData = TestDataGenerator.asStringArray(intData);
+        a = new String[problemSize];
+        aux = new String[problemSize];
+        ints = new int[problemSize];
+        intAux = new int[problemSize];
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXClone() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        MergeX.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXAux() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        MergeX.sort(a, aux);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXScratch() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        MergeX.sort(a, ScratchBuffers.forCurrentThread().comparables(problemSize));
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXBinaryClone() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        MergeXBinary.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXBinaryAux() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        MergeXBinary.sort(a, aux);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeNew() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        Merge.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeAux() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        Merge.sort(a, aux);
+        return a;
+    }
+
+    @Benchmark
+    public int[] testMergeXIntClone() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] testMergeXIntScratch() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints, ScratchBuffers.forCurrentThread().ints(problemSize));
+        return ints;
+    }
+
+    @Benchmark
+    public int[] testMergeXIntAux() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints, intAux);
+        return ints;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + AllocationFreeSorts.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
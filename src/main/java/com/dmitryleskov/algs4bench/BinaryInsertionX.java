@@ -65,6 +65,7 @@ public class BinaryInsertionX {
                     a[j] = a[j-1];
                 }
                 a[k] = v;
+                Counters.move(i - k + 1);
             }
             assert isSorted(a, lo, i);
         }
@@ -202,6 +203,7 @@ public class BinaryInsertionX {
     // v and w are elements of the same array, so suppressing warnings is safe
     @SuppressWarnings("unchecked")
     private static boolean less(Comparable v, Comparable w) {
+        Counters.compare();
         return (v.compareTo(w) < 0);
     }
 
@@ -250,6 +252,172 @@ public class BinaryInsertionX {
     }
 
 
+
+   /***********************************************************************
+    *  int[] version
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(int[] a) {
+        if (a.length > 1) sort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Rearranges an array chunk in ascending numerical order.
+     * @param a the array to be sorted
+     * @param lo index of the first element of the chunk
+     * @param hi index of the last element of the chunk
+     */
+    public static void sort(int[] a, int lo, int hi) {
+        checkRange(a.length, lo, hi);
+        for (int i = lo + 1; i <= hi; i++) {
+            if (a[i] < a[i-1]) {
+                int k = binarySearch(a, lo, i-1);
+                int v = a[i];
+                for (int j = i; j > k; j--) {
+                    a[j] = a[j-1];
+                }
+                a[k] = v;
+            }
+            assert isSorted(a, lo, i);
+        }
+        assert isSorted(a, lo, hi);
+    }
+
+    // find the position for a[hi+1] between lo and hi using binary search
+    private static int binarySearch(int[] a, int lo, int hi) {
+        int key = a[hi+1];
+        while (lo <= hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (key < a[mid]) hi = mid - 1;
+            else if (key < a[mid + 1]) return mid + 1;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // is the array sorted from a[lo] to a[hi]
+    private static boolean isSorted(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+
+   /***********************************************************************
+    *  long[] version
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(long[] a) {
+        if (a.length > 1) sort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Rearranges an array chunk in ascending numerical order.
+     * @param a the array to be sorted
+     * @param lo index of the first element of the chunk
+     * @param hi index of the last element of the chunk
+     */
+    public static void sort(long[] a, int lo, int hi) {
+        checkRange(a.length, lo, hi);
+        for (int i = lo + 1; i <= hi; i++) {
+            if (a[i] < a[i-1]) {
+                int k = binarySearch(a, lo, i-1);
+                long v = a[i];
+                for (int j = i; j > k; j--) {
+                    a[j] = a[j-1];
+                }
+                a[k] = v;
+            }
+            assert isSorted(a, lo, i);
+        }
+        assert isSorted(a, lo, hi);
+    }
+
+    // find the position for a[hi+1] between lo and hi using binary search
+    private static int binarySearch(long[] a, int lo, int hi) {
+        long key = a[hi+1];
+        while (lo <= hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (key < a[mid]) hi = mid - 1;
+            else if (key < a[mid + 1]) return mid + 1;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // is the array sorted from a[lo] to a[hi]
+    private static boolean isSorted(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+
+   /***********************************************************************
+    *  double[] version
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * <tt>-0.0</tt> and <tt>0.0</tt> are treated as equal, and arrays containing
+     * <tt>NaN</tt> are not sorted in any specified order.
+     * @param a the array to be sorted
+     */
+    public static void sort(double[] a) {
+        if (a.length > 1) sort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Rearranges an array chunk in ascending numerical order.
+     * <tt>-0.0</tt> and <tt>0.0</tt> are treated as equal, and arrays containing
+     * <tt>NaN</tt> are not sorted in any specified order.
+     * @param a the array to be sorted
+     * @param lo index of the first element of the chunk
+     * @param hi index of the last element of the chunk
+     */
+    public static void sort(double[] a, int lo, int hi) {
+        checkRange(a.length, lo, hi);
+        for (int i = lo + 1; i <= hi; i++) {
+            if (a[i] < a[i-1]) {
+                int k = binarySearch(a, lo, i-1);
+                double v = a[i];
+                for (int j = i; j > k; j--) {
+                    a[j] = a[j-1];
+                }
+                a[k] = v;
+            }
+            assert isSorted(a, lo, i);
+        }
+        assert isSorted(a, lo, hi);
+    }
+
+    // find the position for a[hi+1] between lo and hi using binary search
+    private static int binarySearch(double[] a, int lo, int hi) {
+        double key = a[hi+1];
+        while (lo <= hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (key < a[mid]) hi = mid - 1;
+            else if (key < a[mid + 1]) return mid + 1;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // is the array sorted from a[lo] to a[hi]
+    private static boolean isSorted(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
 //   // print array to standard output
 //    private static void show(Comparable[] a) {
 //        for (int i = 0; i < a.length; i++) {
@@ -61,169 +61,12 @@ public class BinaryToSimpleInsertionCutoff {
         return a;
     }
     
-    public interface Sorter {
-        public void sort(Comparable[] a, int lo, int hi);
-    }
-    
-    private class Insertion implements Sorter {
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo; i <= hi; i++)
-                for (int j = i; j > lo && less(a[j], a[j-1]); j--)
-                    exch(a, j, j-1);
-            assert isSorted(a, lo, hi);
-        }
-    }    
-
-    private class InsertionX implements Sorter {
-
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo; i <= hi; i++) {
-                Comparable v = a[i];
-                int j;
-                for (j = i - 1; j >= lo && less(v, a[j]); j--);
-                j++;
-                if (j < i) {
-                    for (int k = i; k > j; k--) {
-                        a[k] = a[k - 1];
-                    }
-                    a[j] = v;
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }
-
-    
-    private class InsertionAC implements Sorter {
-
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo; i <= hi; i++) {
-                Comparable v = a[i];
-                int j;
-                for (j = i - 1; j >= lo && less(v, a[j]); j--);
-                j++;
-                if (j < i) {
-                    System.arraycopy(a, j, a, j + 1, i - j);
-                    a[j] = v;
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }
-    
-    private class BinaryInsertion implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo + 1; i <= hi; i++) {
-                Comparable v = a[i];
-                int lolo = lo;
-                int hihi = i - 1;
-                while (lolo <= hihi) {
-                    int mid = lolo + (hihi - lolo) / 2;
-                    if (less(v, a[mid])) hihi = mid - 1;
-                    else lolo = mid + 1;
-                }
-                System.arraycopy(a, lolo, a, lolo + 1, i - lolo);
-                a[lolo] = v;
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }    
-
-    private class BinaryInsertionShortCircuit implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo + 1; i <= hi; i++) {
-                if (less(a[i], a[i - 1])) {
-                    Comparable v = a[i];
-                    int lolo = lo;
-                    int hihi = i - 2;
-                    while (lolo <= hihi) {
-                        int mid = lolo + (hihi - lolo) / 2;
-                        if (less(v, a[mid])) hihi = mid - 1;
-                        else lolo = mid+1;
-                    }
-                    System.arraycopy(a, lolo, a, lolo + 1, i - lolo);
-                    a[lolo] = v;
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }    
-    
-    private class BinaryInsertionDoubleCompare implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo + 1; i <= hi; i++) {
-                if (less(a[i], a[i - 1])) {
-                    Comparable v = a[i];
-                    int lolo = lo;
-                    int hihi = i - 2;
-                    while (lolo <= hihi) {
-                        int mid = lolo + (hihi - lolo) / 2;
-                        if (less(v, a[mid])) hihi = mid - 1;
-                        else {
-                            lolo = mid + 1;
-                            if (less(v, a[lolo])) break;
-                        }
-                    }
-                    System.arraycopy(a, lolo, a, lolo + 1, i - lolo);
-                    a[lolo] = v;
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }    
-
-    public class BinaryInsertionX implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            int simple = hi < lo + cutoff ? hi : lo + cutoff; // cutoff position
-            for (int i = lo + 1; i <= simple; i++) {
-                Comparable v = a[i];
-                int j = i-1;
-                while (j >= lo && less(v, a[j])) {
-                    a[j+1] = a[j];
-                    j--;
-                }
-                a[j+1] = v;
-            }
-            for (int i = lo + cutoff + 1; i <= hi; i++) {
-                if (less(a[i], a[i-1])) {
-                    Comparable v = a[i];
-                    int lolo = lo;
-                    int hihi = i-2;
-                    while (lolo <= hihi) {
-                        int mid = lolo + (hihi - lolo) / 2;
-                        if (less(v, a[mid])) hihi = mid - 1;
-                        else lolo = mid+1;
-                    }
-                    System.arraycopy(a, lolo, a, lolo+1, i-lolo);
-                    a[lolo] = v;
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }    
-    
-    
-    @SuppressWarnings("unchecked")
-    private static boolean less(Comparable a, Comparable b) {
-        return (a.compareTo(b) < 0);
-    }
-
-    private static void exch(Comparable[] a, int i, int j) {
-        Comparable swap = a[i];
-        a[i] = a[j];
-        a[j] = swap;
-    }
-
     @Benchmark
     public Comparable[] testInsertion() {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new Insertion();
+        LeafSorter sorter = LeafSorters.get("Insertion");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
         return a;
     }
@@ -231,18 +74,18 @@ public class BinaryToSimpleInsertionCutoff {
     @Benchmark
     public Comparable[] testInsertionX() {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new InsertionX();
+        LeafSorter sorter = LeafSorters.get("InsertionX");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
         return a;
     }
     @Benchmark
     public Comparable[] testInsertionAC() {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new InsertionAC();
+        LeafSorter sorter = LeafSorters.get("InsertionAC");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
         return a;
     }
@@ -250,9 +93,9 @@ public class BinaryToSimpleInsertionCutoff {
     @Benchmark
     public Comparable[] testBinaryInsertion() {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new BinaryInsertion();
+        LeafSorter sorter = LeafSorters.get("BinaryInsertion");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
         return a;
     }
@@ -260,9 +103,9 @@ public class BinaryToSimpleInsertionCutoff {
     @Benchmark
     public Comparable[] testBinaryInsertionShortCircuit() {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new BinaryInsertionShortCircuit();
+        LeafSorter sorter = LeafSorters.get("BinaryInsertionShortCircuit");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
         return a;
     }
@@ -270,9 +113,9 @@ public class BinaryToSimpleInsertionCutoff {
     @Benchmark
     public Comparable[] testBinaryInsertionDoubleCompare() {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new BinaryInsertionDoubleCompare();
+        LeafSorter sorter = LeafSorters.get("BinaryInsertionDoubleCompare");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
         return a;
     }
@@ -280,20 +123,13 @@ public class BinaryToSimpleInsertionCutoff {
     @Benchmark
     public Comparable[] testBinaryInsertionX() {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new BinaryInsertionX();
+        LeafSorter sorter = LeafSorters.mergeXBinary(cutoff);
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
         return a;
     }
     
-    // is the array sorted from a[lo] to a[hi]?
-    private static boolean isSorted(Comparable[] a, int lo, int hi) {
-        for (int i = lo + 1; i <= hi; i++)
-            if (less(a[i], a[i-1])) return false;
-        return true;
-    }
-
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + BinaryToSimpleInsertionCutoff.class.getSimpleName() + ".*BinaryInsertionX.*")
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Recursive MergeX on the sizes and data of {@link BottomUpSweep}, the
+ * reference for MergeXBU there. It has no tile size, so it runs once
+ * per size rather than once per tile size.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class BottomUpSweepReference {
+
+    @Param({"1024", "4096", "16384", "65536", "262144",
+            "1048576", "4194304", "16777216", "67108864"})
+    public int problemSize;
+
+    public int[] intData;
+    public Integer[] integerData;
+
+    private int[] ints, intAux;
+    private Comparable[] a, aux;
+
+    @Setup
+    public void init() {
+        intData = TestDataGenerator.shuffled(problemSize);
+        integerData = TestDataGenerator.asIntegerArray(intData);
+        ints = new int[problemSize];
+        intAux = new int[problemSize];
+        a = new Integer[problemSize];
+        aux = new Integer[problemSize];
+    }
+
+    @Benchmark
+    public int[] testMergeXInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXInteger() {
+        System.arraycopy(integerData, 0, a, 0, problemSize);
+        MergeX.sort(a, aux);
+        return a;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + BottomUpSweepReference.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -20,9 +20,11 @@ package com.dmitryleskov.algs4bench;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.runner.*;
 import org.openjdk.jmh.runner.options.*;
 
@@ -54,6 +56,14 @@ public class ChooseCutoff {
     public String[] stringData;
 
     private Comparable[] a, aux;
+
+    // int and long leaves: scalar insertion sort vs. the Vector API kernel
+    // and the scalar sorting networks
+    public int[] intData;
+    public long[] longData;
+    private int[] ia, iaux;
+    private long[] la;
+    private VectorLeafSort scalarLeaf, vectorLeaf, networkLeaf;
     
     @Setup
     public void init() {
@@ -62,6 +72,20 @@ public class ChooseCutoff {
         stringData = TestDataGenerator.asStringArray(data.getIntData(test));
         a = new String[problemSize];
         aux = new String[problemSize];
+
+        intData = data.getIntData(test);
+        longData = new long[problemSize];
+        for (int i = 0; i < problemSize; i++)
+            longData[i] = (long) intData[i] << 32 | i;
+        ia = new int[problemSize];
+        iaux = new int[problemSize];
+        la = new long[problemSize];
+        scalarLeaf = VectorLeafSort.scalar();
+        vectorLeaf = VectorLeafSort.create();
+        networkLeaf = VectorLeafSort.network();
+        if (!vectorLeaf.isVectorized())
+            Logger.getLogger(ChooseCutoff.class.getName()).warning(
+                    "Vector API not available, testIntVector* and testLongVector measure the scalar fallback");
     }
     
 //    @Benchmark
@@ -70,169 +94,6 @@ public class ChooseCutoff {
         return a;
     }
 
-    private void lastMerge(Sorter sorter, int lo, int hi) {
-        System.arraycopy(a, lo, aux, lo, hi-lo+1);
-        int mid = lo + (hi - lo) / 2;
-        sorter.sort(aux, lo, mid);
-        sorter.sort(aux, mid+1, hi);
-        int i = lo, j = mid+1;
-        for (int k = lo; k <= hi; k++) {
-            if      (i > mid)              a[k] = aux[j++];
-            else if (j > hi)               a[k] = aux[i++];
-            else if (less(aux[j], aux[i])) a[k] = aux[j++];   // to ensure stability
-            else                           a[k] = aux[i++];
-        }
-        assert isSorted(a, lo, hi);
-    }
-    
-    private interface Sorter {
-        public void sort(Comparable[] a, int lo, int hi);
-    }
-    
-    private class Merge implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            if (hi <= lo) return;
-            int mid = lo + (hi - lo) / 2;
-            sort(a, lo, mid);
-            sort(a, mid + 1, hi);
-            merge(a, lo, mid, hi);
-            assert isSorted(a, lo, hi);
-        }
-        private void merge(Comparable[] a, int lo, int mid, int hi) {
-            // copy to aux[]
-            for (int k = lo; k <= hi; k++) {
-                aux[k] = a[k];
-            }
-            // merge back to a[]
-            int i = lo, j = mid + 1;
-            for (int k = lo; k <= hi; k++) {
-                if (i > mid) {
-                    a[k] = aux[j++];   // this copying is unnecessary
-                } else if (j > hi) {
-                    a[k] = aux[i++];
-                } else if (less(aux[j], aux[i])) {
-                    a[k] = aux[j++];
-                } else {
-                    a[k] = aux[i++];
-                }
-            }
-        }
-
-    }
-    
-    private class Insertion implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo; i <= hi; i++)
-                for (int j = i; j > lo && less(a[j], a[j-1]); j--)
-                    exch(a, j, j-1);
-            assert isSorted(a, lo, hi);
-        }
-    }    
-
-    private class InsertionX implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo; i <= hi; i++) {
-                Comparable v = a[i];
-                for (int j = i - 1; j >= lo; j--) {
-                    Comparable w = a[j];
-                    if (less(v, w)) a[j+1] = w;
-                    else {a[j+1] = v; break;}
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }
-
-    /* Slower than Insertion on small inputs, slower than BinaryInsertionX on larger
-    private class InsertionAC implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo; i <= hi; i++) {
-                Comparable v = a[i];
-                int j;
-                for (j = i - 1; j >= lo && less(v, a[j]); j--);
-                j++;
-                if (j < i) {
-                    System.arraycopy(a, j, a, j + 1, i - j);
-                    a[j] = v;
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }
-    */
-    private class BinaryInsertion implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo + 1; i <= hi; i++) {
-                if (less(a[i], a[i-1])) {
-    //                int k = binarySearch(a, lo, i-1);
-                    Comparable v = a[i];
-                    int lolo = lo;
-                    int hihi = i-1;
-                    int k = lo;
-                    while (lolo <= hihi) {
-                        int mid = lolo + (hihi - lolo) / 2;
-                        if (less(v, a[mid])) hihi = mid - 1;
-                        else if (less(v, a[mid+1])) { k = mid+1; break;}
-                        else lolo=mid+1;
-                    }
-
-    //                for (int j = i; j > k; j--) {
-    //                    a[j] = a[j-1];
-    //                }
-                    System.arraycopy(a, k, a, k+1, i-k);
-                    a[k] = v;
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }    
-
-    private class BinaryInsertionX implements Sorter {
-        @Override
-        public void sort(Comparable[] a, int lo, int hi) {
-            for (int i = lo + 1; i <= hi; i++) {
-                if (less(a[i], a[i-1])) {
-                    Comparable v = a[i];
-                    int lolo = lo;
-                    int hihi = i-2;
-                    while (lolo <= hihi) {
-                        int mid = lolo + (hihi - lolo) / 2;
-                        if (less(v, a[mid])) hihi = mid - 1;
-                        else lolo = mid+1;
-                    }
-                    System.arraycopy(a, lolo, a, lolo+1, i-lolo);
-                    a[lolo] = v;
-                }
-            }
-            assert isSorted(a, lo, hi);
-        }
-    }    
-    
-    
-    @SuppressWarnings("unchecked")
-    private static boolean less(Comparable a, Comparable b) {
-        return (a.compareTo(b) < 0);
-    }
-
-    private static void exch(Comparable[] a, int i, int j) {
-        Comparable swap = a[i];
-        a[i] = a[j];
-        a[j] = swap;
-    }
-    
-    // is the array sorted from a[lo] to a[hi]?
-    private static boolean isSorted(Comparable[] a, int lo, int hi) {
-        for (int i = lo + 1; i <= hi; i++)
-            if (less(a[i], a[i-1])) return false;
-        return true;
-    }
-    
-    
 //    @Benchmark
 //    public Comparable[] testInsertion() {
 //        System.arraycopy(stringData, 0, a, 0, problemSize);
@@ -243,32 +104,35 @@ public class ChooseCutoff {
 //    }
 
     @Benchmark
-    public Comparable[] testMerge() {
+    public Comparable[] testMerge(CounterState counters) {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new Merge();
+        LeafSorter sorter = LeafSorters.get("Merge");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            lastMerge(sorter, lo, lo+chunkSize-1);
+            LeafSorters.lastMerge(sorter, a, aux, lo, lo+chunkSize-1);
         }
+        counters.record();
         return a;
     }
     
     @Benchmark
-    public Comparable[] testMergeInsertion() {
+    public Comparable[] testMergeInsertion(CounterState counters) {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new Insertion();
+        LeafSorter sorter = LeafSorters.get("Insertion");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            lastMerge(sorter, lo, lo+chunkSize-1);
+            LeafSorters.lastMerge(sorter, a, aux, lo, lo+chunkSize-1);
         }
+        counters.record();
         return a;
     }
 
     @Benchmark
-    public Comparable[] testMergeInsertionX() {
+    public Comparable[] testMergeInsertionX(CounterState counters) {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new InsertionX();
+        LeafSorter sorter = LeafSorters.get("InsertionX");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            lastMerge(sorter, lo, lo+chunkSize-1);
+            LeafSorters.lastMerge(sorter, a, aux, lo, lo+chunkSize-1);
         }
+        counters.record();
         return a;
     }
 
@@ -276,67 +140,155 @@ public class ChooseCutoff {
     @Benchmark
     public Comparable[] testMergeInsertionAC() {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new InsertionAC();
+        LeafSorter sorter = LeafSorters.get("InsertionAC");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            lastMerge(sorter, lo, lo+chunkSize-1);
+            LeafSorters.lastMerge(sorter, a, aux, lo, lo+chunkSize-1);
         }
         return a;
     }
     */
 
     @Benchmark
-    public Comparable[] testMergeBinaryInsertion() {
+    public Comparable[] testMergeBinaryInsertion(CounterState counters) {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        LeafSorter sorter = LeafSorters.get("BinaryInsertion");
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            LeafSorters.lastMerge(sorter, a, aux, lo, lo+chunkSize-1);
+        }
+        counters.record();
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeBinaryInsertionX(CounterState counters) {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new BinaryInsertion();
+        LeafSorter sorter = LeafSorters.get("BinaryInsertionX");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            lastMerge(sorter, lo, lo+chunkSize-1);
+            LeafSorters.lastMerge(sorter, a, aux, lo, lo+chunkSize-1);
         }
+        counters.record();
         return a;
     }
 
+    // the leaves of MergeXBinary, with the simple insertion cutoff of the current profile
     @Benchmark
-    public Comparable[] testMergeBinaryInsertionX() {
+    public Comparable[] testMergeMergeXBinary(CounterState counters) {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new BinaryInsertionX();
+        LeafSorter sorter = LeafSorters.mergeXBinary(CutoffProfile.of(String.class).binarySimpleInsertion());
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            lastMerge(sorter, lo, lo+chunkSize-1);
+            LeafSorters.lastMerge(sorter, a, aux, lo, lo+chunkSize-1);
         }
+        counters.record();
         return a;
     }
 
 
     @Benchmark
-    public Comparable[] testInsertion() {
+    public Comparable[] testInsertion(CounterState counters) {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new Insertion();
+        LeafSorter sorter = LeafSorters.get("Insertion");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
+        counters.record();
         return a;
     }
 
     @Benchmark
-    public Comparable[] testBinaryInsertion() {
+    public Comparable[] testBinaryInsertion(CounterState counters) {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new BinaryInsertion();
+        LeafSorter sorter = LeafSorters.get("BinaryInsertion");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
+        counters.record();
         return a;
     }
 
     @Benchmark
-    public Comparable[] testBinaryInsertionX() {
+    public Comparable[] testBinaryInsertionX(CounterState counters) {
         System.arraycopy(stringData, 0, a, 0, problemSize);
-        Sorter sorter = new BinaryInsertionX();
+        LeafSorter sorter = LeafSorters.get("BinaryInsertionX");
         for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
-            sorter.sort(a, lo, lo+chunkSize-1);
+            sorter.sort(a, aux, lo, lo+chunkSize-1);
         }
+        counters.record();
         return a;
     }
 
     
-    
+
+    @Benchmark
+    public int[] testIntInsertion() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            scalarLeaf.sort(ia, lo, lo+chunkSize-1);
+        }
+        return ia;
+    }
+
+    @Benchmark
+    public int[] testIntVector() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            vectorLeaf.sort(ia, lo, lo+chunkSize-1);
+        }
+        return ia;
+    }
+
+    @Benchmark
+    public int[] testIntNetwork() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            networkLeaf.sort(ia, lo, lo+chunkSize-1);
+        }
+        return ia;
+    }
+
+    @Benchmark
+    public int[] testIntMergeInsertion() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            LeafSorters.lastMerge(scalarLeaf, ia, iaux, lo, lo+chunkSize-1);
+        }
+        return ia;
+    }
+
+    @Benchmark
+    public int[] testIntMergeVector() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            LeafSorters.lastMerge(vectorLeaf, ia, iaux, lo, lo+chunkSize-1);
+        }
+        return ia;
+    }
+
+    @Benchmark
+    public int[] testIntMergeNetwork() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            LeafSorters.lastMerge(networkLeaf, ia, iaux, lo, lo+chunkSize-1);
+        }
+        return ia;
+    }
+
+    @Benchmark
+    public long[] testLongInsertion() {
+        System.arraycopy(longData, 0, la, 0, problemSize);
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            scalarLeaf.sort(la, lo, lo+chunkSize-1);
+        }
+        return la;
+    }
+
+    @Benchmark
+    public long[] testLongVector() {
+        System.arraycopy(longData, 0, la, 0, problemSize);
+        for (int lo = 0; lo < problemSize-chunkSize; lo += chunkSize) {
+            vectorLeaf.sort(la, lo, lo+chunkSize-1);
+        }
+        return la;
+    }
 
 
 //    @Benchmark
@@ -359,14 +311,22 @@ public class ChooseCutoff {
         return a;
     }
 
+    // With the argument "counters", also counts comparisons and moves, see CounterState
     public static void main(String[] args) throws RunnerException {
-        Options opt = new OptionsBuilder()
+        boolean counters = Arrays.asList(args).contains("counters");
+        ChainedOptionsBuilder builder = new OptionsBuilder()
                 .include(".*" + ChooseCutoff.class.getSimpleName() + ".*Merge.*")
                 .forks(1)
-                .jvmArgs("-server")
-                .build();
+                .jvmArgs("-server");
+        // the vector leaf kernel needs the incubator module, which exists since JDK 16
+        String version = System.getProperty("java.specification.version");
+        if (!version.startsWith("1.") && Integer.parseInt(version) >= 16)
+            builder = builder.jvmArgsAppend("--add-modules", "jdk.incubator.vector");
+        if (counters) builder = builder.jvmArgsAppend("-D" + Counters.PROPERTY + "=true");
+        Options opt = builder.build();
 
-        new Runner(opt).run();
+        Collection<RunResult> results = new Runner(opt).run();
+        if (counters) CounterState.print(results, System.out);
     }    
     
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Comparator;
+
+/**
+ * Entry point into a private copy of the comparator engines.
+ * <p>
+ * {@link MonomorphicSorters} loads this class together with MergeX,
+ * MergeXBinary and Merge in a separate class loader for every comparator
+ * class, so the references below resolve to those copies. Must only
+ * use public classes, as the copies live in a different runtime package.
+ *
+ * @author Dmitry Leskov
+ */
+public class ClonedSorter implements ComparatorSorter {
+
+    private final int engine;
+
+    public ClonedSorter(int engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void sort(Object[] a, Comparator c) {
+        switch (engine) {
+            case MonomorphicSorters.MERGE_X:        MergeX.sort(a, c);       break;
+            case MonomorphicSorters.MERGE_X_BINARY: MergeXBinary.sort(a, c); break;
+            case MonomorphicSorters.MERGE:          Merge.sort(a, c);        break;
+            default: throw new IllegalArgumentException("engine(" + engine + ")");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * What happens to the comparator engines when several comparator classes
+ * share them. Before measurement, the shared engines are exercised with
+ * <tt>comparatorClasses</tt> different comparator classes, making the
+ * <tt>compare()</tt> call site mono-, bi- or megamorphic; then all
+ * benchmarks sort with the first comparator. The Monomorphic* benchmarks
+ * use per-comparator-class engine copies from MonomorphicSorters.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComparatorProfiles {
+
+    @Param({"1", "2", "3", "4"})
+    public int comparatorClasses;
+
+    @Param({"100000"})
+    public int problemSize;
+
+    public Integer[] integerData;
+
+    private static class Ascending implements Comparator<Integer> {
+        @Override
+        public int compare(Integer a, Integer b) { return a.compareTo(b); }
+    }
+
+    private static class Descending implements Comparator<Integer> {
+        @Override
+        public int compare(Integer a, Integer b) { return b.compareTo(a); }
+    }
+
+    private static class ByIntValue implements Comparator<Integer> {
+        @Override
+        public int compare(Integer a, Integer b) {
+            int x = a, y = b;
+            return x < y ? -1 : (x == y ? 0 : 1);
+        }
+    }
+
+    private static class ByLowBits implements Comparator<Integer> {
+        @Override
+        public int compare(Integer a, Integer b) {
+            return Integer.compare(a & 0xFFFF, b & 0xFFFF);
+        }
+    }
+
+    private final Comparator[] comparators = {
+        new Ascending(), new Descending(), new ByIntValue(), new ByLowBits()
+    };
+
+    @Setup
+    public void init() {
+        integerData = TestDataGenerator.asIntegerArray(
+                new TestDataGenerator(problemSize).getIntData("shuffled"));
+        Integer[] small = TestDataGenerator.asIntegerArray(
+                new TestDataGenerator(1000).getIntData("shuffled"));
+        for (int i = 0; i < 2000; i++) {
+            Comparator c = comparators[i % comparatorClasses];
+            MergeX.sort(small.clone(), c);
+            MergeXBinary.sort(small.clone(), c);
+            Merge.sort(small.clone(), c);
+            MonomorphicSorters.sort(small.clone(), c);
+        }
+    }
+
+    @Benchmark
+    public Object[] testMergeX() {
+        Object[] a = integerData.clone();
+        MergeX.sort(a, comparators[0]);
+        return a;
+    }
+
+    @Benchmark
+    public Object[] testMergeXBinary() {
+        Object[] a = integerData.clone();
+        MergeXBinary.sort(a, comparators[0]);
+        return a;
+    }
+
+    @Benchmark
+    public Object[] testMerge() {
+        Object[] a = integerData.clone();
+        Merge.sort(a, comparators[0]);
+        return a;
+    }
+
+    @Benchmark
+    public Object[] testMonomorphicMergeX() {
+        Object[] a = integerData.clone();
+        MonomorphicSorters.sort(a, comparators[0]);
+        return a;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ComparatorProfiles.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * MergeX vs. MergeXBranchless on int[] and Integer[], on every
+ * TestDataGenerator distribution, so that the gain on random input
+ * shows next to the cost on presorted input. Scratch arrays are
+ * preallocated. Run with -prof perfnorm to see branch misses.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareBranchlessMerge {
+
+    @Param({"constant", "interleaved", "sorted", "reverse", "inversions",
+            "random", "randomWithRepeats", "shuffled", "blockSkewed"})
+    public String test;
+
+    @Param({"1000", "100000", "1000000"})
+    public int problemSize;
+
+    public int[] intData;
+    public Integer[] integerData;
+
+    private int[] ints, intAux;
+    private Comparable[] integers, integerAux;
+
+    @Setup
+    public void init() {
+        TestDataGenerator data = new TestDataGenerator(problemSize);
+        intData = data.getIntData(test);
+        integerData = data.getIntegerData(test);
+        ints = new int[problemSize];
+        intAux = new int[problemSize];
+        integers = new Comparable[problemSize];
+        integerAux = new Comparable[problemSize];
+    }
+
+    @Benchmark
+    public int[] testMergeXInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] testBranchlessInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeXBranchless.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXInteger() {
+        System.arraycopy(integerData, 0, integers, 0, problemSize);
+        MergeX.sort(integers, integerAux);
+        return integers;
+    }
+
+    @Benchmark
+    public Comparable[] testBranchlessInteger() {
+        System.arraycopy(integerData, 0, integers, 0, problemSize);
+        MergeXBranchless.sort(integers, integerAux);
+        return integers;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CompareBranchlessMerge.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
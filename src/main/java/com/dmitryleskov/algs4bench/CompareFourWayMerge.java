@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.LinuxPerfNormProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * MergeX vs. MergeX4 on int[] and Integer[], at sizes from in-cache to
+ * well beyond the last level cache, where halving the merge passes
+ * should pay off. Scratch arrays are preallocated.
+ * <p>
+ * main() prints the scores as ns per element. With the argument
+ * <tt>perfnorm</tt> it runs the Linux perf profiler, and also prints
+ * the cache misses per element that perf reports, as a proxy for
+ * memory traffic.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareFourWayMerge {
+
+    @Param({"constant", "interleaved", "sorted", "reverse", "inversions",
+            "random", "randomWithRepeats", "shuffled", "blockSkewed"})
+    public String test;
+
+    @Param({"10000", "1000000", "16000000"})
+    public int problemSize;
+
+    public int[] intData;
+    public Integer[] integerData;
+
+    private int[] ints, intAux;
+    private Comparable[] integers, integerAux;
+
+    @Setup
+    public void init() {
+        TestDataGenerator data = new TestDataGenerator(problemSize);
+        intData = data.getIntData(test);
+        integerData = data.getIntegerData(test);
+        ints = new int[problemSize];
+        intAux = new int[problemSize];
+        integers = new Comparable[problemSize];
+        integerAux = new Comparable[problemSize];
+    }
+
+    @Benchmark
+    public int[] testMergeXInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] testMergeX4Int() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX4.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXInteger() {
+        System.arraycopy(integerData, 0, integers, 0, problemSize);
+        MergeX.sort(integers, integerAux);
+        return integers;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeX4Integer() {
+        System.arraycopy(integerData, 0, integers, 0, problemSize);
+        MergeX4.sort(integers, integerAux);
+        return integers;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        boolean perfnorm = args.length > 0 && args[0].equals("perfnorm");
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(".*" + CompareFourWayMerge.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server");
+        if (perfnorm) builder = builder.addProfiler(LinuxPerfNormProfiler.class);
+
+        Collection<RunResult> results = new Runner(builder.build()).run();
+
+        System.out.println();
+        System.out.printf("%-20s %-18s %10s %10s%n", "Benchmark", "test", "size", "ns/elem");
+        for (RunResult r : results) {
+            String name = r.getParams().getBenchmark();
+            name = name.substring(name.lastIndexOf('.') + 1);
+            int n = Integer.parseInt(r.getParams().getParam("problemSize"));
+            System.out.printf("%-20s %-18s %10d %10.2f", name, r.getParams().getParam("test"),
+                    n, r.getPrimaryResult().getScore() / n);
+            // perfnorm results are per operation, that is per sort
+            for (Map.Entry<String, Result> e : r.getSecondaryResults().entrySet()) {
+                String event = e.getKey();
+                if (event.contains("cache-misses") || event.contains("LLC-load"))
+                    System.out.printf("  %s/elem %.3f", event, e.getValue().getScore() / n);
+            }
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Plain vs. galloping merge on inputs where merges are skewed,
+ * with expensive (String) and cheap (Integer) compareTo().
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareGallopingSorts {
+
+    @Param({"interleaved", "randomWithRepeats", "blockSkewed", "random"})
+    public String test;
+
+    @Param({"1000", "100000"})
+    public int problemSize;
+
+    public TestDataGenerator data;
+
+    public Integer[] integerData;
+    public String[] stringData;
+
+    @Setup
+    public void init() {
+        data = new TestDataGenerator(problemSize);
+        integerData = TestDataGenerator.asIntegerArray(data.getIntData(test));
+        stringData = TestDataGenerator.asStringArray(data.getIntData(test));
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXString() {
+        Comparable[] a = stringData.clone();
+        MergeX.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXGallopString() {
+        Comparable[] a = stringData.clone();
+        MergeXGallop.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXInteger() {
+        Comparable[] a = integerData.clone();
+        MergeX.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXGallopInteger() {
+        Comparable[] a = integerData.clone();
+        MergeXGallop.sort(a);
+        return a;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CompareGallopingSorts.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
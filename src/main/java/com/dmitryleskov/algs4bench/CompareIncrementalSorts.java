@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * IncrementalMergeX vs. appending each batch to an array and sorting all
+ * of it again with MergeX, so that both can answer ordered queries after
+ * every batch.
+ * <p>
+ * The test* benchmarks ingest all batches and then read the minimum and
+ * iterate once, for total throughput. The latency* benchmarks add one
+ * batch per invocation and are sampled, so that their percentiles show
+ * the worst batch: a full sort for the baseline, a bounded slice of the
+ * merges in progress for IncrementalMergeX. Both start over once all the
+ * data has been added, in a setup outside the measured invocation.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareIncrementalSorts {
+
+    @Param({"sorted", "random", "randomWithRepeats", "shuffled"})
+    public String test;
+
+    @Param({"100000"})
+    public int problemSize;
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    public Integer[][] batches;
+
+    @Setup
+    public void init() {
+        Integer[] data = new TestDataGenerator(problemSize).getIntegerData(test);
+        batches = new Integer[(problemSize + batchSize - 1) / batchSize][];
+        for (int b = 0; b < batches.length; b++)
+            batches[b] = Arrays.copyOfRange(data, b * batchSize, Math.min(problemSize, (b+1) * batchSize));
+    }
+
+    /**
+     * The batches added so far by a latency* benchmark. JMH does not time
+     * invocation-level setup, so starting over costs the samples nothing.
+     */
+    @State(Scope.Thread)
+    public static class Progress {
+        IncrementalMergeX<Integer> sorter;
+        Comparable[] all, aux;
+        int next;
+
+        @Setup(Level.Invocation)
+        public void startOverWhenDone(CompareIncrementalSorts s) {
+            if (sorter != null && next < s.batches.length) return;
+            sorter = new IncrementalMergeX<>();
+            all = new Comparable[0];
+            aux = new Comparable[s.problemSize];
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public long testIncremental() {
+        IncrementalMergeX<Integer> s = new IncrementalMergeX<>();
+        long sum = 0;
+        for (Integer[] batch : batches) {
+            s.add(batch);
+            sum += s.min();
+        }
+        for (Integer v : s) sum += v;
+        return sum;
+    }
+
+    @Benchmark
+    public long testRepeatedFullSort() {
+        Comparable[] a = new Comparable[0];
+        Comparable[] aux = new Comparable[problemSize];
+        long sum = 0;
+        for (Integer[] batch : batches) {
+            a = append(a, batch);
+            MergeX.sort(a, aux);
+            sum += (Integer) a[0];
+        }
+        for (Comparable v : a) sum += (Integer) v;
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public Object latencyIncremental(Progress p) {
+        p.sorter.add(batches[p.next++]);
+        return p.sorter.min();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public Object latencyRepeatedFullSort(Progress p) {
+        p.all = append(p.all, batches[p.next++]);
+        MergeX.sort(p.all, p.aux);
+        return p.all[0];
+    }
+
+    private static Comparable[] append(Comparable[] a, Integer[] batch) {
+        Comparable[] b = Arrays.copyOf(a, a.length + batch.length);
+        System.arraycopy(batch, 0, b, a.length, batch.length);
+        return b;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CompareIncrementalSorts.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Index sort vs. physical sort of wide rows. Each index sort benchmark
+ * also gathers the rows into sorted order, so that both produce the
+ * same output. The cost of the gather alone is measured separately.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareIndexSorts {
+
+    /**
+     * A wide record: two sort keys and payload that is never looked at.
+     */
+    public static final class Row implements Comparable<Row> {
+        final int key;
+        final long weight;
+        long p0, p1, p2, p3, p4, p5, p6, p7;
+
+        Row(int key, long weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(Row that) {
+            return key < that.key ? -1 : (key == that.key ? 0 : 1);
+        }
+    }
+
+    static final Comparator<Row> BY_WEIGHT = new Comparator<Row>() {
+        @Override
+        public int compare(Row r1, Row r2) {
+            return r1.weight < r2.weight ? -1 : (r1.weight == r2.weight ? 0 : 1);
+        }
+    };
+
+    @Param({"sorted", "random", "randomWithRepeats", "shuffled"})
+    public String test;
+
+    @Param({"1000", "100000", "1000000"})
+    public int problemSize;
+
+    public Row[] rows;
+    public int[] identity;
+
+    @Setup
+    public void init() {
+        int[] keys = new TestDataGenerator(problemSize).getIntData(test);
+        rows = new Row[problemSize];
+        for (int i = 0; i < problemSize; i++)
+            rows[i] = new Row(keys[i], (keys[i] * 0x9E3779B97F4A7C15L) >>> 16);
+        identity = new int[problemSize];
+        for (int i = 0; i < problemSize; i++)
+            identity[i] = i;
+    }
+
+    private Row[] gather(int[] p) {
+        Row[] sorted = new Row[p.length];
+        for (int i = 0; i < p.length; i++)
+            sorted[i] = rows[p[i]];
+        return sorted;
+    }
+
+    @Benchmark
+    public Row[] testGatherOnly() {
+        return gather(identity);
+    }
+
+    @Benchmark
+    public Row[] testPhysicalMergeX() {
+        Row[] a = rows.clone();
+        MergeX.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Row[] testIndexMergeX() {
+        return gather(MergeX.indexSort(rows));
+    }
+
+    @Benchmark
+    public Row[] testPhysicalMergeXBinary() {
+        Row[] a = rows.clone();
+        MergeXBinary.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Row[] testIndexMergeXBinary() {
+        return gather(MergeXBinary.indexSort(rows));
+    }
+
+    @Benchmark
+    public Row[] testPhysicalMergeXComparator() {
+        Row[] a = rows.clone();
+        MergeX.sort(a, BY_WEIGHT);
+        return a;
+    }
+
+    @Benchmark
+    public Row[] testIndexMergeXComparator() {
+        return gather(MergeX.indexSort(rows, BY_WEIGHT));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CompareIndexSorts.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
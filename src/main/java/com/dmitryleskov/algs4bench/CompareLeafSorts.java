@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Leaf sorts at every leaf size up to {@link SortingNetworks#MAX_SIZE}:
+ * sorting networks against InsertionX and BinaryInsertionX, sorting an
+ * array chunk by chunk as in ChooseCutoff, for Strings and ints.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareLeafSorts {
+
+    @Param({"sorted", "reverse", "random"})
+    public String test;
+
+    @Param({"2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16"})
+    public int leafSize;
+
+    public static final int problemSize = 1024*1024;
+
+    public String[] stringData;
+    public int[] intData;
+
+    private Comparable[] a;
+    private int[] ia;
+
+    @Setup
+    public void init() {
+        TestDataGenerator data = new TestDataGenerator(problemSize);
+        stringData = TestDataGenerator.asStringArray(data.getIntData(test));
+        intData = data.getIntData(test);
+        a = new String[problemSize];
+        ia = new int[problemSize];
+    }
+
+    @Benchmark
+    public Comparable[] testNetwork() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        for (int lo = 0; lo <= problemSize-leafSize; lo += leafSize) {
+            SortingNetworks.sort(a, lo, lo+leafSize-1);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testInsertionX() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        for (int lo = 0; lo <= problemSize-leafSize; lo += leafSize) {
+            InsertionX.sort(a, lo, lo+leafSize-1);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testBinaryInsertionX() {
+        System.arraycopy(stringData, 0, a, 0, problemSize);
+        for (int lo = 0; lo <= problemSize-leafSize; lo += leafSize) {
+            BinaryInsertionX.sort(a, lo, lo+leafSize-1);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public int[] testIntNetwork() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo <= problemSize-leafSize; lo += leafSize) {
+            SortingNetworks.sort(ia, lo, lo+leafSize-1);
+        }
+        return ia;
+    }
+
+    @Benchmark
+    public int[] testIntInsertionX() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo <= problemSize-leafSize; lo += leafSize) {
+            InsertionX.sort(ia, lo, lo+leafSize-1);
+        }
+        return ia;
+    }
+
+    @Benchmark
+    public int[] testIntBinaryInsertionX() {
+        System.arraycopy(intData, 0, ia, 0, problemSize);
+        for (int lo = 0; lo <= problemSize-leafSize; lo += leafSize) {
+            BinaryInsertionX.sort(ia, lo, lo+leafSize-1);
+        }
+        return ia;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CompareLeafSorts.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * OffHeapMergeX on fixed-width records in a direct buffer and in a
+ * memory-mapped file vs. MergeX on the same keys held on-heap as int[]
+ * and Integer[]. Each record starts with the int key, followed by its
+ * original index and zero padding. Scratch space is preallocated for
+ * every sort but the Integer[] one.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareOffHeapSorts {
+
+    @Param({"constant", "interleaved", "sorted", "reverse", "inversions",
+            "random", "randomWithRepeats", "shuffled", "blockSkewed"})
+    public String test;
+
+    @Param({"100000", "1000000"})
+    public int problemSize;
+
+    @Param({"8", "16", "64"})
+    public int recordSize;
+
+    public int[] intData;
+    public Integer[] integerData;
+
+    private int[] ints, intAux;
+    private ByteBuffer original, direct, aux;
+    private File file;
+    private RandomAccessFile raf;
+    private MappedByteBuffer mapped;
+
+    @Setup
+    public void init() throws IOException {
+        TestDataGenerator data = new TestDataGenerator(problemSize);
+        intData = data.getIntData(test);
+        integerData = data.getIntegerData(test);
+        ints = new int[problemSize];
+        intAux = new int[problemSize];
+
+        int size = problemSize * recordSize;
+        original = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < problemSize; i++) {
+            original.putInt(i * recordSize, intData[i]);
+            original.putInt(i * recordSize + 4, i);
+        }
+        direct = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        aux = ByteBuffer.allocateDirect(size);
+
+        file = File.createTempFile("records", ".bin");
+        raf = new RandomAccessFile(file, "rw");
+        raf.setLength(size);
+        mapped = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.order(ByteOrder.nativeOrder());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        raf.close();
+        file.delete();
+    }
+
+    @Benchmark
+    public int[] testMergeXInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXInteger() {
+        Integer[] a = integerData.clone();
+        MergeX.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public ByteBuffer testOffHeapDirect() {
+        copy(original, direct);
+        OffHeapMergeX.sortByIntKey(direct, aux, recordSize, 0);
+        return direct;
+    }
+
+    // the pages stay resident, so this measures mapped memory, not I/O
+    @Benchmark
+    public ByteBuffer testOffHeapMapped() {
+        copy(original, mapped);
+        OffHeapMergeX.sortByIntKey(mapped, aux, recordSize, 0);
+        return mapped;
+    }
+
+    private static void copy(ByteBuffer from, ByteBuffer to) {
+        from.clear();
+        to.clear();
+        to.put(from);
+        to.clear();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CompareOffHeapSorts.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * PartialSort vs. a full MergeX sort followed by taking the first k
+ * elements, for k from a handful of elements up to half the array.
+ * Every benchmark works on a fresh copy of the input.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComparePartialSorts {
+
+    static final Comparator<Integer> NATURAL = new Comparator<Integer>() {
+        @Override
+        public int compare(Integer o1, Integer o2) {
+            return o1.compareTo(o2);
+        }
+    };
+
+    @Param({"constant", "interleaved", "sorted", "reverse", "inversions",
+            "random", "randomWithRepeats", "shuffled", "blockSkewed"})
+    public String test;
+
+    @Param({"100000"})
+    public int problemSize;
+
+    // k as a fraction of problemSize
+    @Param({"0.00001", "0.0001", "0.001", "0.01", "0.1", "0.5"})
+    public double ratio;
+
+    public Integer[] data;
+    private int k;
+
+    @Setup
+    public void init() {
+        data = new TestDataGenerator(problemSize).getIntegerData(test);
+        k = Math.max(1, (int) (problemSize * ratio));
+    }
+
+    @Benchmark
+    public Comparable[] testMergeX() {
+        Integer[] a = data.clone();
+        MergeX.sort(a);
+        return Arrays.copyOf(a, k);
+    }
+
+    @Benchmark
+    public Comparable[] testPartialSort() {
+        Integer[] a = data.clone();
+        PartialSort.partialSort(a, k);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testTopK() {
+        return PartialSort.topK(data, k);
+    }
+
+    @Benchmark
+    public Object[] testMergeXComparator() {
+        Integer[] a = data.clone();
+        MergeX.sort(a, NATURAL);
+        return Arrays.copyOf(a, k);
+    }
+
+    @Benchmark
+    public Object[] testTopKComparator() {
+        return PartialSort.topK(data, k, NATURAL);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ComparePartialSorts.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
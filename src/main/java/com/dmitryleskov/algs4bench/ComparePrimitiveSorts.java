@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Measures the cost of boxing: each engine sorts the same distribution
+ * once as <tt>int[]</tt> and once as <tt>Integer[]</tt>.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComparePrimitiveSorts {
+
+    @Param({"constant", "interleaved", "sorted", "reverse", "inversions",
+            "random", "randomWithRepeats", "shuffled", "blockSkewed"})
+    public String test;
+
+    @Param({"32", "512", "100000"})
+    public int problemSize;
+
+    public TestDataGenerator data;
+
+    public int[] intData;
+    public Integer[] integerData;
+
+    @Setup
+    public void init() {
+        data = new TestDataGenerator(problemSize);
+        intData = data.getIntData(test);
+        integerData = TestDataGenerator.asIntegerArray(intData);
+    }
+
+    @Benchmark
+    public int[] testMergeXInt() {
+        int[] a = intData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            MergeX.sort(a);
+            System.arraycopy(intData, 0, a, 0, problemSize);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXInteger() {
+        Comparable[] a = integerData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            MergeX.sort(a);
+            System.arraycopy(integerData, 0, a, 0, problemSize);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public int[] testMergeXBinaryInt() {
+        int[] a = intData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            MergeXBinary.sort(a);
+            System.arraycopy(intData, 0, a, 0, problemSize);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXBinaryInteger() {
+        Comparable[] a = integerData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            MergeXBinary.sort(a);
+            System.arraycopy(integerData, 0, a, 0, problemSize);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public int[] testMergeInt() {
+        int[] a = intData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            Merge.sort(a);
+            System.arraycopy(intData, 0, a, 0, problemSize);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeInteger() {
+        Comparable[] a = integerData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            Merge.sort(a);
+            System.arraycopy(integerData, 0, a, 0, problemSize);
+        }
+        return a;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ComparePrimitiveSorts.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
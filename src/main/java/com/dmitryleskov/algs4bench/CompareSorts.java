@@ -20,9 +20,11 @@ package com.dmitryleskov.algs4bench;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.runner.*;
 import org.openjdk.jmh.runner.options.*;
 
@@ -43,12 +45,19 @@ public class CompareSorts {
     
     public TestDataGenerator data;
     
+    public int[] intData;
     public Integer[] integerData;
     public String[] stringData;
     
+    // each benchmark sorts 10000/problemSize+1 arrays per operation
+    static long elementsPerOp(int problemSize) {
+        return (long) problemSize * (10000/problemSize + 1);
+    }
+
     @Setup
     public void init() {
         data = new TestDataGenerator(problemSize);
+        intData = data.getIntData("sorted");
         integerData = TestDataGenerator.asIntegerArray(data.getIntData("sorted"));
         stringData = TestDataGenerator.asStringArray(data.getIntData("sorted"));
     }
@@ -73,53 +82,90 @@ public class CompareSorts {
     }
 
     @Benchmark
-    public Comparable[] testBinaryInsertionX() {
+    public Comparable[] testBinaryInsertionX(CounterState counters) {
         Comparable[] a = stringData.clone();
         for (int i = 0; i <= 10000/problemSize; i++) {
             BinaryInsertionX.sort(a);
             System.arraycopy(stringData, 0, a, 0, problemSize);
         }
+        counters.record();
         return a;
     }
 
     @Benchmark
-    public Comparable[] testMerge() {
+    public Comparable[] testMerge(CounterState counters) {
         Comparable[] a = stringData.clone();
         for (int i = 0; i <= 10000/problemSize; i++) {
             Merge.sort(a);
             System.arraycopy(stringData, 0, a, 0, problemSize);
         }
+        counters.record();
         return a;
     }
 
     @Benchmark
-    public Comparable[] testMergeX() {
+    public Comparable[] testMergeX(CounterState counters) {
         Comparable[] a = stringData.clone();
         for (int i = 0; i <= 10000/problemSize; i++) {
             MergeX.sort(a);
             System.arraycopy(stringData, 0, a, 0, problemSize);
         }
+        counters.record();
         return a;
     }
 
     @Benchmark
-    public Comparable[] testMergeXBinary() {
+    public Comparable[] testMergeXBinary(CounterState counters) {
         Comparable[] a = stringData.clone();
         for (int i = 0; i <= 10000/problemSize; i++) {
             MergeXBinary.sort(a);
             System.arraycopy(stringData, 0, a, 0, problemSize);
         }
+        counters.record();
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMSD() {
+        String[] a = stringData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            MSD.sort(a);
+            System.arraycopy(stringData, 0, a, 0, problemSize);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public int[] testMergeXInt() {
+        int[] a = intData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            MergeX.sort(a);
+            System.arraycopy(intData, 0, a, 0, problemSize);
+        }
+        return a;
+    }
+
+    @Benchmark
+    public int[] testLSD() {
+        int[] a = intData.clone();
+        for (int i = 0; i <= 10000/problemSize; i++) {
+            LSD.sort(a);
+            System.arraycopy(intData, 0, a, 0, problemSize);
+        }
         return a;
     }
 
+    // With the argument "counters", also counts comparisons and moves, see CounterState
     public static void main(String[] args) throws RunnerException {
-        Options opt = new OptionsBuilder()
+        boolean counters = Arrays.asList(args).contains("counters");
+        ChainedOptionsBuilder builder = new OptionsBuilder()
                 .include(".*" + CompareSorts.class.getSimpleName() + ".*")
                 .forks(1)
-                .jvmArgs("-server")
-                .build();
+                .jvmArgs("-server");
+        if (counters) builder = builder.jvmArgsAppend("-D" + Counters.PROPERTY + "=true");
 
-        new Runner(opt).run();
+        Collection<RunResult> results = new Runner(builder.build()).run();
+        if (counters) CounterState.print(results, System.out);
     }    
     
 }
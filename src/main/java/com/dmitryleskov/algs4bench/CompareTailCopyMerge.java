@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Merge and MergeX with the tail-copy merge, which stops when one half
+ * is exhausted and moves the rest with <tt>System.arraycopy()</tt>,
+ * against private copies of the same sorts with the previous merge,
+ * which tests both halves for exhaustion on every element. Leaves and
+ * cutoffs are the same, so only the merge differs. Scratch arrays are
+ * preallocated.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareTailCopyMerge {
+
+    @Param({"constant", "interleaved", "sorted", "reverse", "inversions",
+            "random", "randomWithRepeats", "shuffled", "blockSkewed"})
+    public String test;
+
+    @Param({"1000", "1000000"})
+    public int problemSize;
+
+    public int[] intData;
+    public Integer[] integerData;
+
+    private int[] ints, intAux;
+    private Comparable[] integers, integerAux;
+
+    @Setup
+    public void init() {
+        TestDataGenerator data = new TestDataGenerator(problemSize);
+        intData = data.getIntData(test);
+        integerData = data.getIntegerData(test);
+        ints = new int[problemSize];
+        intAux = new int[problemSize];
+        integers = new Comparable[problemSize];
+        integerAux = new Comparable[problemSize];
+    }
+
+    @Benchmark
+    public int[] testMergeInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        Merge.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] testMergeIntOld() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        oldMergeSort(ints, intAux, 0, problemSize-1);
+        return ints;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeInteger() {
+        System.arraycopy(integerData, 0, integers, 0, problemSize);
+        Merge.sort(integers, integerAux);
+        return integers;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeIntegerOld() {
+        System.arraycopy(integerData, 0, integers, 0, problemSize);
+        oldMergeSort(integers, integerAux, 0, problemSize-1);
+        return integers;
+    }
+
+    @Benchmark
+    public int[] testMergeXInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] testMergeXIntOld() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        System.arraycopy(ints, 0, intAux, 0, problemSize);
+        oldMergeXSort(intAux, ints, 0, problemSize-1, CutoffProfile.of(int.class).mergeXLeafSize() - 1);
+        return ints;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXInteger() {
+        System.arraycopy(integerData, 0, integers, 0, problemSize);
+        MergeX.sort(integers, integerAux);
+        return integers;
+    }
+
+    @Benchmark
+    public Comparable[] testMergeXIntegerOld() {
+        System.arraycopy(integerData, 0, integers, 0, problemSize);
+        System.arraycopy(integers, 0, integerAux, 0, problemSize);
+        oldMergeXSort(integerAux, integers, 0, problemSize-1, CutoffProfile.of(integers).mergeXLeafSize() - 1);
+        return integers;
+    }
+
+   /***********************************************************************
+    *  Merge with the previous merge
+    ***********************************************************************/
+    private static void oldMergeSort(int[] a, int[] aux, int lo, int hi) {
+        if (hi <= lo) return;
+        int mid = lo + (hi - lo) / 2;
+        oldMergeSort(a, aux, lo, mid);
+        oldMergeSort(a, aux, mid + 1, hi);
+        for (int k = lo; k <= hi; k++) {
+            aux[k] = a[k];
+        }
+        int i = lo, j = mid+1;
+        for (int k = lo; k <= hi; k++) {
+            if      (i > mid)         a[k] = aux[j++];
+            else if (j > hi)          a[k] = aux[i++];
+            else if (aux[j] < aux[i]) a[k] = aux[j++];
+            else                      a[k] = aux[i++];
+        }
+    }
+
+    private static void oldMergeSort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+        if (hi <= lo) return;
+        int mid = lo + (hi - lo) / 2;
+        oldMergeSort(a, aux, lo, mid);
+        oldMergeSort(a, aux, mid + 1, hi);
+        for (int k = lo; k <= hi; k++) {
+            aux[k] = a[k];
+        }
+        int i = lo, j = mid+1;
+        for (int k = lo; k <= hi; k++) {
+            if      (i > mid)              a[k] = aux[j++];
+            else if (j > hi)               a[k] = aux[i++];
+            else if (less(aux[j], aux[i])) a[k] = aux[j++];
+            else                           a[k] = aux[i++];
+        }
+    }
+
+   /***********************************************************************
+    *  MergeX with the previous merge
+    ***********************************************************************/
+    private static void oldMergeXSort(int[] src, int[] dst, int lo, int hi, int cutoff) {
+        if (hi <= lo + cutoff) {
+            for (int i = lo; i <= hi; i++)
+                for (int j = i; j > lo && dst[j] < dst[j-1]; j--) {
+                    int swap = dst[j];
+                    dst[j] = dst[j-1];
+                    dst[j-1] = swap;
+                }
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        oldMergeXSort(dst, src, lo, mid, cutoff);
+        oldMergeXSort(dst, src, mid+1, hi, cutoff);
+        if (!(src[mid+1] < src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+        int i = lo, j = mid+1;
+        for (int k = lo; k <= hi; k++) {
+            if      (i > mid)         dst[k] = src[j++];
+            else if (j > hi)          dst[k] = src[i++];
+            else if (src[j] < src[i]) dst[k] = src[j++];
+            else                      dst[k] = src[i++];
+        }
+    }
+
+    private static void oldMergeXSort(Comparable[] src, Comparable[] dst, int lo, int hi, int cutoff) {
+        if (hi <= lo + cutoff) {
+            for (int i = lo; i <= hi; i++)
+                for (int j = i; j > lo && less(dst[j], dst[j-1]); j--) {
+                    Comparable swap = dst[j];
+                    dst[j] = dst[j-1];
+                    dst[j-1] = swap;
+                }
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        oldMergeXSort(dst, src, lo, mid, cutoff);
+        oldMergeXSort(dst, src, mid+1, hi, cutoff);
+        if (!less(src[mid+1], src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+        int i = lo, j = mid+1;
+        for (int k = lo; k <= hi; k++) {
+            if      (i > mid)              dst[k] = src[j++];
+            else if (j > hi)               dst[k] = src[i++];
+            else if (less(src[j], src[i])) dst[k] = src[j++];
+            else                           dst[k] = src[i++];
+        }
+    }
+
+    private static boolean less(Comparable v, Comparable w) {
+        return v.compareTo(w) < 0;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CompareTailCopyMerge.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.Map;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+/**
+ * JMH auxiliary counters that report the {@link Counters} of a benchmark.
+ * A benchmark method takes a <tt>CounterState</tt> argument and calls
+ * {@link #record()} once per operation. The counts only move when the
+ * forked JVM runs with <tt>-Dalgs4bench.counters=true</tt>.
+ * <p>
+ * JMH sums event counters over the measurement iterations, so each counter
+ * is reported as a total next to <tt>ops</tt>, the number of operations;
+ * {@link #print(Collection, PrintStream)} divides the two.
+ *
+ * @author Dmitry Leskov
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class CounterState {
+
+    /** The names of the counters, in the order they are printed. */
+    static final String[] COUNTERS = {"compares", "moves", "arraycopies", "copiedBytes"};
+
+    public long compares, moves, arraycopies, copiedBytes, ops;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        Counters.reset();
+        compares = moves = arraycopies = copiedBytes = ops = 0;
+    }
+
+    /**
+     * Takes the counts of the iteration so far and adds one operation.
+     */
+    public void record() {
+        compares = Counters.compares();
+        moves = Counters.moves();
+        arraycopies = Counters.arraycopies();
+        copiedBytes = Counters.copiedBytes();
+        ops++;
+    }
+
+    /**
+     * Prints the score and the counts per operation of each benchmark
+     * that has them, one line per benchmark and parameter combination.
+     * @param results the results of a run
+     * @param out where to print
+     */
+    public static void print(Collection<RunResult> results, PrintStream out) {
+        out.println();
+        out.printf("%-40s %12s", "Benchmark", "score");
+        for (String counter : COUNTERS) out.printf(" %14s", counter + "/op");
+        out.println();
+        for (RunResult r : results) {
+            Map<String, Result> secondary = r.getSecondaryResults();
+            Result ops = secondary.get("ops");
+            if (ops == null || ops.getScore() == 0) continue;
+            out.printf("%-40s %12.3f", label(r.getParams()), r.getPrimaryResult().getScore());
+            for (String counter : COUNTERS) {
+                Result count = secondary.get(counter);
+                out.printf(" %14.1f", count == null ? Double.NaN : count.getScore() / ops.getScore());
+            }
+            out.println();
+        }
+    }
+
+    // the simple benchmark name followed by the parameter values
+    private static String label(BenchmarkParams params) {
+        String name = params.getBenchmark();
+        StringBuilder label = new StringBuilder(name.substring(name.lastIndexOf('.') + 1));
+        for (String key : params.getParamsKeys())
+            label.append(' ').append(params.getParam(key));
+        return label.toString();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>Counters</tt> class counts what the <tt>Comparable</tt> sorts of
+ *  {@link MergeX}, {@link MergeXBinary}, {@link Merge}, {@link InsertionX},
+ *  {@link BinaryInsertionX} and {@link LeafSorters} do: calls to
+ *  <tt>compareTo()</tt>, elements written one at a time, calls to
+ *  <tt>System.arraycopy()</tt> and <tt>clone()</tt>, and the bytes those
+ *  copied, so that a benchmark can tell a compare-bound change from a
+ *  memory-bound one.
+ *  <p>
+ *  Counting is off unless the JVM is started with
+ *  <tt>-Dalgs4bench.counters=true</tt>. The switch is a <tt>static final</tt>
+ *  field, so with counting off the JIT compiler removes the counting code
+ *  and the sorts run as fast as without it. The counts are plain fields,
+ *  meant for one sorting thread at a time; see {@link CounterState} for
+ *  reporting them from JMH.
+ *
+ *  @author Dmitry Leskov
+ */
+public final class Counters {
+
+    /**
+     * The system property that turns counting on.
+     */
+    public static final String PROPERTY = "algs4bench.counters";
+
+    /**
+     * Whether counting is on, read once from {@link #PROPERTY}.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * The size of an object reference in an array, in bytes: 4 with
+     * compressed oops, 8 without.
+     */
+    public static final int REFERENCE_SIZE = referenceSize();
+
+    private static long compares, moves, arraycopies, copiedBytes;
+
+    // This class should not be instantiated.
+    private Counters() { }
+
+    private static int referenceSize() {
+        try {
+            return Class.forName("sun.misc.Unsafe").getField("ARRAY_OBJECT_INDEX_SCALE").getInt(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return 4;
+        }
+    }
+
+    // a call to compareTo()
+    static void compare() {
+        if (ENABLED) compares++;
+    }
+
+    // n elements written one at a time
+    static void move(int n) {
+        if (ENABLED) moves += n;
+    }
+
+    // a bulk copy of n references
+    static void arraycopy(int n) {
+        if (ENABLED) {
+            arraycopies++;
+            copiedBytes += (long) n * REFERENCE_SIZE;
+        }
+    }
+
+    /**
+     * Sets all counts to zero.
+     */
+    public static void reset() {
+        compares = moves = arraycopies = copiedBytes = 0;
+    }
+
+    /**
+     * Returns the number of calls to <tt>compareTo()</tt> since the last reset.
+     * @return the number of comparisons
+     */
+    public static long compares() {
+        return compares;
+    }
+
+    /**
+     * Returns the number of elements written one at a time since the last reset.
+     * @return the number of element moves
+     */
+    public static long moves() {
+        return moves;
+    }
+
+    /**
+     * Returns the number of bulk copies since the last reset.
+     * @return the number of calls to <tt>System.arraycopy()</tt> and <tt>clone()</tt>
+     */
+    public static long arraycopies() {
+        return arraycopies;
+    }
+
+    /**
+     * Returns the number of bytes of references bulk copied since the last reset.
+     * @return the number of bytes copied
+     */
+    public static long copiedBytes() {
+        return copiedBytes;
+    }
+}
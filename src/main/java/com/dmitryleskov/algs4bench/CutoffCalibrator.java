@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks the insertion sort cutoffs of MergeX and MergeXBinary for an element
+ * class on the machine it runs on, and stores them in the {@link CutoffProfile}.
+ * <p>
+ * This is a short, self-timed version of the ChooseCutoff and
+ * BinaryToSimpleInsertionCutoff experiments: the engines sort the
+ * "sorted", "reverse" and "random" inputs with each candidate cutoff,
+ * and the candidate with the least total of the best-of-{@value #ROUNDS}
+ * times wins. The binary insertion threshold is chosen first, on large
+ * leaves where it matters most, and the MergeXBinary leaf size is then
+ * chosen with that threshold.
+ * <p>
+ * Run it once per machine, in a JVM of its own, because sorting several
+ * element classes pollutes the type profiles of the engines:
+ * <pre>
+ *   java -cp ... com.dmitryleskov.algs4bench.CutoffCalibrator [Integer] [String] [int] [long] [double]
+ * </pre>
+ * or call {@link #ensureCalibrated(String...)} at application startup,
+ * which runs it that way for the classes the profile has no cutoffs for.
+ *
+ * @author Dmitry Leskov
+ */
+public class CutoffCalibrator {
+
+    static final int[] LEAF_SIZES = {4, 6, 8, 10, 12, 14, 16, 20, 24, 28, 32};
+    static final int[] SIMPLE_INSERTIONS = {0, 2, 4, 5, 6, 7, 8, 10, 12, 16};
+    static final String[] TESTS = {"sorted", "reverse", "random"};
+
+    static final int PROBE_SIZE = 64*1024;
+    static final int ROUNDS = 5;
+
+    private static final String[] DEFAULT_CLASSES = {"Integer", "String", "int", "long", "double"};
+
+    // This class should not be instantiated.
+    private CutoffCalibrator() { }
+
+    /**
+     * Runs the probe for the given element classes, stores the results
+     * and prints them.
+     * @param args element classes: Integer, String, int, long or double;
+     * all of them if none are given
+     * @throws IOException if the profile cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) args = DEFAULT_CLASSES;
+        for (String name : args) {
+            Probe probe = probe(name);
+            CutoffProfile profile = calibrate(probe);
+            CutoffProfile.save(probe.elementClass, profile);
+            System.out.println(probe.elementClass.getName() + ": " + profile);
+        }
+        System.out.println("Saved to " + CutoffProfile.file());
+    }
+
+    /**
+     * Calibrates those of the given element classes that the profile holds
+     * no cutoffs for. The probe runs in a child JVM, so that it does not
+     * pollute the type profiles of the engines in this one.
+     * @param classes element classes: Integer, String, int, long or double;
+     * all of them if none are given
+     * @throws IOException if the child JVM cannot be run or fails
+     */
+    public static void ensureCalibrated(String... classes) throws IOException {
+        if (classes.length == 0) classes = DEFAULT_CLASSES;
+        List<String> command = new ArrayList<>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-D" + CutoffProfile.FILE_PROPERTY + "=" + CutoffProfile.file().getAbsolutePath());
+        command.add(CutoffCalibrator.class.getName());
+        int missing = 0;
+        for (String name : classes) {
+            if (!CutoffProfile.isCalibrated(elementClass(name))) {
+                command.add(name);
+                missing++;
+            }
+        }
+        if (missing == 0) return;
+        Process child = new ProcessBuilder(command).inheritIO().start();
+        int status;
+        try {
+            status = child.waitFor();
+        } catch (InterruptedException ex) {
+            child.destroy();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calibrating");
+        }
+        if (status != 0)
+            throw new IOException("Calibration failed with exit code " + status);
+        CutoffProfile.reload();
+    }
+
+    /**
+     * Finds the best cutoffs for sorting arrays like the given samples.
+     * The samples are not modified.
+     * @param samples arrays of the element class to calibrate for
+     * @return the cutoffs
+     */
+    public static CutoffProfile calibrate(Comparable[]... samples) {
+        return calibrate(new ComparableProbe(samples[0][0].getClass(), samples));
+    }
+
+    /**
+     * Finds the best cutoffs for sorting arrays like the given samples.
+     * The samples are not modified.
+     * @param samples arrays to calibrate for
+     * @return the cutoffs
+     */
+    public static CutoffProfile calibrate(int[]... samples) {
+        return calibrate(new IntProbe(samples));
+    }
+
+    /**
+     * Finds the best cutoffs for sorting arrays like the given samples.
+     * The samples are not modified.
+     * @param samples arrays to calibrate for
+     * @return the cutoffs
+     */
+    public static CutoffProfile calibrate(long[]... samples) {
+        return calibrate(new LongProbe(samples));
+    }
+
+    /**
+     * Finds the best cutoffs for sorting arrays like the given samples.
+     * The samples are not modified.
+     * @param samples arrays to calibrate for
+     * @return the cutoffs
+     */
+    public static CutoffProfile calibrate(double[]... samples) {
+        return calibrate(new DoubleProbe(samples));
+    }
+
+    private static CutoffProfile calibrate(Probe probe) {
+        // warm up, so that all candidates are timed compiled
+        for (int leafSize : LEAF_SIZES) {
+            time(probe, false, leafSize, 0, 1);
+            time(probe, true, leafSize, 0, 1);
+        }
+
+        int mergeXLeafSize = LEAF_SIZES[0];
+        long best = Long.MAX_VALUE;
+        for (int leafSize : LEAF_SIZES) {
+            long t = time(probe, false, leafSize, 0, ROUNDS);
+            if (t < best) { best = t; mergeXLeafSize = leafSize; }
+        }
+
+        int largest = LEAF_SIZES[LEAF_SIZES.length - 1];
+        int simpleInsertion = SIMPLE_INSERTIONS[0];
+        best = Long.MAX_VALUE;
+        for (int simple : SIMPLE_INSERTIONS) {
+            long t = time(probe, true, largest, simple, ROUNDS);
+            if (t < best) { best = t; simpleInsertion = simple; }
+        }
+
+        int binaryLeafSize = LEAF_SIZES[0];
+        best = Long.MAX_VALUE;
+        for (int leafSize : LEAF_SIZES) {
+            long t = time(probe, true, leafSize, simpleInsertion, ROUNDS);
+            if (t < best) { best = t; binaryLeafSize = leafSize; }
+        }
+        return new CutoffProfile(mergeXLeafSize, binaryLeafSize, simpleInsertion);
+    }
+
+    // sum over the samples of the best time of the given number of sorts
+    private static long time(Probe probe, boolean binary, int leafSize, int simple, int rounds) {
+        long total = 0;
+        for (int s = 0; s < probe.samples(); s++) {
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < rounds; r++) {
+                probe.reset(s);
+                long start = System.nanoTime();
+                if (binary) probe.sortMergeXBinary(leafSize, simple);
+                else        probe.sortMergeX(leafSize);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static Class<?> elementClass(String name) {
+        switch (name) {
+            case "Integer": return Integer.class;
+            case "String":  return String.class;
+            case "int":     return int.class;
+            case "long":    return long.class;
+            case "double":  return double.class;
+            default:
+                throw new IllegalArgumentException("Unsupported element class: " + name);
+        }
+    }
+
+    private static Probe probe(String name) {
+        TestDataGenerator data = new TestDataGenerator(PROBE_SIZE);
+        int[][] ints = new int[TESTS.length][];
+        for (int i = 0; i < TESTS.length; i++)
+            ints[i] = data.getIntData(TESTS[i]);
+        switch (name) {
+            case "Integer":
+                Comparable[][] integers = new Comparable[ints.length][];
+                for (int i = 0; i < ints.length; i++)
+                    integers[i] = TestDataGenerator.asIntegerArray(ints[i]);
+                return new ComparableProbe(Integer.class, integers);
+            case "String":
+                Comparable[][] strings = new Comparable[ints.length][];
+                for (int i = 0; i < ints.length; i++)
+                    strings[i] = TestDataGenerator.asStringArray(ints[i]);
+                return new ComparableProbe(String.class, strings);
+            case "int":
+                return new IntProbe(ints);
+            case "long":
+                long[][] longs = new long[ints.length][];
+                for (int i = 0; i < ints.length; i++) {
+                    longs[i] = new long[ints[i].length];
+                    for (int j = 0; j < ints[i].length; j++)
+                        longs[i][j] = (long) ints[i][j] << 32 | j;
+                }
+                return new LongProbe(longs);
+            case "double":
+                double[][] doubles = new double[ints.length][];
+                for (int i = 0; i < ints.length; i++) {
+                    doubles[i] = new double[ints[i].length];
+                    for (int j = 0; j < ints[i].length; j++)
+                        doubles[i][j] = ints[i][j] / 7.0;
+                }
+                return new DoubleProbe(doubles);
+            default:
+                throw new IllegalArgumentException("Unsupported element class: " + name);
+        }
+    }
+
+   /***********************************************************************
+    *  Probes: copy a sample into the work array, sort it with given cutoffs
+    ***********************************************************************/
+    private abstract static class Probe {
+        final Class<?> elementClass;
+
+        Probe(Class<?> elementClass) {
+            this.elementClass = elementClass;
+        }
+
+        abstract int samples();
+        abstract void reset(int sample);
+        abstract void sortMergeX(int leafSize);
+        abstract void sortMergeXBinary(int leafSize, int simple);
+    }
+
+    private static final class ComparableProbe extends Probe {
+        private final Comparable[][] samples;
+        private Comparable[] a, aux;
+
+        ComparableProbe(Class<?> elementClass, Comparable[][] samples) {
+            super(elementClass);
+            this.samples = samples;
+        }
+
+        @Override int samples() { return samples.length; }
+
+        @Override
+        void reset(int sample) {
+            a = samples[sample].clone();
+            if (aux == null || aux.length < a.length) aux = new Comparable[a.length];
+        }
+
+        @Override void sortMergeX(int leafSize) { MergeX.sortWithCutoffs(a, aux, leafSize); }
+
+        @Override void sortMergeXBinary(int leafSize, int simple) { MergeXBinary.sortWithCutoffs(a, aux, leafSize, simple); }
+    }
+
+    private static final class IntProbe extends Probe {
+        private final int[][] samples;
+        private int[] a, aux;
+
+        IntProbe(int[][] samples) {
+            super(int.class);
+            this.samples = samples;
+        }
+
+        @Override int samples() { return samples.length; }
+
+        @Override
+        void reset(int sample) {
+            a = samples[sample].clone();
+            if (aux == null || aux.length < a.length) aux = new int[a.length];
+        }
+
+        @Override void sortMergeX(int leafSize) { MergeX.sortWithCutoffs(a, aux, leafSize); }
+
+        @Override void sortMergeXBinary(int leafSize, int simple) { MergeXBinary.sortWithCutoffs(a, aux, leafSize, simple); }
+    }
+
+    private static final class LongProbe extends Probe {
+        private final long[][] samples;
+        private long[] a, aux;
+
+        LongProbe(long[][] samples) {
+            super(long.class);
+            this.samples = samples;
+        }
+
+        @Override int samples() { return samples.length; }
+
+        @Override
+        void reset(int sample) {
+            a = samples[sample].clone();
+            if (aux == null || aux.length < a.length) aux = new long[a.length];
+        }
+
+        @Override void sortMergeX(int leafSize) { MergeX.sortWithCutoffs(a, aux, leafSize); }
+
+        @Override void sortMergeXBinary(int leafSize, int simple) { MergeXBinary.sortWithCutoffs(a, aux, leafSize, simple); }
+    }
+
+    private static final class DoubleProbe extends Probe {
+        private final double[][] samples;
+        private double[] a, aux;
+
+        DoubleProbe(double[][] samples) {
+            super(double.class);
+            this.samples = samples;
+        }
+
+        @Override int samples() { return samples.length; }
+
+        @Override
+        void reset(int sample) {
+            a = samples[sample].clone();
+            if (aux == null || aux.length < a.length) aux = new double[a.length];
+        }
+
+        @Override void sortMergeX(int leafSize) { MergeX.sortWithCutoffs(a, aux, leafSize); }
+
+        @Override void sortMergeXBinary(int leafSize, int simple) { MergeXBinary.sortWithCutoffs(a, aux, leafSize, simple); }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Insertion sort cutoffs of MergeX and MergeXBinary for one element class.
+ * <p>
+ * The best cutoffs depend on the element type, the input and the hardware
+ * (see ChooseCutoff and BinaryToSimpleInsertionCutoff), so instead of
+ * compile-time constants the engines look them up here, per class of the
+ * elements being sorted. Values come from a properties file written by
+ * {@link CutoffCalibrator}, by default <tt>~/.algs4bench/cutoffs.properties</tt>,
+ * overridable with <tt>-Dalgs4bench.cutoffs=<i>file</i></tt>, with keys like
+ * <pre>
+ *   MergeX.java.lang.String.leafSize=12
+ *   MergeXBinary.int.leafSize=24
+ *   MergeXBinary.int.simpleInsertion=6
+ * </pre>
+ * Missing or invalid entries fall back to the built-in defaults.
+ * Lookups are cached per class and do not allocate.
+ *
+ * @author Dmitry Leskov
+ */
+public final class CutoffProfile {
+
+    public static final String FILE_PROPERTY = "algs4bench.cutoffs";
+
+    static final int DEFAULT_MERGE_X_LEAF_SIZE = 8;
+    static final int DEFAULT_BINARY_LEAF_SIZE = 16;
+    static final int DEFAULT_BINARY_SIMPLE_INSERTION = 15;
+
+    private static final CutoffProfile DEFAULTS = new CutoffProfile(
+            DEFAULT_MERGE_X_LEAF_SIZE, DEFAULT_BINARY_LEAF_SIZE, DEFAULT_BINARY_SIMPLE_INSERTION);
+
+    private static volatile ClassValue<CutoffProfile> cache = newCache(load(file()));
+
+    private final int mergeXLeafSize;
+    private final int binaryLeafSize;
+    private final int binarySimpleInsertion;
+
+    CutoffProfile(int mergeXLeafSize, int binaryLeafSize, int binarySimpleInsertion) {
+        this.mergeXLeafSize = mergeXLeafSize;
+        this.binaryLeafSize = binaryLeafSize;
+        this.binarySimpleInsertion = binarySimpleInsertion;
+    }
+
+    /**
+     * Returns the largest chunk MergeX sorts with insertion sort.
+     * @return the largest chunk MergeX sorts with insertion sort
+     */
+    public int mergeXLeafSize() {
+        return mergeXLeafSize;
+    }
+
+    /**
+     * Returns the largest chunk MergeXBinary sorts with binary insertion sort.
+     * @return the largest chunk MergeXBinary sorts with binary insertion sort
+     */
+    public int binaryLeafSize() {
+        return binaryLeafSize;
+    }
+
+    /**
+     * Returns the number of elements after the first one that MergeXBinary
+     * inserts by simple insertion before it switches to binary insertion.
+     * @return the binary insertion threshold of MergeXBinary
+     */
+    public int binarySimpleInsertion() {
+        return binarySimpleInsertion;
+    }
+
+    /**
+     * Returns the cutoffs for the given element class.
+     * @param elementClass the class of the elements to be sorted,
+     * or a primitive type such as <tt>int.class</tt>
+     * @return the cutoffs for the given element class
+     */
+    public static CutoffProfile of(Class<?> elementClass) {
+        return cache.get(elementClass);
+    }
+
+    /**
+     * Returns the cutoffs for the elements of the given array.
+     * @param a the array to be sorted
+     * @return the cutoffs for the class of <tt>a[0]</tt>,
+     * or the defaults if <tt>a</tt> is empty
+     */
+    public static CutoffProfile of(Object[] a) {
+        if (a.length == 0 || a[0] == null) return DEFAULTS;
+        return cache.get(a[0].getClass());
+    }
+
+    /**
+     * Returns the properties file the profile is read from and written to.
+     * @return the profile file
+     */
+    public static File file() {
+        String name = System.getProperty(FILE_PROPERTY);
+        if (name != null) return new File(name);
+        return new File(new File(System.getProperty("user.home"), ".algs4bench"), "cutoffs.properties");
+    }
+
+    /**
+     * Re-reads the profile file.
+     */
+    public static void reload() {
+        cache = newCache(load(file()));
+    }
+
+    /**
+     * Tells whether the profile file holds all the cutoffs for an element class.
+     * @param elementClass the class of the elements,
+     * or a primitive type such as <tt>int.class</tt>
+     * @return <tt>true</tt> if none of the cutoffs of <tt>elementClass</tt>
+     * would fall back to the defaults
+     */
+    public static boolean isCalibrated(Class<?> elementClass) {
+        Properties p = load(file());
+        String name = elementClass.getName();
+        return intProperty(p, "MergeX." + name + ".leafSize", -1, 1) >= 0
+                && intProperty(p, "MergeXBinary." + name + ".leafSize", -1, 1) >= 0
+                && intProperty(p, "MergeXBinary." + name + ".simpleInsertion", -1, 0) >= 0;
+    }
+
+    /**
+     * Stores the given cutoffs for an element class in the profile file
+     * and makes the engines use them.
+     * @param elementClass the class of the elements
+     * @param profile the cutoffs
+     * @throws IOException if the profile file cannot be written
+     */
+    public static synchronized void save(Class<?> elementClass, CutoffProfile profile) throws IOException {
+        File f = file();
+        Properties p = load(f);
+        String name = elementClass.getName();
+        p.setProperty("MergeX." + name + ".leafSize", Integer.toString(profile.mergeXLeafSize));
+        p.setProperty("MergeXBinary." + name + ".leafSize", Integer.toString(profile.binaryLeafSize));
+        p.setProperty("MergeXBinary." + name + ".simpleInsertion", Integer.toString(profile.binarySimpleInsertion));
+        File dir = f.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs())
+            throw new IOException("Cannot create " + dir);
+        try (OutputStream out = new FileOutputStream(f)) {
+            p.store(out, "Sort cutoffs, see " + CutoffCalibrator.class.getName());
+        }
+        cache = newCache(p);
+    }
+
+    private static Properties load(File f) {
+        Properties p = new Properties();
+        if (f.isFile()) {
+            try (InputStream in = new FileInputStream(f)) {
+                p.load(in);
+            } catch (IOException | IllegalArgumentException ex) {
+                // an unreadable profile is as good as none: use the defaults
+                p.clear();
+            }
+        }
+        return p;
+    }
+
+    private static ClassValue<CutoffProfile> newCache(final Properties p) {
+        return new ClassValue<CutoffProfile>() {
+            @Override
+            protected CutoffProfile computeValue(Class<?> type) {
+                String name = type.getName();
+                int leaf = intProperty(p, "MergeX." + name + ".leafSize", DEFAULT_MERGE_X_LEAF_SIZE, 1);
+                int binaryLeaf = intProperty(p, "MergeXBinary." + name + ".leafSize", DEFAULT_BINARY_LEAF_SIZE, 1);
+                int simple = intProperty(p, "MergeXBinary." + name + ".simpleInsertion", DEFAULT_BINARY_SIMPLE_INSERTION, 0);
+                return new CutoffProfile(leaf, binaryLeaf, simple);
+            }
+        };
+    }
+
+    private static int intProperty(Properties p, String key, int defaultValue, int min) {
+        String value = p.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            int n = Integer.parseInt(value.trim());
+            return n >= min ? n : defaultValue;
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MergeX.leafSize=" + mergeXLeafSize
+                + " MergeXBinary.leafSize=" + binaryLeafSize
+                + " MergeXBinary.simpleInsertion=" + binarySimpleInsertion;
+    }
+}
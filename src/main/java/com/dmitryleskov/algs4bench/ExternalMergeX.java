@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *  The <tt>ExternalMergeX</tt> class provides static methods for sorting
+ *  a file of <tt>int</tt>s that need not fit in memory. The file holds
+ *  4-byte big-endian values, as written by <tt>DataOutputStream</tt>.
+ *  <p>
+ *  The input is read in chunks of <tt>chunkSize</tt> values, each chunk
+ *  is sorted with {@link MergeX#sort(int[], int[])} and spilled to a
+ *  temporary file as a sorted run. The runs are then merged <tt>fanIn</tt>
+ *  at a time with a loser tree, each run read through a buffer of
+ *  <tt>bufferSize</tt> bytes, until one merge writes the output.
+ *  Memory use is about <tt>8*chunkSize</tt> bytes while sorting chunks
+ *  and <tt>(fanIn+1)*bufferSize</tt> bytes while merging.
+ *
+ *  @author Dmitry Leskov
+ */
+public class ExternalMergeX {
+
+    /**
+     * Default number of values sorted in memory at a time (16MB of input).
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4*1024*1024;
+
+    /**
+     * Default number of runs merged at a time.
+     */
+    public static final int DEFAULT_FAN_IN = 64;
+
+    /**
+     * Default size of the read and write buffers in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256*1024;
+
+    // This class should not be instantiated.
+    private ExternalMergeX() { }
+
+    /**
+     * Sorts a file of <tt>int</tt>s into another file, spilling runs to
+     * the default temporary directory, with default chunk size, fan-in
+     * and buffer size.
+     * @param input the file to sort
+     * @param output the file to write, replaced if it exists
+     * @return statistics of the sort
+     * @throws IOException if a file cannot be read or written
+     */
+    public static Stats sort(Path input, Path output) throws IOException {
+        return sort(input, output, null, DEFAULT_CHUNK_SIZE, DEFAULT_FAN_IN, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Sorts a file of <tt>int</tt>s into another file.
+     * @param input the file to sort
+     * @param output the file to write, replaced if it exists; may not be <tt>input</tt>
+     * @param tempDir the directory for runs, or <tt>null</tt> for the default
+     * temporary directory
+     * @param chunkSize the number of values sorted in memory at a time
+     * @param fanIn the number of runs merged at a time, at least 2
+     * @param bufferSize the size of each read and write buffer in bytes, at least 4
+     * @return statistics of the sort
+     * @throws IOException if a file cannot be read or written
+     * @throws IllegalArgumentException if a parameter is out of range or
+     * the size of the input is not a multiple of 4
+     */
+    public static Stats sort(Path input, Path output, Path tempDir,
+                             int chunkSize, int fanIn, int bufferSize) throws IOException {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize(" + chunkSize + ") < 1");
+        if (fanIn < 2) throw new IllegalArgumentException("fanIn(" + fanIn + ") < 2");
+        if (bufferSize < 4) throw new IllegalArgumentException("bufferSize(" + bufferSize + ") < 4");
+        long size = Files.size(input);
+        if (size % 4 != 0)
+            throw new IllegalArgumentException("size(" + size + ") of " + input + " is not a multiple of 4");
+        bufferSize &= ~3;
+
+        Stats stats = new Stats(size);
+        ArrayDeque<Path> runs = new ArrayDeque<>();
+        try {
+            // sort chunks; a single chunk goes straight to the output
+            boolean single = size <= 4L * chunkSize;
+            int[] chunk = new int[(int) Math.min(chunkSize, size / 4)];
+            int[] aux = new int[chunk.length];
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+            try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+                int n;
+                while ((n = read(in, buffer, chunk)) > 0) {
+                    int[] a = (n == chunk.length) ? chunk : Arrays.copyOf(chunk, n);
+                    MergeX.sort(a, aux);
+                    Path run = single ? output : createRun(tempDir);
+                    if (!single) runs.add(run);
+                    write(run, buffer, a, n);
+                    stats.runs++;
+                }
+            }
+            if (single) {
+                if (size == 0) write(output, buffer, chunk, 0);
+                return stats;
+            }
+            chunk = aux = null;
+
+            // merge fanIn runs at a time, oldest first, until one merge is left
+            while (runs.size() > fanIn) {
+                List<Path> group = new ArrayList<>();
+                for (int i = 0; i < fanIn; i++) group.add(runs.poll());
+                Path run = createRun(tempDir);
+                runs.add(run);
+                stats.mergedBytes += merge(group, run, bufferSize);
+            }
+            stats.mergedBytes += merge(new ArrayList<>(runs), output, bufferSize);
+            runs.clear();
+            return stats;
+        } finally {
+            for (Path run : runs) Files.deleteIfExists(run);
+        }
+    }
+
+    /**
+     * What a sort did: the size of the input, the number of runs spilled,
+     * and the number of bytes written by merges.
+     */
+    public static final class Stats {
+        public final long bytes;
+        public int runs;
+        public long mergedBytes;
+
+        Stats(long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the number of times the merges went over the data.
+         * @return merged bytes per input byte
+         */
+        public double passes() {
+            return bytes == 0 ? 0 : (double) mergedBytes / bytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d bytes, %d runs, %.2f merge passes", bytes, runs, passes());
+        }
+    }
+
+    private static Path createRun(Path tempDir) throws IOException {
+        return tempDir == null ? Files.createTempFile("run", ".bin")
+                               : Files.createTempFile(tempDir, "run", ".bin");
+    }
+
+    // fill chunk from in, return the number of values read
+    private static int read(FileChannel in, ByteBuffer buffer, int[] chunk) throws IOException {
+        int n = 0;
+        while (n < chunk.length) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), 4L * (chunk.length - n)));
+            while (buffer.hasRemaining() && in.read(buffer) >= 0) { }
+            buffer.flip();
+            int count = buffer.remaining() / 4;
+            if (count == 0) break;
+            buffer.asIntBuffer().get(chunk, n, count);
+            n += count;
+        }
+        return n;
+    }
+
+    private static void write(Path file, ByteBuffer buffer, int[] a, int n) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.clear();
+            IntBuffer ints = buffer.asIntBuffer();
+            for (int i = 0; i < n; ) {
+                int count = Math.min(ints.capacity(), n - i);
+                ints.clear();
+                ints.put(a, i, count);
+                buffer.clear();
+                buffer.limit(4 * count);
+                while (buffer.hasRemaining()) out.write(buffer);
+                i += count;
+            }
+        }
+    }
+
+   /***********************************************************************
+    *  K-way merge
+    ***********************************************************************/
+
+    // merge the runs into output and delete them, return the number of bytes written
+    private static long merge(List<Path> runs, Path output, int bufferSize) throws IOException {
+        long written = 0;
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < k; i++)
+                readers[i] = new RunReader(runs.get(i), bufferSize);
+            LoserTree tree = new LoserTree(readers);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+            for (int i = tree.winner(); i >= 0; i = tree.next(i)) {
+                if (!buffer.hasRemaining()) flush(out, buffer);
+                buffer.putInt(readers[i].head);
+                written += 4;
+            }
+            flush(out, buffer);
+        } finally {
+            for (int i = 0; i < k; i++)
+                if (readers[i] != null) readers[i].close();
+            for (Path run : runs) Files.deleteIfExists(run);
+        }
+        return written;
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) out.write(buffer);
+        buffer.clear();
+    }
+
+    // a run, read ahead through a buffer of bounded size
+    private static final class RunReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        int head;          // current value
+        boolean done;      // no current value
+
+        RunReader(Path run, int bufferSize) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+            buffer.flip();
+            advance();
+        }
+
+        // move head to the next value
+        void advance() throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) { }
+                buffer.flip();
+                if (!buffer.hasRemaining()) {
+                    done = true;
+                    return;
+                }
+            }
+            head = buffer.getInt();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Tournament tree of losers over k runs: node t > 0 holds the run that
+    // lost the match played there, node 0 the overall winner. After the
+    // winner advances, only the matches on its path to the root are replayed,
+    // so each value costs log2(k) comparisons. Ties go to the earlier run.
+    private static final class LoserTree {
+        private final RunReader[] runs;
+        private final int[] tree;
+        private final int k;
+
+        LoserTree(RunReader[] runs) {
+            this.runs = runs;
+            this.k = runs.length;
+            this.tree = new int[k];
+            // k stands for a virtual run that beats all others, so that
+            // every real run reaches the top during the initial replays
+            Arrays.fill(tree, k);
+            for (int i = k-1; i >= 0; i--) replay(i);
+        }
+
+        // the run with the least head, -1 if all runs are done
+        int winner() {
+            int w = tree[0];
+            return runs[w].done ? -1 : w;
+        }
+
+        // advance the winner w, return the new winner
+        int next(int w) throws IOException {
+            runs[w].advance();
+            replay(w);
+            return winner();
+        }
+
+        private void replay(int s) {
+            for (int t = (s + k) >> 1; t > 0; t >>= 1) {
+                if (beats(tree[t], s)) {
+                    int swap = tree[t];
+                    tree[t] = s;
+                    s = swap;
+                }
+            }
+            tree[0] = s;
+        }
+
+        // does run i come before run j?
+        private boolean beats(int i, int j) {
+            if (i == k) return true;
+            if (j == k) return false;
+            RunReader a = runs[i], b = runs[j];
+            if (a.done) return false;
+            if (b.done) return true;
+            return a.head < b.head || (a.head == b.head && i < j);
+        }
+    }
+}
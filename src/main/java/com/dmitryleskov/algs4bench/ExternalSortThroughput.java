@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Throughput of ExternalMergeX on local disk, in MB of input per second,
+ * for a grid of chunk sizes and fan-ins. A single sort takes seconds and
+ * is dominated by I/O, so this is a standalone harness rather than a JMH
+ * benchmark: each point is the best of a few runs after a warm-up sort.
+ * <pre>
+ *   java -cp ... com.dmitryleskov.algs4bench.ExternalSortThroughput [sizeMB [tempDir]]
+ * </pre>
+ * The input is the "random" distribution of TestDataGenerator, generated
+ * in blocks so that it need not fit in memory. Use a tempDir on the disk
+ * to be measured; the page cache is not dropped between runs, so sizes
+ * below free memory measure the cache rather than the disk.
+ *
+ * @author Dmitry Leskov
+ */
+public class ExternalSortThroughput {
+
+    static final int[] CHUNK_SIZES = {64*1024, 256*1024, 1024*1024, 4*1024*1024};
+    static final int[] FAN_INS = {2, 4, 16, 64};
+    static final int ROUNDS = 3;
+
+    // This class should not be instantiated.
+    private ExternalSortThroughput() { }
+
+    public static void main(String[] args) throws IOException {
+        long sizeMB = args.length > 0 ? Long.parseLong(args[0]) : 256;
+        Path dir = args.length > 1 ? Paths.get(args[1]) : Paths.get(System.getProperty("java.io.tmpdir"));
+        Path input = Files.createTempFile(dir, "input", ".bin");
+        Path output = Files.createTempFile(dir, "output", ".bin");
+        try {
+            generate(input, sizeMB * 1024 * 1024 / 4);
+            ExternalMergeX.sort(input, output, dir, CHUNK_SIZES[0], FAN_INS[0], ExternalMergeX.DEFAULT_BUFFER_SIZE);
+
+            System.out.printf("%d MB in %s, buffers of %d KB%n", sizeMB, dir, ExternalMergeX.DEFAULT_BUFFER_SIZE / 1024);
+            System.out.printf("%12s %8s %8s %8s %10s%n", "chunkSize", "fanIn", "runs", "passes", "MB/s");
+            for (int chunkSize : CHUNK_SIZES) {
+                for (int fanIn : FAN_INS) {
+                    long best = Long.MAX_VALUE;
+                    ExternalMergeX.Stats stats = null;
+                    for (int round = 0; round < ROUNDS; round++) {
+                        long start = System.nanoTime();
+                        stats = ExternalMergeX.sort(input, output, dir, chunkSize, fanIn,
+                                ExternalMergeX.DEFAULT_BUFFER_SIZE);
+                        best = Math.min(best, System.nanoTime() - start);
+                    }
+                    System.out.printf("%12d %8d %8d %8.2f %10.1f%n", chunkSize, fanIn, stats.runs,
+                            stats.passes(), stats.bytes / 1048576.0 / (best / 1e9));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    // write n values of Random(0).nextInt(), as the "random" test data
+    private static void generate(Path file, long n) throws IOException {
+        Random r = new Random(0);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024*1024);
+        IntBuffer ints = buffer.asIntBuffer();
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long i = 0; i < n; ) {
+                ints.clear();
+                while (ints.hasRemaining() && i < n) {
+                    ints.put(r.nextInt());
+                    i++;
+                }
+                buffer.clear();
+                buffer.limit(4 * ints.position());
+                while (buffer.hasRemaining()) out.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ *  The <tt>IncrementalMergeX</tt> class keeps a growing collection of
+ *  elements sorted as batches arrive, so that it can be iterated in order
+ *  or asked for its minimum and maximum at any time without sorting
+ *  everything again.
+ *  <p>
+ *  Each batch is copied and sorted with {@link MergeXBinary} into a run.
+ *  Runs are compacted in size tiers, as in a log-structured merge tree:
+ *  a new run is on level 0, and whenever <tt>fanIn</tt> adjacent runs are
+ *  on the same level, a merge of them into one run on the next level is
+ *  started. Every element is thus merged about log<sub>fanIn</sub>(n/batch)
+ *  times.
+ *  <p>
+ *  Merges do not run to completion inside <tt>add()</tt>. Instead, each
+ *  call advances the merges in progress, lowest level first, by
+ *  <tt>levels+2</tt> elements per element added, which is a little more
+ *  than the rate at which merging work arises. So a batch of <tt>b</tt>
+ *  elements costs O(b log(n/b)) element moves, never a merge of the whole
+ *  collection, and the number of runs stays O(fanIn log(n/b)). Runs being
+ *  merged keep serving queries until their merge completes. Iteration
+ *  completes all merges and merges all runs into one first, so it costs
+ *  O(n) the first time after an <tt>add()</tt>.
+ *  <p>
+ *  Elements that compare equal are returned in the order they were added.
+ *  An instance is not thread-safe, and adding a batch invalidates iterators.
+ *
+ *  @author Dmitry Leskov
+ */
+public class IncrementalMergeX<T extends Comparable<? super T>> implements Iterable<T> {
+
+    /**
+     * Default number of runs on a level that triggers their merge.
+     */
+    public static final int DEFAULT_FAN_IN = 4;
+
+    private final int fanIn;
+    private final ScratchBuffers buffers = new ScratchBuffers();
+
+    // runs oldest first, and merges in progress, lowest level first
+    private final List<Run> runs = new ArrayList<>();
+    private final List<PendingMerge> merges = new ArrayList<>();
+    private int size;
+    private int modCount;
+
+    /**
+     * Creates an empty sorter with the default fan-in.
+     */
+    public IncrementalMergeX() {
+        this(DEFAULT_FAN_IN);
+    }
+
+    /**
+     * Creates an empty sorter.
+     * @param fanIn the number of runs merged at a time, at least 2
+     * @throws IllegalArgumentException if <tt>fanIn</tt> is less than 2
+     */
+    public IncrementalMergeX(int fanIn) {
+        if (fanIn < 2) throw new IllegalArgumentException("fanIn(" + fanIn + ") < 2");
+        this.fanIn = fanIn;
+    }
+
+    /**
+     * Adds a batch of elements. The array is copied, not kept.
+     * @param batch the elements to add
+     */
+    public void add(T[] batch) {
+        if (batch.length == 0) return;
+        Comparable[] run = batch.clone();
+        MergeXBinary.sort(run, buffers.comparables(run.length));
+        buffers.clear();
+        runs.add(new Run(run, 0));
+        size += run.length;
+        modCount++;
+
+        int levels = 0;
+        for (Run r : runs) levels = Math.max(levels, r.level + 1);
+        schedule();
+        advance((long) run.length * (levels + 2));
+    }
+
+    /**
+     * Returns the number of elements added so far.
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of runs the elements are kept in, including the
+     * runs being merged.
+     * @return the number of runs
+     */
+    public int runs() {
+        return runs.size();
+    }
+
+    /**
+     * Returns the least element, the earliest added one among equals.
+     * @return the least element
+     * @throws NoSuchElementException if the sorter is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T min() {
+        if (size == 0) throw new NoSuchElementException();
+        Comparable min = runs.get(0).a[0];
+        for (int r = 1; r < runs.size(); r++) {
+            Comparable v = runs.get(r).a[0];
+            if (less(v, min)) min = v;
+        }
+        return (T) min;
+    }
+
+    /**
+     * Returns the greatest element, the latest added one among equals.
+     * @return the greatest element
+     * @throws NoSuchElementException if the sorter is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T max() {
+        if (size == 0) throw new NoSuchElementException();
+        Comparable max = null;
+        for (Run r : runs) {
+            Comparable v = r.a[r.a.length - 1];
+            if (max == null || !less(v, max)) max = v;
+        }
+        return (T) max;
+    }
+
+    /**
+     * Returns an iterator over the elements in ascending order.
+     * All merges in progress are completed, and all runs are merged into one first.
+     * @return an iterator over the elements in ascending order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        advance(Long.MAX_VALUE);
+        while (runs.size() > 1) {
+            int k = Math.min(fanIn, runs.size());
+            PendingMerge m = new PendingMerge(runs.subList(runs.size() - k, runs.size()));
+            m.advance(Long.MAX_VALUE);
+            finish(m);
+        }
+        final Comparable[] run = runs.isEmpty() ? new Comparable[0] : runs.get(0).a;
+        final int expectedModCount = modCount;
+        return new Iterator<T>() {
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < run.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (i >= run.length) throw new NoSuchElementException();
+                return (T) run[i++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    // start merges of fanIn adjacent idle runs on the same level, oldest first
+    private void schedule() {
+        int count = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            Run r = runs.get(i);
+            if (r.merge != null) {
+                count = 0;
+                continue;
+            }
+            count = (count > 0 && runs.get(i-1).level == r.level) ? count + 1 : 1;
+            if (count == fanIn) {
+                PendingMerge m = new PendingMerge(runs.subList(i - fanIn + 1, i + 1));
+                int at = 0;
+                while (at < merges.size() && merges.get(at).level <= m.level) at++;
+                merges.add(at, m);
+                count = 0;
+            }
+        }
+    }
+
+    // merge up to budget elements, lowest level first, finishing and
+    // scheduling merges as they complete
+    private void advance(long budget) {
+        while (budget > 0 && !merges.isEmpty()) {
+            PendingMerge m = merges.get(0);
+            budget -= m.advance(budget);
+            if (m.done()) {
+                merges.remove(0);
+                finish(m);
+                schedule();
+            }
+        }
+    }
+
+    // replace the runs of a completed merge with the merged run
+    private void finish(PendingMerge m) {
+        int first = 0;
+        while (runs.get(first).merge != m) first++;
+        runs.subList(first + 1, first + m.src.length).clear();
+        runs.set(first, new Run(m.dst, m.level));
+        assert isSorted(m.dst);
+    }
+
+    // a sorted run and its level, and the merge it is part of, if any
+    private static final class Run {
+        final Comparable[] a;
+        final int level;
+        PendingMerge merge;
+
+        Run(Comparable[] a, int level) {
+            this.a = a;
+            this.level = level;
+        }
+    }
+
+    // A merge of adjacent runs into one on the level above the highest of
+    // theirs, done a given number of elements at a time. The runs are few,
+    // so the least head is found by scanning; ties go to the older run.
+    private static final class PendingMerge {
+        final Comparable[][] src;  // runs being merged, oldest first
+        final Comparable[] dst;
+        final int level;
+        private final Comparable[][] heads;
+        private final int[] pos;
+        private int live, k;
+
+        PendingMerge(List<Run> group) {
+            src = new Comparable[group.size()][];
+            int n = 0, top = 0;
+            for (int r = 0; r < src.length; r++) {
+                Run run = group.get(r);
+                run.merge = this;
+                src[r] = run.a;
+                n += run.a.length;
+                top = Math.max(top, run.level);
+            }
+            dst = new Comparable[n];
+            level = top + 1;
+            heads = src.clone();
+            pos = new int[src.length];
+            live = src.length;
+        }
+
+        boolean done() {
+            return k == dst.length;
+        }
+
+        // merge up to budget more elements, return the number merged
+        int advance(long budget) {
+            int start = k;
+            int end = k + (int) Math.min(dst.length - k, budget);
+            while (k < end) {
+                if (live == 1) {
+                    System.arraycopy(heads[0], pos[0], dst, k, end - k);
+                    pos[0] += end - k;
+                    k = end;
+                    break;
+                }
+                int m = -1;
+                for (int r = 0; r < live; r++)
+                    if (m < 0 || less(heads[r][pos[r]], heads[m][pos[m]])) m = r;
+                dst[k++] = heads[m][pos[m]++];
+                if (pos[m] == heads[m].length) {
+                    // drop the exhausted run, keeping the others in age order
+                    System.arraycopy(heads, m+1, heads, m, live - m - 1);
+                    System.arraycopy(pos, m+1, pos, m, live - m - 1);
+                    live--;
+                }
+            }
+            return k - start;
+        }
+    }
+
+   /***********************************************************************
+    *  Helper sorting functions
+    ***********************************************************************/
+
+    // is v < w ?
+    private static boolean less(Comparable v, Comparable w) {
+        return v.compareTo(w) < 0;
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(Comparable[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+}
@@ -44,14 +44,23 @@ public class InsertionX {
      * @param a the array to be sorted
      */
     public static void sort(Comparable[] a) {
-        int N = a.length;
+        sort(a, 0, a.length - 1);
+        assert isSorted(a);
+    }
 
+    /**
+     * Rearranges a[lo .. hi] in ascending order, using the natural order.
+     * @param a the array
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     */
+    public static void sort(Comparable[] a, int lo, int hi) {
         // put smallest element in position to serve as sentinel
-        for (int i = N-1; i > 0; i--)
+        for (int i = hi; i > lo; i--)
             if (less(a[i], a[i-1])) exch(a, i, i-1);
 
         // insertion sort with half-exchanges
-        for (int i = 2; i < N; i++) {
+        for (int i = lo + 2; i <= hi; i++) {
             Comparable v = a[i];
             int j = i;
             while (less(v, a[j-1])) {
@@ -59,9 +68,8 @@ public class InsertionX {
                 j--;
             }
             a[j] = v;
+            Counters.move(i - j + 1);
         }
-
-        assert isSorted(a);
     }
 
 
@@ -71,6 +79,7 @@ public class InsertionX {
     
     // is v < w ?
     private static boolean less(Comparable v, Comparable w) {
+        Counters.compare();
         return v.compareTo(w) < 0;
     }
         
@@ -79,6 +88,7 @@ public class InsertionX {
         Object swap = a[i];
         a[i] = a[j];
         a[j] = swap;
+        Counters.move(2);
     }
 
 
@@ -91,5 +101,141 @@ public class InsertionX {
         return true;
     }
 
+   /***********************************************************************
+    *  int[] version
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(int[] a) {
+        sort(a, 0, a.length - 1);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges a[lo .. hi] in ascending numerical order.
+     * @param a the array
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     */
+    public static void sort(int[] a, int lo, int hi) {
+        // put smallest element in position to serve as sentinel
+        for (int i = hi; i > lo; i--)
+            if (a[i] < a[i-1]) exch(a, i, i-1);
+
+        // insertion sort with half-exchanges
+        for (int i = lo + 2; i <= hi; i++) {
+            int v = a[i];
+            int j = i;
+            while (v < a[j-1]) {
+                a[j] = a[j-1];
+                j--;
+            }
+            a[j] = v;
+        }
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(int[] a, int i, int j) {
+        int swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    private static boolean isSorted(int[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+
+   /***********************************************************************
+    *  long[] version
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(long[] a) {
+        int N = a.length;
+
+        // put smallest element in position to serve as sentinel
+        for (int i = N-1; i > 0; i--)
+            if (a[i] < a[i-1]) exch(a, i, i-1);
+
+        // insertion sort with half-exchanges
+        for (int i = 2; i < N; i++) {
+            long v = a[i];
+            int j = i;
+            while (v < a[j-1]) {
+                a[j] = a[j-1];
+                j--;
+            }
+            a[j] = v;
+        }
+
+        assert isSorted(a);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(long[] a, int i, int j) {
+        long swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    private static boolean isSorted(long[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+
+   /***********************************************************************
+    *  double[] version
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * <tt>-0.0</tt> and <tt>0.0</tt> are treated as equal, and arrays containing
+     * <tt>NaN</tt> are not sorted in any specified order.
+     * @param a the array to be sorted
+     */
+    public static void sort(double[] a) {
+        int N = a.length;
+
+        // put smallest element in position to serve as sentinel
+        for (int i = N-1; i > 0; i--)
+            if (a[i] < a[i-1]) exch(a, i, i-1);
+
+        // insertion sort with half-exchanges
+        for (int i = 2; i < N; i++) {
+            double v = a[i];
+            int j = i;
+            while (v < a[j-1]) {
+                a[j] = a[j-1];
+                j--;
+            }
+            a[j] = v;
+        }
+
+        assert isSorted(a);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(double[] a, int i, int j) {
+        double swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    private static boolean isSorted(double[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
 
 }
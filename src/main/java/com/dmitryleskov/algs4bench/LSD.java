@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Arrays;
+
+/**
+ *  The <tt>LSD</tt> class provides static methods for sorting arrays of
+ *  integers using LSD radix sort, one byte per pass.
+ *  <p>
+ *  Passes ping-pong between the array and the scratch array, as in MergeX,
+ *  and a pass is skipped when all keys have the same byte in it, so that
+ *  small or narrow-range keys take fewer than 4 (8 for <tt>long</tt>) passes.
+ *  The sign bit is flipped in the most significant byte so that negative
+ *  numbers sort first. The sort is stable.
+ *  <p>
+ *  For additional documentation, see <a href="http://algs4.cs.princeton.edu/51radix">Section 5.1</a> of
+ *  <i>Algorithms, 4th Edition</i> by Robert Sedgewick and Kevin Wayne.
+ *
+ *  @author Dmitry Leskov
+ */
+public class LSD {
+    private static final int BITS_PER_BYTE = 8;
+    private static final int R = 1 << BITS_PER_BYTE;  // radix
+    private static final int MASK = R - 1;
+
+    // This class should not be instantiated.
+    private LSD() { }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(int[] a) {
+        sort(a, new int[a.length]);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(int[] a, int[] aux) {
+        checkAux(a.length, aux.length);
+        int n = a.length;
+        int[] src = a, dst = aux;
+        int[] count = new int[R+1];
+        for (int shift = 0; shift < 32; shift += BITS_PER_BYTE) {
+            int flip = (shift == 32 - BITS_PER_BYTE) ? R/2 : 0;
+
+            // compute frequency counts
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++)
+                count[(((src[i] >>> shift) & MASK) ^ flip) + 1]++;
+            if (isSingleBucket(count, n)) continue;
+
+            // compute cumulates
+            for (int r = 0; r < R; r++)
+                count[r+1] += count[r];
+
+            // move data
+            for (int i = 0; i < n; i++)
+                dst[count[((src[i] >>> shift) & MASK) ^ flip]++] = src[i];
+
+            int[] swap = src; src = dst; dst = swap;
+        }
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(long[] a) {
+        sort(a, new long[a.length]);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(long[] a, long[] aux) {
+        checkAux(a.length, aux.length);
+        int n = a.length;
+        long[] src = a, dst = aux;
+        int[] count = new int[R+1];
+        for (int shift = 0; shift < 64; shift += BITS_PER_BYTE) {
+            int flip = (shift == 64 - BITS_PER_BYTE) ? R/2 : 0;
+
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++)
+                count[(((int) (src[i] >>> shift) & MASK) ^ flip) + 1]++;
+            if (isSingleBucket(count, n)) continue;
+
+            for (int r = 0; r < R; r++)
+                count[r+1] += count[r];
+
+            for (int i = 0; i < n; i++)
+                dst[count[((int) (src[i] >>> shift) & MASK) ^ flip]++] = src[i];
+
+            long[] swap = src; src = dst; dst = swap;
+        }
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+        assert isSorted(a);
+    }
+
+    // do all n keys fall into the same bucket, so that the pass would not move anything?
+    private static boolean isSingleBucket(int[] count, int n) {
+        for (int r = 1; r <= R; r++)
+            if (count[r] != 0) return count[r] == n;
+        return true;
+    }
+
+    // the caller-supplied scratch array must be able to hold the whole array
+    private static void checkAux(int len, int auxLen) {
+        if (auxLen < len)
+            throw new IllegalArgumentException("aux.length(" + auxLen + ") < a.length(" + len + ")");
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(int[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+    private static boolean isSorted(long[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ * A sort for small subarrays, such as the leaves of a mergesort, as
+ * listed by {@link LeafSorters}.
+ *
+ * @author Dmitry Leskov
+ */
+public interface LeafSorter {
+
+    /**
+     * Returns the name of the leaf sort.
+     * @return the name of the leaf sort
+     */
+    public String name();
+
+    /**
+     * Rearranges a[lo .. hi] in ascending order, using the natural order.
+     * @param a the array
+     * @param aux a scratch array at least as long as <tt>a</tt>, which
+     * sorts that need one use instead of allocating their own; only
+     * aux[lo .. hi] is overwritten
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     */
+    public void sort(Comparable[] a, Comparable[] aux, int lo, int hi);
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The leaf sorts of this project by name, and the harness that measures
+ * them as the leaves of the last merge of a mergesort.
+ * <p>
+ * Where a leaf sort is what an engine runs on its leaves, the catalog
+ * calls that engine, so that the benchmarks measure the production code:
+ * <tt>InsertionX</tt>, <tt>BinaryInsertionX</tt> and <tt>Merge</tt> are the
+ * classes of those names, and {@link #mergeXBinary(int)} is the leaf sort
+ * of {@link MergeXBinary}. The other variants live here and nowhere else.
+ * All leaf sorts are stateless, and each is a class of its own, so that a
+ * call site that only ever sees one of them stays monomorphic.
+ *
+ * @author Dmitry Leskov
+ */
+public final class LeafSorters {
+
+    private static final Map<String, LeafSorter> SORTERS = new LinkedHashMap<>();
+    static {
+        register(new LeafSorter() {
+            @Override
+            public String name() {
+                return "Insertion";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                insertionSort(a, lo, hi);
+            }
+        });
+        register(new LeafSorter() {
+            @Override
+            public String name() {
+                return "InsertionX";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                InsertionX.sort(a, lo, hi);
+            }
+        });
+        register(new LeafSorter() {
+            @Override
+            public String name() {
+                return "InsertionAC";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                insertionSortArrayCopy(a, lo, hi);
+            }
+        });
+        register(new LeafSorter() {
+            @Override
+            public String name() {
+                return "BinaryInsertion";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                binaryInsertionSort(a, lo, hi);
+            }
+        });
+        register(new LeafSorter() {
+            @Override
+            public String name() {
+                return "BinaryInsertionShortCircuit";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                MergeXBinary.binaryInsertionSort(a, lo, hi, 0);
+            }
+        });
+        register(new LeafSorter() {
+            @Override
+            public String name() {
+                return "BinaryInsertionDoubleCompare";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                binaryInsertionSortDoubleCompare(a, lo, hi);
+            }
+        });
+        register(new LeafSorter() {
+            @Override
+            public String name() {
+                return "BinaryInsertionX";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                BinaryInsertionX.sort(a, lo, hi);
+            }
+        });
+        register(new LeafSorter() {
+            @Override
+            public String name() {
+                return "Merge";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                Merge.sort(a, aux, lo, hi);
+            }
+        });
+    }
+
+    // This class should not be instantiated.
+    private LeafSorters() { }
+
+    private static void register(LeafSorter sorter) {
+        SORTERS.put(sorter.name(), sorter);
+    }
+
+    /**
+     * Returns the leaf sort with the given name.
+     * @param name the name of the leaf sort, such as <tt>InsertionX</tt>
+     * @return the leaf sort
+     * @throws IllegalArgumentException if there is no such leaf sort
+     */
+    public static LeafSorter get(String name) {
+        LeafSorter sorter = SORTERS.get(name);
+        if (sorter == null)
+            throw new IllegalArgumentException("No leaf sorter " + name + ", expected one of " + names());
+        return sorter;
+    }
+
+    /**
+     * Returns the names of all leaf sorts, except those made by {@link #mergeXBinary(int)}.
+     * @return the names of all leaf sorts, in registration order
+     */
+    public static List<String> names() {
+        return Collections.unmodifiableList(new ArrayList<>(SORTERS.keySet()));
+    }
+
+    /**
+     * Returns the leaf sort of {@link MergeXBinary}: insertion sort for the
+     * first <tt>simple+1</tt> elements and binary insertion sort for the rest.
+     * @param simple the number of elements after the first one that are
+     * placed by insertion sort
+     * @return the leaf sort, named <tt>MergeXBinary(simple)</tt>
+     * @throws IllegalArgumentException if <tt>simple</tt> is negative
+     */
+    public static LeafSorter mergeXBinary(final int simple) {
+        if (simple < 0) throw new IllegalArgumentException("simple(" + simple + ") < 0");
+        return new LeafSorter() {
+            @Override
+            public String name() {
+                return "MergeXBinary(" + simple + ")";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+                MergeXBinary.binaryInsertionSort(a, lo, hi, simple);
+            }
+        };
+    }
+
+   /***********************************************************************
+    *  Last merge harness
+    ***********************************************************************/
+
+    /**
+     * Sorts a[lo .. hi] the way a mergesort ends: the halves are sorted
+     * by the leaf sort in <tt>aux</tt>, and then merged into <tt>a</tt>,
+     * as in {@link MergeX}. The leaf sort gets <tt>a</tt> as its scratch array.
+     * @param sorter the leaf sort
+     * @param a the array
+     * @param aux the scratch array, at least <tt>hi+1</tt> long; aux[lo .. hi]
+     * is overwritten
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     */
+    public static void lastMerge(LeafSorter sorter, Comparable[] a, Comparable[] aux, int lo, int hi) {
+        System.arraycopy(a, lo, aux, lo, hi-lo+1);
+        Counters.arraycopy(hi-lo+1);
+        int mid = lo + (hi - lo) / 2;
+        sorter.sort(aux, a, lo, mid);
+        sorter.sort(aux, a, mid+1, hi);
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(aux[j], aux[i])) a[k++] = aux[j++];   // to ensure stability
+            else                      a[k++] = aux[i++];
+        }
+        System.arraycopy(aux, i, a, k, mid - i + 1);
+        System.arraycopy(aux, j, a, k, hi - j + 1);
+        Counters.move(k - lo);
+        Counters.arraycopy(mid - i + 1);
+        Counters.arraycopy(hi - j + 1);
+        assert isSorted(a, lo, hi);
+    }
+
+    /**
+     * Sorts a[lo .. hi] the way a mergesort ends, with <tt>int</tt> leaves
+     * sorted by a {@link VectorLeafSort}.
+     * @param sorter the leaf sort
+     * @param a the array
+     * @param aux the scratch array, at least <tt>hi+1</tt> long; aux[lo .. hi]
+     * is overwritten
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     */
+    public static void lastMerge(VectorLeafSort sorter, int[] a, int[] aux, int lo, int hi) {
+        System.arraycopy(a, lo, aux, lo, hi-lo+1);
+        int mid = lo + (hi - lo) / 2;
+        sorter.sort(aux, lo, mid);
+        sorter.sort(aux, mid+1, hi);
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (aux[j] < aux[i]) a[k++] = aux[j++];
+            else                 a[k++] = aux[i++];
+        }
+        System.arraycopy(aux, i, a, k, mid - i + 1);
+        System.arraycopy(aux, j, a, k, hi - j + 1);
+    }
+
+   /***********************************************************************
+    *  Leaf sorts without an engine of their own
+    ***********************************************************************/
+
+    // insertion sort with exchanges
+    private static void insertionSort(Comparable[] a, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && less(a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+        assert isSorted(a, lo, hi);
+    }
+
+    // insertion sort that finds the place first, then shifts with System.arraycopy()
+    private static void insertionSortArrayCopy(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            Comparable v = a[i];
+            int j;
+            for (j = i - 1; j >= lo && less(v, a[j]); j--);
+            j++;
+            if (j < i) {
+                System.arraycopy(a, j, a, j + 1, i - j);
+                a[j] = v;
+                Counters.arraycopy(i - j);
+                Counters.move(1);
+            }
+        }
+        assert isSorted(a, lo, hi);
+    }
+
+    // binary insertion sort that searches for every element, even one in place
+    private static void binaryInsertionSort(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            Comparable v = a[i];
+            int l = lo, h = i - 1;
+            while (l <= h) {
+                int mid = l + (h - l) / 2;
+                if (less(v, a[mid])) h = mid - 1;
+                else l = mid + 1;
+            }
+            System.arraycopy(a, l, a, l + 1, i - l);
+            a[l] = v;
+            Counters.arraycopy(i - l);
+            Counters.move(1);
+        }
+        assert isSorted(a, lo, hi);
+    }
+
+    // binary insertion sort that skips elements in place and stops the
+    // search as soon as v falls between a[mid] and a[mid+1]
+    private static void binaryInsertionSortDoubleCompare(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            Comparable v = a[i];
+            if (less(v, a[i-1])) {
+                int l = lo, h = i - 2;
+                while (l <= h) {
+                    int mid = l + (h - l) / 2;
+                    if (less(v, a[mid])) h = mid - 1;
+                    else {
+                        l = mid + 1;
+                        if (less(v, a[l])) break;
+                    }
+                }
+                System.arraycopy(a, l, a, l + 1, i - l);
+                a[l] = v;
+                Counters.arraycopy(i - l);
+                Counters.move(1);
+            }
+        }
+        assert isSorted(a, lo, hi);
+    }
+
+   /***********************************************************************
+    *  Helper sorting functions
+    ***********************************************************************/
+
+    // is v < w ?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparable v, Comparable w) {
+        Counters.compare();
+        return v.compareTo(w) < 0;
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Comparable[] a, int i, int j) {
+        Comparable swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+        Counters.move(2);
+    }
+
+    // is the array sorted from a[lo] to a[hi]?
+    private static boolean isSorted(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>MSD</tt> class provides static methods for sorting an
+ *  array of strings using MSD radix sort with a cutoff to insertion sort.
+ *  <p>
+ *  Strings made of chars below 256 are sorted one char per level. Otherwise
+ *  each char is taken as two bytes, high byte first, so that the count
+ *  arrays stay small. A level at which all strings of a subarray have the
+ *  same digit, such as a common prefix, is skipped without moving them.
+ *  The sort is stable.
+ *  <p>
+ *  For additional documentation, see <a href="http://algs4.cs.princeton.edu/51radix">Section 5.1</a> of
+ *  <i>Algorithms, 4th Edition</i> by Robert Sedgewick and Kevin Wayne.
+ *
+ *  @author Dmitry Leskov
+ */
+public class MSD {
+    private static final int BITS_PER_BYTE = 8;
+    private static final int R = 1 << BITS_PER_BYTE;  // radix
+    private static final int CUTOFF = 15;             // cutoff to insertion sort
+
+    // This class should not be instantiated.
+    private MSD() { }
+
+    /**
+     * Rearranges the array of strings in ascending order.
+     * @param a the array to be sorted
+     */
+    public static void sort(String[] a) {
+        int n = a.length;
+        String[] aux = new String[n];
+        sort(a, 0, n-1, 0, aux, isWide(a));
+        assert isSorted(a);
+    }
+
+    // does any string have a char that does not fit in a byte?
+    private static boolean isWide(String[] a) {
+        for (String s : a)
+            for (int i = 0; i < s.length(); i++)
+                if (s.charAt(i) >= R) return true;
+        return false;
+    }
+
+    // d-th digit of s, -1 if s has no more chars: a char, or a byte of a char if wide
+    private static int digitAt(String s, int d, boolean wide) {
+        if (!wide) return d < s.length() ? s.charAt(d) : -1;
+        int i = d >> 1;
+        if (i >= s.length()) return -1;
+        int c = s.charAt(i);
+        return (d & 1) == 0 ? c >>> BITS_PER_BYTE : c & (R - 1);
+    }
+
+    // sort from a[lo] to a[hi], starting at the d-th digit
+    private static void sort(String[] a, int lo, int hi, int d, String[] aux, boolean wide) {
+        int[] count = new int[R+2];
+        while (true) {
+            // cutoff to insertion sort for small subarrays
+            if (hi <= lo + CUTOFF) {
+                insertion(a, lo, hi, wide ? d >> 1 : d);
+                return;
+            }
+
+            // compute frequency counts
+            for (int i = lo; i <= hi; i++)
+                count[digitAt(a[i], d, wide) + 2]++;
+
+            // all strings have the same digit: go to the next one without moving them
+            int single = singleBucket(count, hi - lo + 1);
+            if (single >= 0) {
+                if (single == 1) return;   // all strings end here and are equal
+                count[single] = 0;
+                d++;
+                continue;
+            }
+            break;
+        }
+
+        // transform counts to indicies
+        for (int r = 0; r < R+1; r++)
+            count[r+1] += count[r];
+
+        // distribute
+        for (int i = lo; i <= hi; i++)
+            aux[count[digitAt(a[i], d, wide) + 1]++] = a[i];
+
+        // copy back
+        System.arraycopy(aux, 0, a, lo, hi - lo + 1);
+
+        // recursively sort for each digit (excludes the strings that ended)
+        for (int r = 0; r < R; r++)
+            if (count[r+1] - count[r] > 1)
+                sort(a, lo + count[r], lo + count[r+1] - 1, d+1, aux, wide);
+    }
+
+    // index of the only non-zero count if all n strings fall into one bucket, -1 otherwise
+    private static int singleBucket(int[] count, int n) {
+        for (int r = 1; r < R+2; r++)
+            if (count[r] != 0) return count[r] == n ? r : -1;
+        return -1;
+    }
+
+    // insertion sort a[lo..hi], starting at the d-th char
+    private static void insertion(String[] a, int lo, int hi, int d) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && less(a[j], a[j-1], d); j--)
+                exch(a, j, j-1);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(String[] a, int i, int j) {
+        String temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    // is v less than w, starting at the d-th char?
+    private static boolean less(String v, String w, int d) {
+        int n = Math.min(v.length(), w.length());
+        for (int i = d; i < n; i++) {
+            char c = v.charAt(i), e = w.charAt(i);
+            if (c != e) return c < e;
+        }
+        return v.length() < w.length();
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(String[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (a[i].compareTo(a[i-1]) < 0) return false;
+        return true;
+    }
+}
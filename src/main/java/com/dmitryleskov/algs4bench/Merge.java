@@ -22,6 +22,8 @@ package com.dmitryleskov.algs4bench;
  *  
  *************************************************************************/
 
+import java.util.Comparator;
+
 /**
  *  The <tt>Merge</tt> class provides static methods for sorting an
  *  array using mergesort.
@@ -50,20 +52,22 @@ public class Merge {
         }
 
         // merge back to a[]
-        int i = lo, j = mid+1;
-        for (int k = lo; k <= hi; k++) {
-            if      (i > mid)              a[k] = aux[j++];   // this copying is unnecessary
-            else if (j > hi)               a[k] = aux[i++];
-            else if (less(aux[j], aux[i])) a[k] = aux[j++];
-            else                           a[k] = aux[i++];
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(aux[j], aux[i])) a[k++] = aux[j++];
+            else                      a[k++] = aux[i++];
         }
+        // the rest of the right half is already in place
+        System.arraycopy(aux, i, a, k, mid - i + 1);
+        Counters.move((hi - lo + 1) + (k - lo));
+        Counters.arraycopy(mid - i + 1);
 
         // postcondition: a[lo .. hi] is sorted
         assert isSorted(a, lo, hi);
     }
 
     // mergesort a[lo..hi] using auxiliary array aux[lo..hi]
-    private static void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+    static void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
         if (hi <= lo) return;
         int mid = lo + (hi - lo) / 2;
         sort(a, aux, lo, mid);
@@ -81,6 +85,20 @@ public class Merge {
         assert isSorted(a);
     }
 
+    /**
+     * Rearranges the array in ascending order, using the natural order
+     * and a caller-supplied scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(Comparable[] a, Comparable[] aux) {
+        checkAux(a.length, aux.length);
+        sort(a, aux, 0, a.length-1);
+        assert isSorted(a);
+    }
+
 
    /***********************************************************************
     *  Helper sorting functions
@@ -88,6 +106,7 @@ public class Merge {
     
     // is v < w ?
     private static boolean less(Comparable v, Comparable w) {
+        Counters.compare();
         return (v.compareTo(w) < 0);
     }
         
@@ -99,6 +118,12 @@ public class Merge {
     }
 
 
+    // the caller-supplied scratch array must be able to hold the whole array
+    private static void checkAux(int len, int auxLen) {
+        if (auxLen < len)
+            throw new IllegalArgumentException("aux.length(" + auxLen + ") < a.length(" + len + ")");
+    }
+
    /***********************************************************************
     *  Check if array is sorted - useful for debugging
     ***********************************************************************/
@@ -125,13 +150,13 @@ public class Merge {
         }
 
         // merge back to a[]
-        int i = lo, j = mid+1;
-        for (int k = lo; k <= hi; k++) {
-            if      (i > mid)                    index[k] = aux[j++];
-            else if (j > hi)                     index[k] = aux[i++];
-            else if (less(a[aux[j]], a[aux[i]])) index[k] = aux[j++];
-            else                                 index[k] = aux[i++];
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(a[aux[j]], a[aux[i]])) index[k++] = aux[j++];
+            else                            index[k++] = aux[i++];
         }
+        // the rest of the right half is already in place
+        System.arraycopy(aux, i, index, k, mid - i + 1);
     }
 
     /**
@@ -160,6 +185,285 @@ public class Merge {
         merge(a, index, aux, lo, mid, hi);
     }
 
+
+
+   /***********************************************************************
+    *  Comparator version
+    ***********************************************************************/
+    // stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[lo .. hi]
+    private static void merge(Object[] a, Object[] aux, Comparator c, int lo, int mid, int hi) {
+
+        // precondition: a[lo .. mid] and a[mid+1 .. hi] are sorted subarrays
+        assert isSorted(a, c, lo, mid);
+        assert isSorted(a, c, mid+1, hi);
+
+        // copy to aux[]
+        for (int k = lo; k <= hi; k++) {
+            aux[k] = a[k];
+        }
+
+        // merge back to a[]
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(c, aux[j], aux[i])) a[k++] = aux[j++];
+            else                         a[k++] = aux[i++];
+        }
+        // the rest of the right half is already in place
+        System.arraycopy(aux, i, a, k, mid - i + 1);
+
+        // postcondition: a[lo .. hi] is sorted
+        assert isSorted(a, c, lo, hi);
+    }
+
+    // mergesort a[lo..hi] using auxiliary array aux[lo..hi]
+    private static void sort(Object[] a, Object[] aux, Comparator c, int lo, int hi) {
+        if (hi <= lo) return;
+        int mid = lo + (hi - lo) / 2;
+        sort(a, aux, c, lo, mid);
+        sort(a, aux, c, mid + 1, hi);
+        merge(a, aux, c, lo, mid, hi);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using a comparator.
+     * @param a the array to be sorted
+     * @param c the comparator specifying the order
+     */
+    public static void sort(Object[] a, Comparator c) {
+        Object[] aux = new Object[a.length];
+        sort(a, aux, c, 0, a.length-1);
+        assert isSorted(a, c, 0, a.length-1);
+    }
+
+    // is v < w ?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparator c, Object v, Object w) {
+        return (c.compare(v, w) < 0);
+    }
+
+    private static boolean isSorted(Object[] a, Comparator c, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(c, a[i], a[i-1])) return false;
+        return true;
+    }
+
+   /***********************************************************************
+    *  int[] version
+    ***********************************************************************/
+    // stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[lo .. hi]
+    private static void merge(int[] a, int[] aux, int lo, int mid, int hi) {
+
+        // precondition: a[lo .. mid] and a[mid+1 .. hi] are sorted subarrays
+        assert isSorted(a, lo, mid);
+        assert isSorted(a, mid+1, hi);
+
+        // copy to aux[]
+        for (int k = lo; k <= hi; k++) {
+            aux[k] = a[k];
+        }
+
+        // merge back to a[]
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (aux[j] < aux[i]) a[k++] = aux[j++];
+            else                 a[k++] = aux[i++];
+        }
+        // the rest of the right half is already in place
+        System.arraycopy(aux, i, a, k, mid - i + 1);
+
+        // postcondition: a[lo .. hi] is sorted
+        assert isSorted(a, lo, hi);
+    }
+
+    // mergesort a[lo..hi] using auxiliary array aux[lo..hi]
+    private static void sort(int[] a, int[] aux, int lo, int hi) {
+        if (hi <= lo) return;
+        int mid = lo + (hi - lo) / 2;
+        sort(a, aux, lo, mid);
+        sort(a, aux, mid + 1, hi);
+        merge(a, aux, lo, mid, hi);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(int[] a) {
+        int[] aux = new int[a.length];
+        sort(a, aux, 0, a.length-1);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(int[] a, int[] aux) {
+        checkAux(a.length, aux.length);
+        sort(a, aux, 0, a.length-1);
+        assert isSorted(a);
+    }
+
+    private static boolean isSorted(int[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+
+   /***********************************************************************
+    *  long[] version
+    ***********************************************************************/
+    // stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[lo .. hi]
+    private static void merge(long[] a, long[] aux, int lo, int mid, int hi) {
+
+        // precondition: a[lo .. mid] and a[mid+1 .. hi] are sorted subarrays
+        assert isSorted(a, lo, mid);
+        assert isSorted(a, mid+1, hi);
+
+        // copy to aux[]
+        for (int k = lo; k <= hi; k++) {
+            aux[k] = a[k];
+        }
+
+        // merge back to a[]
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (aux[j] < aux[i]) a[k++] = aux[j++];
+            else                 a[k++] = aux[i++];
+        }
+        // the rest of the right half is already in place
+        System.arraycopy(aux, i, a, k, mid - i + 1);
+
+        // postcondition: a[lo .. hi] is sorted
+        assert isSorted(a, lo, hi);
+    }
+
+    // mergesort a[lo..hi] using auxiliary array aux[lo..hi]
+    private static void sort(long[] a, long[] aux, int lo, int hi) {
+        if (hi <= lo) return;
+        int mid = lo + (hi - lo) / 2;
+        sort(a, aux, lo, mid);
+        sort(a, aux, mid + 1, hi);
+        merge(a, aux, lo, mid, hi);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(long[] a) {
+        long[] aux = new long[a.length];
+        sort(a, aux, 0, a.length-1);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(long[] a, long[] aux) {
+        checkAux(a.length, aux.length);
+        sort(a, aux, 0, a.length-1);
+        assert isSorted(a);
+    }
+
+    private static boolean isSorted(long[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+
+   /***********************************************************************
+    *  double[] version
+    ***********************************************************************/
+    // stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[lo .. hi]
+    private static void merge(double[] a, double[] aux, int lo, int mid, int hi) {
+
+        // precondition: a[lo .. mid] and a[mid+1 .. hi] are sorted subarrays
+        assert isSorted(a, lo, mid);
+        assert isSorted(a, mid+1, hi);
+
+        // copy to aux[]
+        for (int k = lo; k <= hi; k++) {
+            aux[k] = a[k];
+        }
+
+        // merge back to a[]
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (aux[j] < aux[i]) a[k++] = aux[j++];
+            else                 a[k++] = aux[i++];
+        }
+        // the rest of the right half is already in place
+        System.arraycopy(aux, i, a, k, mid - i + 1);
+
+        // postcondition: a[lo .. hi] is sorted
+        assert isSorted(a, lo, hi);
+    }
+
+    // mergesort a[lo..hi] using auxiliary array aux[lo..hi]
+    private static void sort(double[] a, double[] aux, int lo, int hi) {
+        if (hi <= lo) return;
+        int mid = lo + (hi - lo) / 2;
+        sort(a, aux, lo, mid);
+        sort(a, aux, mid + 1, hi);
+        merge(a, aux, lo, mid, hi);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * <tt>-0.0</tt> and <tt>0.0</tt> are treated as equal, and arrays containing
+     * <tt>NaN</tt> are not sorted in any specified order.
+     * @param a the array to be sorted
+     */
+    public static void sort(double[] a) {
+        double[] aux = new double[a.length];
+        sort(a, aux, 0, a.length-1);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(double[] a, double[] aux) {
+        checkAux(a.length, aux.length);
+        sort(a, aux, 0, a.length-1);
+        assert isSorted(a);
+    }
+
+    private static boolean isSorted(double[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
 //    // print array to standard output
 //    private static void show(Comparable[] a) {
 //        for (int i = 0; i < a.length; i++) {
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>MergeX4</tt> class provides static methods for sorting an array
+ *  using {@link MergeX} with 4-way instead of 2-way merges.
+ *  <p>
+ *  Each level of the recursion splits the subarray into quarters and
+ *  merges them in one pass, so a sort goes through memory half as many
+ *  times as MergeX, at the cost of an extra comparison per level. The
+ *  winners of the first and the second pair of runs are kept between
+ *  steps, so taking an element costs two comparisons: one to replay the
+ *  pair it came from and one between the two pair winners. Once a run is
+ *  exhausted, the other three are merged 3-way and then 2-way, and the
+ *  last run is moved with a single <tt>System.arraycopy()</tt>. Quarters that are
+ *  already in order are copied instead of merged.
+ *  <p>
+ *  Ties go to the earlier run, so the sort of <tt>Comparable[]</tt> is
+ *  stable. Leaves are MergeX's, see {@link CutoffProfile}.
+ *
+ *  @author Dmitry Leskov
+ */
+public class MergeX4 {
+
+    // This class should not be instantiated.
+    private MergeX4() { }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     */
+    public static void sort(Comparable[] a) {
+        Comparable[] aux = a.clone();
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(aux, a, 0, a.length-1, p.mergeXLeafSize() - 1);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order
+     * and a caller-supplied scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(Comparable[] a, Comparable[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(aux, a, 0, a.length-1, p.mergeXLeafSize() - 1);
+        assert isSorted(a);
+    }
+
+    // sort dst[lo .. hi] using src[lo .. hi] as scratch space, see MergeX
+    private static void sort(Comparable[] src, Comparable[] dst, int lo, int hi, int cutoff) {
+        if (hi <= lo + Math.max(cutoff, 3)) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int n = hi - lo + 1;
+        int q1 = lo + n/4, q2 = lo + n/2, q3 = lo + n/2 + (n - n/2)/2;
+        sort(dst, src, lo, q1-1, cutoff);
+        sort(dst, src, q1, q2-1, cutoff);
+        sort(dst, src, q2, q3-1, cutoff);
+        sort(dst, src, q3, hi, cutoff);
+
+        if (!less(src[q1], src[q1-1]) && !less(src[q2], src[q2-1]) && !less(src[q3], src[q3-1])) {
+            System.arraycopy(src, lo, dst, lo, n);
+            return;
+        }
+
+        merge(src, dst, lo, q1, q2, q3, hi);
+    }
+
+    // merge the runs src[lo .. q1-1], src[q1 .. q2-1], src[q2 .. q3-1]
+    // and src[q3 .. hi] into dst[lo .. hi]
+    private static void merge(Comparable[] src, Comparable[] dst, int lo, int q1, int q2, int q3, int hi) {
+        int i = lo, j = q1, k = q2, l = q3, d = lo;
+        int end = hi + 1;
+        // ab: the head of the first run wins the first pair, cd: likewise
+        boolean ab = !less(src[j], src[i]);
+        boolean cd = !less(src[l], src[k]);
+        while (true) {
+            Comparable x = ab ? src[i] : src[j];
+            Comparable y = cd ? src[k] : src[l];
+            if (!less(y, x)) {
+                dst[d++] = x;
+                if (ab) { if (++i == q1) break; }
+                else    { if (++j == q2) break; }
+                ab = !less(src[j], src[i]);
+            } else {
+                dst[d++] = y;
+                if (cd) { if (++k == q3) break; }
+                else    { if (++l == end) break; }
+                cd = !less(src[l], src[k]);
+            }
+        }
+        // one run is exhausted, merge the other three in order
+        if      (i == q1) merge3(src, dst, d, j, q2, k, q3, l, end);
+        else if (j == q2) merge3(src, dst, d, i, q1, k, q3, l, end);
+        else if (k == q3) merge3(src, dst, d, i, q1, j, q2, l, end);
+        else              merge3(src, dst, d, i, q1, j, q2, k, q3);
+        assert isSorted(dst, lo, hi);
+    }
+
+    // merge the runs src[i .. ie-1], src[j .. je-1] and src[k .. ke-1], some
+    // of them possibly empty, into dst[d ..], ties to the earlier run
+    private static void merge3(Comparable[] src, Comparable[] dst, int d,
+                               int i, int ie, int j, int je, int k, int ke) {
+        while (i < ie && j < je && k < ke) {
+            if (less(src[j], src[i])) {
+                if (less(src[k], src[j])) dst[d++] = src[k++];
+                else dst[d++] = src[j++];
+            } else {
+                if (less(src[k], src[i])) dst[d++] = src[k++];
+                else dst[d++] = src[i++];
+            }
+        }
+        if      (i == ie) merge2(src, dst, d, j, je, k, ke);
+        else if (j == je) merge2(src, dst, d, i, ie, k, ke);
+        else              merge2(src, dst, d, i, ie, j, je);
+    }
+
+    // merge the runs src[i .. ie-1] and src[j .. je-1] into dst[d ..],
+    // ties to the earlier run
+    private static void merge2(Comparable[] src, Comparable[] dst, int d, int i, int ie, int j, int je) {
+        while (i < ie && j < je) {
+            if (less(src[j], src[i])) dst[d++] = src[j++];
+            else dst[d++] = src[i++];
+        }
+        System.arraycopy(src, i, dst, d, ie - i);
+        System.arraycopy(src, j, dst, d + ie - i, je - j);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort
+    private static void insertionSort(Comparable[] a, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && less(a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+    }
+
+   /***********************************************************************
+    *  int[] version: same structure, insertion leaves as in MergeX
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(int[] a) {
+        int[] aux = a.clone();
+        CutoffProfile p = CutoffProfile.of(int.class);
+        sort(aux, a, 0, a.length-1, p.mergeXLeafSize() - 1);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(int[] a, int[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        CutoffProfile p = CutoffProfile.of(int.class);
+        sort(aux, a, 0, a.length-1, p.mergeXLeafSize() - 1);
+        assert isSorted(a);
+    }
+
+    private static void sort(int[] src, int[] dst, int lo, int hi, int cutoff) {
+        if (hi <= lo + Math.max(cutoff, 3)) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int n = hi - lo + 1;
+        int q1 = lo + n/4, q2 = lo + n/2, q3 = lo + n/2 + (n - n/2)/2;
+        sort(dst, src, lo, q1-1, cutoff);
+        sort(dst, src, q1, q2-1, cutoff);
+        sort(dst, src, q2, q3-1, cutoff);
+        sort(dst, src, q3, hi, cutoff);
+
+        if (!(src[q1] < src[q1-1]) && !(src[q2] < src[q2-1]) && !(src[q3] < src[q3-1])) {
+            System.arraycopy(src, lo, dst, lo, n);
+            return;
+        }
+
+        merge(src, dst, lo, q1, q2, q3, hi);
+    }
+
+    private static void merge(int[] src, int[] dst, int lo, int q1, int q2, int q3, int hi) {
+        int i = lo, j = q1, k = q2, l = q3, d = lo;
+        int end = hi + 1;
+        boolean ab = !(src[j] < src[i]);
+        boolean cd = !(src[l] < src[k]);
+        while (true) {
+            int x = ab ? src[i] : src[j];
+            int y = cd ? src[k] : src[l];
+            if (!(y < x)) {
+                dst[d++] = x;
+                if (ab) { if (++i == q1) break; }
+                else    { if (++j == q2) break; }
+                ab = !(src[j] < src[i]);
+            } else {
+                dst[d++] = y;
+                if (cd) { if (++k == q3) break; }
+                else    { if (++l == end) break; }
+                cd = !(src[l] < src[k]);
+            }
+        }
+        // one run is exhausted, merge the other three in order
+        if      (i == q1) merge3(src, dst, d, j, q2, k, q3, l, end);
+        else if (j == q2) merge3(src, dst, d, i, q1, k, q3, l, end);
+        else if (k == q3) merge3(src, dst, d, i, q1, j, q2, l, end);
+        else              merge3(src, dst, d, i, q1, j, q2, k, q3);
+        assert isSorted(dst, lo, hi);
+    }
+
+    private static void merge3(int[] src, int[] dst, int d,
+                               int i, int ie, int j, int je, int k, int ke) {
+        while (i < ie && j < je && k < ke) {
+            if (src[j] < src[i]) {
+                if (src[k] < src[j]) dst[d++] = src[k++];
+                else dst[d++] = src[j++];
+            } else {
+                if (src[k] < src[i]) dst[d++] = src[k++];
+                else dst[d++] = src[i++];
+            }
+        }
+        if      (i == ie) merge2(src, dst, d, j, je, k, ke);
+        else if (j == je) merge2(src, dst, d, i, ie, k, ke);
+        else              merge2(src, dst, d, i, ie, j, je);
+    }
+
+    private static void merge2(int[] src, int[] dst, int d, int i, int ie, int j, int je) {
+        while (i < ie && j < je) {
+            if (src[j] < src[i]) dst[d++] = src[j++];
+            else dst[d++] = src[i++];
+        }
+        System.arraycopy(src, i, dst, d, ie - i);
+        System.arraycopy(src, j, dst, d + ie - i, je - j);
+    }
+
+
+    private static void insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = a[i];
+            int j = i;
+            for (; j > lo && v < a[j-1]; j--)
+                a[j] = a[j-1];
+            a[j] = v;
+        }
+    }
+
+   /***********************************************************************
+    *  Helper sorting functions
+    ***********************************************************************/
+
+    private static void checkAux(int len, int auxLen) {
+        if (auxLen < len)
+            throw new IllegalArgumentException("aux.length(" + auxLen + ") < a.length(" + len + ")");
+    }
+
+    // is v < w ?
+    private static boolean less(Comparable v, Comparable w) {
+        return v.compareTo(w) < 0;
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Comparable[] a, int i, int j) {
+        Comparable swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(Comparable[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+
+    private static boolean isSorted(int[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>MergeXBU</tt> class provides static methods for sorting an
+ *  array using a non-recursive, cache-tiled version of {@link MergeX}.
+ *  <p>
+ *  The array is processed in tiles. Each tile is cut into chunks of
+ *  <tt>CUTOFF+1</tt> elements that are insertion sorted, and the chunks
+ *  are then merged bottom-up while the tile is still in cache. Only after
+ *  all tiles are sorted do the merge passes sweep the whole array.
+ *  Merges ping-pong between the array and the scratch array, and
+ *  merges of runs that are already in order are replaced by
+ *  <tt>System.arraycopy()</tt>, as in MergeX.
+ *  <p>
+ *  The tile size is rounded up to <tt>CUTOFF+1</tt> times a power of two,
+ *  so that tile boundaries are also run boundaries of the global passes.
+ *  The sort is stable.
+ *
+ *  @author Dmitry Leskov
+ */
+public class MergeXBU {
+    private static final int CUTOFF = 7;  // cutoff to insertion sort
+
+    /**
+     * Default tile size in elements. Two tiles of references (the array and
+     * the scratch array) take 32K with compressed oops and fit in L2.
+     */
+    public static final int DEFAULT_TILE = 4096;
+
+    // This class should not be instantiated.
+    private MergeXBU() { }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     */
+    public static void sort(Comparable[] a) {
+        sort(a, new Comparable[a.length], DEFAULT_TILE);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @param tileSize number of elements sorted completely before the
+     * merge passes over the whole array start
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     * or <tt>tileSize</tt> is not positive
+     */
+    public static void sort(Comparable[] a, Comparable[] aux, int tileSize) {
+        int n = a.length;
+        int passes = tilePasses(n, aux.length, tileSize);
+        int tile = (CUTOFF + 1) << passes;
+
+        // sort each tile, leaving it in a[] after an even number of passes, in aux[] otherwise;
+        // here and below, indices are computed so that they do not overflow for n > 2^30
+        for (int lo = 0, end; lo < n; lo = end) {
+            end = lo + Math.min(tile, n - lo);
+            for (int l = lo; l < end; l += Math.min(CUTOFF + 1, end - l))
+                insertionSort(a, l, l + Math.min(CUTOFF, end - 1 - l));
+            Comparable[] src = a, dst = aux;
+            for (int w = CUTOFF + 1; w < tile; w += w) {
+                mergePass(src, dst, lo, end, w);
+                Comparable[] swap = src; src = dst; dst = swap;
+            }
+        }
+
+        // merge the tiles
+        Comparable[] src = (passes % 2 == 0) ? a : aux;
+        Comparable[] dst = (passes % 2 == 0) ? aux : a;
+        for (int w = tile; w < n; w += w) {
+            mergePass(src, dst, 0, n, w);
+            Comparable[] swap = src; src = dst; dst = swap;
+            if (w >= n - w) break;
+        }
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+        assert isSorted(a);
+    }
+
+    // merge adjacent runs of w elements from src[lo .. end-1] into dst[lo .. end-1]
+    private static void mergePass(Comparable[] src, Comparable[] dst, int lo, int end, int w) {
+        for (int l = lo, hi; l < end; l = hi + 1) {
+            int mid = l + Math.min(w, end - l) - 1;
+            hi = mid + Math.min(w, end - 1 - mid);
+            if (mid >= hi || !less(src[mid+1], src[mid]))
+                System.arraycopy(src, l, dst, l, hi - l + 1);
+            else
+                merge(src, dst, l, mid, hi);
+        }
+    }
+
+    private static void merge(Comparable[] src, Comparable[] dst, int lo, int mid, int hi) {
+
+        // precondition: src[lo .. mid] and src[mid+1 .. hi] are sorted subarrays
+        assert isSorted(src, lo, mid);
+        assert isSorted(src, mid+1, hi);
+
+        int i = lo, j = mid+1;
+        for (int k = lo; k <= hi; k++) {
+            if      (i > mid)              dst[k] = src[j++];
+            else if (j > hi)               dst[k] = src[i++];
+            else if (less(src[j], src[i])) dst[k] = src[j++];   // to ensure stability
+            else                           dst[k] = src[i++];
+        }
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, lo, hi);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort
+    private static void insertionSort(Comparable[] a, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && less(a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Comparable[] a, int i, int j) {
+        Comparable swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    // is a[i] < a[j]?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparable a, Comparable b) {
+        return (a.compareTo(b) < 0);
+    }
+
+    // Number of merge passes done within a tile: tileSize rounded up to
+    // (CUTOFF+1) * 2^passes, but no bigger than needed for the whole array,
+    // and at most 2^30 so that the tile size fits in an int.
+    private static int tilePasses(int len, int auxLen, int tileSize) {
+        if (auxLen < len)
+            throw new IllegalArgumentException("aux.length(" + auxLen + ") < a.length(" + len + ")");
+        if (tileSize <= 0)
+            throw new IllegalArgumentException("tileSize(" + tileSize + ") <= 0");
+        int limit = Math.min(tileSize, len);
+        int passes = 0;
+        while ((CUTOFF + 1) << passes < limit && (CUTOFF + 1) << passes < 1 << 30) passes++;
+        return passes;
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(Comparable[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+
+   /***********************************************************************
+    *  int[] version
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(int[] a) {
+        sort(a, new int[a.length], DEFAULT_TILE);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @param tileSize number of elements sorted completely before the
+     * merge passes over the whole array start
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     * or <tt>tileSize</tt> is not positive
+     */
+    public static void sort(int[] a, int[] aux, int tileSize) {
+        int n = a.length;
+        int passes = tilePasses(n, aux.length, tileSize);
+        int tile = (CUTOFF + 1) << passes;
+
+        for (int lo = 0, end; lo < n; lo = end) {
+            end = lo + Math.min(tile, n - lo);
+            for (int l = lo; l < end; l += Math.min(CUTOFF + 1, end - l))
+                insertionSort(a, l, l + Math.min(CUTOFF, end - 1 - l));
+            int[] src = a, dst = aux;
+            for (int w = CUTOFF + 1; w < tile; w += w) {
+                mergePass(src, dst, lo, end, w);
+                int[] swap = src; src = dst; dst = swap;
+            }
+        }
+
+        int[] src = (passes % 2 == 0) ? a : aux;
+        int[] dst = (passes % 2 == 0) ? aux : a;
+        for (int w = tile; w < n; w += w) {
+            mergePass(src, dst, 0, n, w);
+            int[] swap = src; src = dst; dst = swap;
+            if (w >= n - w) break;
+        }
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+        assert isSorted(a);
+    }
+
+    private static void mergePass(int[] src, int[] dst, int lo, int end, int w) {
+        for (int l = lo, hi; l < end; l = hi + 1) {
+            int mid = l + Math.min(w, end - l) - 1;
+            hi = mid + Math.min(w, end - 1 - mid);
+            if (mid >= hi || !(src[mid+1] < src[mid]))
+                System.arraycopy(src, l, dst, l, hi - l + 1);
+            else
+                merge(src, dst, l, mid, hi);
+        }
+    }
+
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid+1;
+        for (int k = lo; k <= hi; k++) {
+            if      (i > mid)         dst[k] = src[j++];
+            else if (j > hi)          dst[k] = src[i++];
+            else if (src[j] < src[i]) dst[k] = src[j++];   // to ensure stability
+            else                      dst[k] = src[i++];
+        }
+    }
+
+    private static void insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && a[j] < a[j-1]; j--) {
+                int swap = a[j];
+                a[j] = a[j-1];
+                a[j-1] = swap;
+            }
+    }
+
+    private static boolean isSorted(int[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+}
@@ -24,6 +24,8 @@ package com.dmitryleskov.algs4bench;
  *
  *************************************************************************/
 
+import java.util.Comparator;
+
 /**
  *  The <tt>MergeXBinary</tt> class provides static methods for sorting an
  *  array using an optimized version of mergesort.
@@ -36,7 +38,9 @@ package com.dmitryleskov.algs4bench;
  *  @author Dmitry Leskov
  */
 public class MergeXBinary {
-    private static final int CUTOFF = 15;  // cutoff to binary insertion sort
+    // The cutoff to binary insertion sort and the number of elements inserted
+    // by simple insertion before binary search pays off depend on the element
+    // class, see CutoffProfile; 15 and 15 (plain insertion sort) unless calibrated.
 
     // This class should not be instantiated.
     private MergeXBinary() { }
@@ -47,29 +51,31 @@ public class MergeXBinary {
         assert isSorted(src, lo, mid);
         assert isSorted(src, mid+1, hi);
 
-        int i = lo, j = mid+1;
-        for (int k = lo; k <= hi; k++) {
-            if      (i > mid)              dst[k] = src[j++];
-            else if (j > hi)               dst[k] = src[i++];
-            else if (less(src[j], src[i])) dst[k] = src[j++];   // to ensure stability
-            else                           dst[k] = src[i++];
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(src[j], src[i])) dst[k++] = src[j++];   // to ensure stability
+            else                      dst[k++] = src[i++];
         }
+        // one of the halves is exhausted, move the rest of the other
+        System.arraycopy(src, i, dst, k, mid - i + 1);
+        System.arraycopy(src, j, dst, k, hi - j + 1);
+        Counters.move(k - lo);
+        Counters.arraycopy(mid - i + 1);
+        Counters.arraycopy(hi - j + 1);
 
         // postcondition: dst[lo .. hi] is sorted subarray
         assert isSorted(dst, lo, hi);
     }
     
-    private static void sort(Comparable[] src, Comparable[] dst, int lo, int hi) {
+    private static void sort(Comparable[] src, Comparable[] dst, int lo, int hi, int cutoff, int simple) {
         // if (hi <= lo) return;
-        if (hi <= lo + CUTOFF) { 
-//            BinaryInsertionX.sort(dst, lo, hi);
-//            binaryInsertionSort(dst, lo, hi);
-            insertionSort(dst, lo, hi);
+        if (hi <= lo + cutoff) {
+            binaryInsertionSort(dst, lo, hi, simple);
             return;
         }
         int mid = lo + (hi - lo) / 2;
-        sort(dst, src, lo, mid);
-        sort(dst, src, mid+1, hi);
+        sort(dst, src, lo, mid, cutoff, simple);
+        sort(dst, src, mid+1, hi, cutoff, simple);
 
         // if (!less(src[mid+1], src[mid])) {
         //    for (int i = lo; i <= hi; i++) dst[i] = src[i];
@@ -79,6 +85,7 @@ public class MergeXBinary {
         // using System.arraycopy() is a bit faster than the above loop
         if (!less(src[mid+1], src[mid])) {
             System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            Counters.arraycopy(hi - lo + 1);
             return;
         }
 
@@ -91,47 +98,70 @@ public class MergeXBinary {
      */
     public static void sort(Comparable[] a) {
         Comparable[] aux = a.clone();
-        sort(aux, a, 0, a.length-1);  
+        Counters.arraycopy(a.length);
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(aux, a, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
         assert isSorted(a);
     }
 
-    // sort from a[lo] to a[hi] using insertion sort
-    private static void insertionSort(Comparable[] a, int lo, int hi) {
-        for (int i = lo; i <= hi; i++)
-            for (int j = i; j > lo && less(a[j], a[j-1]); j--)
-                exch(a, j, j-1);
+    /**
+     * Rearranges the array in ascending order, using the natural order
+     * and a caller-supplied scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(Comparable[] a, Comparable[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        Counters.arraycopy(a.length);
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(aux, a, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a);
     }
-    
-    public static void binaryInsertionSort(Comparable[] a, int lo, int hi) {
-        for (int i = lo + 1; i <= (hi < lo + 7 ? hi : lo + 7); i++) {
+
+    // sort a[] with the given cutoffs instead of the profile's, for
+    // CutoffCalibrator; aux[] must be at least as long as a[]
+    static void sortWithCutoffs(Comparable[] a, Comparable[] aux, int leafSize, int simple) {
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length-1, leafSize - 1, simple);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort for a[lo .. lo+simple]
+    // and binary insertion sort for the rest
+    static void binaryInsertionSort(Comparable[] a, int lo, int hi, int simple) {
+        int last = hi - lo < simple ? hi : lo + simple;
+        for (int i = lo + 1; i <= last; i++)
             for (int j = i; j > lo && less(a[j], a[j-1]); j--)
                 exch(a, j, j-1);
-        }
-        
-        for (int i = lo + 8; i <= hi; i++) {
-        
-//        for (int i = lo + 1; i <= hi; i++) {
-            if (less(a[i], a[i-1])) {
-//                int k = binarySearch(a, lo, i-1);
-                Comparable v = a[i];
-                int lolo = lo;
-                int hihi = i-1;
-                int k = lo;
-                while (lolo <= hihi) {
-                    int mid = lolo + (hihi - lolo) / 2;
-                    if (less(v, a[mid])) hihi = mid - 1;
-                    else if (less(v, a[mid+1])) { k = mid+1; break;}
-                    else lolo=mid+1;
+        for (int i = last + 1; i <= hi; i++) {
+            Comparable v = a[i];
+            if (less(v, a[i-1])) {
+                // a[i-1] > v, find the first of a[lo .. i-2] that is greater than v
+                int l = lo, h = i - 2;
+                while (l <= h) {
+                    int mid = l + (h - l) / 2;
+                    if (less(v, a[mid])) h = mid - 1;
+                    else l = mid + 1;
                 }
-                
-//                for (int j = i; j > k; j--) {
-//                    a[j] = a[j-1];
-//                }
-                System.arraycopy(a, k, a, k+1, i-k);
-                a[k] = v;
+                System.arraycopy(a, l, a, l+1, i-l);
+                a[l] = v;
+                Counters.arraycopy(i-l);
+                Counters.move(1);
             }
-            assert isSorted(a, lo, i);
         }
+    }
+
+    /**
+     * Rearranges the subarray a[lo .. hi] in ascending order, using insertion
+     * sort for the first eight elements and binary insertion sort for the rest.
+     * @param a the array
+     * @param lo the index of the first element to be sorted
+     * @param hi the index of the last element to be sorted
+     */
+    public static void binaryInsertionSort(Comparable[] a, int lo, int hi) {
+        binaryInsertionSort(a, lo, hi, 7);
         assert isSorted(a, lo, hi);
     }
 
@@ -152,15 +182,23 @@ public class MergeXBinary {
         Comparable swap = a[i];
         a[i] = a[j];
         a[j] = swap;
+        Counters.move(2);
     }
     
     // is a[i] < a[j]?
     // a and b are actually elements of the same array, so suppressing warnings is safe
 //    @SuppressWarnings("unchecked")
     private static boolean less(Comparable a, Comparable b) {
+        Counters.compare();
         return (a.compareTo(b) < 0);
     }
 
+    // the caller-supplied scratch array must be able to hold the whole array
+    private static void checkAux(int len, int auxLen) {
+        if (auxLen < len)
+            throw new IllegalArgumentException("aux.length(" + auxLen + ") < a.length(" + len + ")");
+    }
+
    /***********************************************************************
     *  Check if array is sorted - useful for debugging
     ***********************************************************************/
@@ -174,6 +212,593 @@ public class MergeXBinary {
         return true;
     }
 
+
+
+   /***********************************************************************
+    *  Comparator version
+    ***********************************************************************/
+    private static void merge(Object[] src, Object[] dst, Comparator c, int lo, int mid, int hi) {
+
+        // precondition: src[lo .. mid] and src[mid+1 .. hi] are sorted subarrays
+        assert isSorted(src, c, lo, mid);
+        assert isSorted(src, c, mid+1, hi);
+
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(c, src[j], src[i])) dst[k++] = src[j++];   // to ensure stability
+            else                         dst[k++] = src[i++];
+        }
+        // one of the halves is exhausted, move the rest of the other
+        System.arraycopy(src, i, dst, k, mid - i + 1);
+        System.arraycopy(src, j, dst, k, hi - j + 1);
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, c, lo, hi);
+    }
+
+    private static void sort(Object[] src, Object[] dst, Comparator c, int lo, int hi, int cutoff, int simple) {
+        if (hi <= lo + cutoff) {
+            binaryInsertionSort(dst, c, lo, hi, simple);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, src, c, lo, mid, cutoff, simple);
+        sort(dst, src, c, mid+1, hi, cutoff, simple);
+
+        if (!less(c, src[mid+1], src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, dst, c, lo, mid, hi);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using a comparator.
+     * @param a the array to be sorted
+     * @param c the comparator specifying the order
+     */
+    public static void sort(Object[] a, Comparator c) {
+        Object[] aux = a.clone();
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(aux, a, c, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a, c, 0, a.length-1);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort for a[lo .. lo+simple]
+    // and binary insertion sort for the rest
+    private static void binaryInsertionSort(Object[] a, Comparator c, int lo, int hi, int simple) {
+        int last = hi - lo < simple ? hi : lo + simple;
+        for (int i = lo + 1; i <= last; i++)
+            for (int j = i; j > lo && less(c, a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+        for (int i = last + 1; i <= hi; i++) {
+            Object v = a[i];
+            if (less(c, v, a[i-1])) {
+                // a[i-1] > v, find the first of a[lo .. i-2] that is greater than v
+                int l = lo, h = i - 2;
+                while (l <= h) {
+                    int mid = l + (h - l) / 2;
+                    if (less(c, v, a[mid])) h = mid - 1;
+                    else l = mid + 1;
+                }
+                System.arraycopy(a, l, a, l+1, i-l);
+                a[l] = v;
+            }
+        }
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Object[] a, int i, int j) {
+        Object swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    // is v < w ?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparator c, Object v, Object w) {
+        return (c.compare(v, w) < 0);
+    }
+
+    private static boolean isSorted(Object[] a, Comparator c, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(c, a[i], a[i-1])) return false;
+        return true;
+    }
+
+   /***********************************************************************
+    *  Index mergesort: sorts a permutation, the array is not changed
+    ***********************************************************************/
+    private static void merge(Comparable[] a, int[] src, int[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(a[src[j]], a[src[i]])) dst[k++] = src[j++];   // to ensure stability
+            else                            dst[k++] = src[i++];
+        }
+        // one of the halves is exhausted, move the rest of the other
+        System.arraycopy(src, i, dst, k, mid - i + 1);
+        System.arraycopy(src, j, dst, k, hi - j + 1);
+    }
+
+    private static void sort(Comparable[] a, int[] src, int[] dst, int lo, int hi, int cutoff, int simple) {
+        if (hi <= lo + cutoff) {
+            binaryInsertionSort(a, dst, lo, hi, simple);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(a, dst, src, lo, mid, cutoff, simple);
+        sort(a, dst, src, mid+1, hi, cutoff, simple);
+
+        if (!less(a[src[mid+1]], a[src[mid]])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(a, src, dst, lo, mid, hi);
+    }
+
+    /**
+     * Returns a permutation that gives the elements in the array in ascending order.
+     * The array is not changed, and elements that are equal keep their relative order.
+     * @param a the array
+     * @return a permutation <tt>p[]</tt> such that <tt>a[p[0]]</tt>, <tt>a[p[1]]</tt>,
+     *    ..., <tt>a[p[N-1]]</tt> are in ascending order
+     */
+    public static int[] indexSort(Comparable[] a) {
+        int[] index = identity(a.length);
+        int[] aux = index.clone();
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(a, aux, index, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a, index);
+        return index;
+    }
+
+    // sort index[lo .. hi] by the elements it refers to, using insertion sort
+    // for index[lo .. lo+simple] and binary insertion sort for the rest
+    private static void binaryInsertionSort(Comparable[] a, int[] index, int lo, int hi, int simple) {
+        int last = hi - lo < simple ? hi : lo + simple;
+        for (int i = lo + 1; i <= last; i++)
+            for (int j = i; j > lo && less(a[index[j]], a[index[j-1]]); j--)
+                exch(index, j, j-1);
+        for (int i = last + 1; i <= hi; i++) {
+            int v = index[i];
+            if (less(a[v], a[index[i-1]])) {
+                int l = lo, h = i - 2;
+                while (l <= h) {
+                    int mid = l + (h - l) / 2;
+                    if (less(a[v], a[index[mid]])) h = mid - 1;
+                    else l = mid + 1;
+                }
+                System.arraycopy(index, l, index, l+1, i-l);
+                index[l] = v;
+            }
+        }
+    }
+
+    private static void merge(Object[] a, Comparator c, int[] src, int[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(c, a[src[j]], a[src[i]])) dst[k++] = src[j++];   // to ensure stability
+            else                               dst[k++] = src[i++];
+        }
+        // one of the halves is exhausted, move the rest of the other
+        System.arraycopy(src, i, dst, k, mid - i + 1);
+        System.arraycopy(src, j, dst, k, hi - j + 1);
+    }
+
+    private static void sort(Object[] a, Comparator c, int[] src, int[] dst, int lo, int hi, int cutoff, int simple) {
+        if (hi <= lo + cutoff) {
+            binaryInsertionSort(a, c, dst, lo, hi, simple);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(a, c, dst, src, lo, mid, cutoff, simple);
+        sort(a, c, dst, src, mid+1, hi, cutoff, simple);
+
+        if (!less(c, a[src[mid+1]], a[src[mid]])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(a, c, src, dst, lo, mid, hi);
+    }
+
+    /**
+     * Returns a permutation that gives the elements in the array in the order
+     * specified by a comparator. The array is not changed, and elements that
+     * are equal keep their relative order.
+     * @param a the array
+     * @param c the comparator specifying the order
+     * @return a permutation <tt>p[]</tt> such that <tt>a[p[0]]</tt>, <tt>a[p[1]]</tt>,
+     *    ..., <tt>a[p[N-1]]</tt> are in the order specified by <tt>c</tt>
+     */
+    public static int[] indexSort(Object[] a, Comparator c) {
+        int[] index = identity(a.length);
+        int[] aux = index.clone();
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(a, c, aux, index, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a, c, index);
+        return index;
+    }
+
+    // sort index[lo .. hi] by the elements it refers to, using insertion sort
+    // for index[lo .. lo+simple] and binary insertion sort for the rest
+    private static void binaryInsertionSort(Object[] a, Comparator c, int[] index, int lo, int hi, int simple) {
+        int last = hi - lo < simple ? hi : lo + simple;
+        for (int i = lo + 1; i <= last; i++)
+            for (int j = i; j > lo && less(c, a[index[j]], a[index[j-1]]); j--)
+                exch(index, j, j-1);
+        for (int i = last + 1; i <= hi; i++) {
+            int v = index[i];
+            if (less(c, a[v], a[index[i-1]])) {
+                int l = lo, h = i - 2;
+                while (l <= h) {
+                    int mid = l + (h - l) / 2;
+                    if (less(c, a[v], a[index[mid]])) h = mid - 1;
+                    else l = mid + 1;
+                }
+                System.arraycopy(index, l, index, l+1, i-l);
+                index[l] = v;
+            }
+        }
+    }
+
+    // 0, 1, ..., n-1
+    private static int[] identity(int n) {
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++)
+            index[i] = i;
+        return index;
+    }
+
+    private static boolean isSorted(Comparable[] a, int[] index) {
+        for (int i = 1; i < index.length; i++)
+            if (less(a[index[i]], a[index[i-1]])) return false;
+        return true;
+    }
+
+    private static boolean isSorted(Object[] a, Comparator c, int[] index) {
+        for (int i = 1; i < index.length; i++)
+            if (less(c, a[index[i]], a[index[i-1]])) return false;
+        return true;
+    }
+
+   /***********************************************************************
+    *  int[] version: same cutoff and ping-pong structure, no boxing
+    ***********************************************************************/
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+
+        // precondition: src[lo .. mid] and src[mid+1 .. hi] are sorted subarrays
+        assert isSorted(src, lo, mid);
+        assert isSorted(src, mid+1, hi);
+
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (src[j] < src[i]) dst[k++] = src[j++];   // to ensure stability
+            else                 dst[k++] = src[i++];
+        }
+        // one of the halves is exhausted, move the rest of the other
+        System.arraycopy(src, i, dst, k, mid - i + 1);
+        System.arraycopy(src, j, dst, k, hi - j + 1);
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, lo, hi);
+    }
+
+    private static void sort(int[] src, int[] dst, int lo, int hi, int cutoff, int simple) {
+        if (hi <= lo + cutoff) {
+            binaryInsertionSort(dst, lo, hi, simple);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, src, lo, mid, cutoff, simple);
+        sort(dst, src, mid+1, hi, cutoff, simple);
+
+        if (!(src[mid+1] < src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, dst, lo, mid, hi);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(int[] a) {
+        int[] aux = a.clone();
+        CutoffProfile p = CutoffProfile.of(int.class);
+        sort(aux, a, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(int[] a, int[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        CutoffProfile p = CutoffProfile.of(int.class);
+        sort(aux, a, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a);
+    }
+
+    static void sortWithCutoffs(int[] a, int[] aux, int leafSize, int simple) {
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length-1, leafSize - 1, simple);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort for a[lo .. lo+simple]
+    // and binary insertion sort for the rest
+    private static void binaryInsertionSort(int[] a, int lo, int hi, int simple) {
+        int last = hi - lo < simple ? hi : lo + simple;
+        for (int i = lo + 1; i <= last; i++)
+            for (int j = i; j > lo && a[j] < a[j-1]; j--)
+                exch(a, j, j-1);
+        for (int i = last + 1; i <= hi; i++) {
+            int v = a[i];
+            if (v < a[i-1]) {
+                // a[i-1] > v, find the first of a[lo .. i-2] that is greater than v
+                int l = lo, h = i - 2;
+                while (l <= h) {
+                    int mid = l + (h - l) / 2;
+                    if (v < a[mid]) h = mid - 1;
+                    else l = mid + 1;
+                }
+                System.arraycopy(a, l, a, l+1, i-l);
+                a[l] = v;
+            }
+        }
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(int[] a, int i, int j) {
+        int swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    private static boolean isSorted(int[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+   /***********************************************************************
+    *  long[] version: same cutoff and ping-pong structure, no boxing
+    ***********************************************************************/
+    private static void merge(long[] src, long[] dst, int lo, int mid, int hi) {
+
+        // precondition: src[lo .. mid] and src[mid+1 .. hi] are sorted subarrays
+        assert isSorted(src, lo, mid);
+        assert isSorted(src, mid+1, hi);
+
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (src[j] < src[i]) dst[k++] = src[j++];   // to ensure stability
+            else                 dst[k++] = src[i++];
+        }
+        // one of the halves is exhausted, move the rest of the other
+        System.arraycopy(src, i, dst, k, mid - i + 1);
+        System.arraycopy(src, j, dst, k, hi - j + 1);
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, lo, hi);
+    }
+
+    private static void sort(long[] src, long[] dst, int lo, int hi, int cutoff, int simple) {
+        if (hi <= lo + cutoff) {
+            binaryInsertionSort(dst, lo, hi, simple);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, src, lo, mid, cutoff, simple);
+        sort(dst, src, mid+1, hi, cutoff, simple);
+
+        if (!(src[mid+1] < src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, dst, lo, mid, hi);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(long[] a) {
+        long[] aux = a.clone();
+        CutoffProfile p = CutoffProfile.of(long.class);
+        sort(aux, a, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(long[] a, long[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        CutoffProfile p = CutoffProfile.of(long.class);
+        sort(aux, a, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a);
+    }
+
+    static void sortWithCutoffs(long[] a, long[] aux, int leafSize, int simple) {
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length-1, leafSize - 1, simple);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort for a[lo .. lo+simple]
+    // and binary insertion sort for the rest
+    private static void binaryInsertionSort(long[] a, int lo, int hi, int simple) {
+        int last = hi - lo < simple ? hi : lo + simple;
+        for (int i = lo + 1; i <= last; i++)
+            for (int j = i; j > lo && a[j] < a[j-1]; j--)
+                exch(a, j, j-1);
+        for (int i = last + 1; i <= hi; i++) {
+            long v = a[i];
+            if (v < a[i-1]) {
+                // a[i-1] > v, find the first of a[lo .. i-2] that is greater than v
+                int l = lo, h = i - 2;
+                while (l <= h) {
+                    int mid = l + (h - l) / 2;
+                    if (v < a[mid]) h = mid - 1;
+                    else l = mid + 1;
+                }
+                System.arraycopy(a, l, a, l+1, i-l);
+                a[l] = v;
+            }
+        }
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(long[] a, int i, int j) {
+        long swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    private static boolean isSorted(long[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+   /***********************************************************************
+    *  double[] version: same cutoff and ping-pong structure, no boxing
+    ***********************************************************************/
+    private static void merge(double[] src, double[] dst, int lo, int mid, int hi) {
+
+        // precondition: src[lo .. mid] and src[mid+1 .. hi] are sorted subarrays
+        assert isSorted(src, lo, mid);
+        assert isSorted(src, mid+1, hi);
+
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (src[j] < src[i]) dst[k++] = src[j++];   // to ensure stability
+            else                 dst[k++] = src[i++];
+        }
+        // one of the halves is exhausted, move the rest of the other
+        System.arraycopy(src, i, dst, k, mid - i + 1);
+        System.arraycopy(src, j, dst, k, hi - j + 1);
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, lo, hi);
+    }
+
+    private static void sort(double[] src, double[] dst, int lo, int hi, int cutoff, int simple) {
+        if (hi <= lo + cutoff) {
+            binaryInsertionSort(dst, lo, hi, simple);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, src, lo, mid, cutoff, simple);
+        sort(dst, src, mid+1, hi, cutoff, simple);
+
+        if (!(src[mid+1] < src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, dst, lo, mid, hi);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * <tt>-0.0</tt> and <tt>0.0</tt> are treated as equal, and arrays containing
+     * <tt>NaN</tt> are not sorted in any specified order.
+     * @param a the array to be sorted
+     */
+    public static void sort(double[] a) {
+        double[] aux = a.clone();
+        CutoffProfile p = CutoffProfile.of(double.class);
+        sort(aux, a, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(double[] a, double[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        CutoffProfile p = CutoffProfile.of(double.class);
+        sort(aux, a, 0, a.length-1, p.binaryLeafSize() - 1, p.binarySimpleInsertion());
+        assert isSorted(a);
+    }
+
+    static void sortWithCutoffs(double[] a, double[] aux, int leafSize, int simple) {
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length-1, leafSize - 1, simple);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort for a[lo .. lo+simple]
+    // and binary insertion sort for the rest
+    private static void binaryInsertionSort(double[] a, int lo, int hi, int simple) {
+        int last = hi - lo < simple ? hi : lo + simple;
+        for (int i = lo + 1; i <= last; i++)
+            for (int j = i; j > lo && a[j] < a[j-1]; j--)
+                exch(a, j, j-1);
+        for (int i = last + 1; i <= hi; i++) {
+            double v = a[i];
+            if (v < a[i-1]) {
+                // a[i-1] > v, find the first of a[lo .. i-2] that is greater than v
+                int l = lo, h = i - 2;
+                while (l <= h) {
+                    int mid = l + (h - l) / 2;
+                    if (v < a[mid]) h = mid - 1;
+                    else l = mid + 1;
+                }
+                System.arraycopy(a, l, a, l+1, i-l);
+                a[l] = v;
+            }
+        }
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(double[] a, int i, int j) {
+        double swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    private static boolean isSorted(double[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
 //    // print array to standard output
 //    private static void show(Comparable[] a) {
 //        for (int i = 0; i < a.length; i++) {
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>MergeXBranchless</tt> class provides static methods for sorting
+ *  an array using {@link MergeX} with a branch-reduced merge.
+ *  <p>
+ *  The merge loop of MergeX tests four conditions per element, and the
+ *  comparison is unpredictable on random input. Here the loop runs only
+ *  while both runs are non-empty, and the comparison result is turned
+ *  into a 0 or 1 that selects the source index and advances it
+ *  arithmetically. The rest of the run left over is moved with a single
+ *  <tt>System.arraycopy()</tt>. The branch on the comparison is gone from
+ *  the <tt>int[]</tt> merge; for <tt>Comparable[]</tt> it remains inside
+ *  <tt>compareTo()</tt>, which the JIT may or may not compile to
+ *  conditional moves.
+ *  The sort is stable.
+ *
+ *  @author Dmitry Leskov
+ */
+public class MergeXBranchless {
+    // The cutoff to insertion sort is MergeX's, see CutoffProfile.
+
+    // This class should not be instantiated.
+    private MergeXBranchless() { }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     */
+    public static void sort(Comparable[] a) {
+        Comparable[] aux = a.clone();
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(aux, a, 0, a.length-1, p.mergeXLeafSize() - 1);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order
+     * and a caller-supplied scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(Comparable[] a, Comparable[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        CutoffProfile p = CutoffProfile.of(a);
+        sort(aux, a, 0, a.length-1, p.mergeXLeafSize() - 1);
+        assert isSorted(a);
+    }
+
+    // sort dst[lo .. hi] using src[lo .. hi] as scratch space, see MergeX
+    private static void sort(Comparable[] src, Comparable[] dst, int lo, int hi, int cutoff) {
+        if (hi <= lo + cutoff) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, src, lo, mid, cutoff);
+        sort(dst, src, mid+1, hi, cutoff);
+
+        if (!less(src[mid+1], src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, dst, lo, mid, hi);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void merge(Comparable[] src, Comparable[] dst, int lo, int mid, int hi) {
+
+        // precondition: src[lo .. mid] and src[mid+1 .. hi] are sorted subarrays
+        assert isSorted(src, lo, mid);
+        assert isSorted(src, mid+1, hi);
+
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            // t is 1 if src[j] < src[i], 0 otherwise (ties take the left one for stability)
+            int t = src[j].compareTo(src[i]) >>> 31;
+            dst[k++] = src[i + ((j - i) & -t)];
+            j += t;
+            i += 1 - t;
+        }
+        if (i <= mid) System.arraycopy(src, i, dst, k, mid - i + 1);
+        else          System.arraycopy(src, j, dst, k, hi - j + 1);
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, lo, hi);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort
+    private static void insertionSort(Comparable[] a, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && less(a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Comparable[] a, int i, int j) {
+        Comparable swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    // is a[i] < a[j]?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparable a, Comparable b) {
+        return (a.compareTo(b) < 0);
+    }
+
+    // the caller-supplied scratch array must be able to hold the whole array
+    private static void checkAux(int len, int auxLen) {
+        if (auxLen < len)
+            throw new IllegalArgumentException("aux.length(" + auxLen + ") < a.length(" + len + ")");
+    }
+
+   /***********************************************************************
+    *  int[] version
+    ***********************************************************************/
+
+    /**
+     * Rearranges the array in ascending numerical order.
+     * @param a the array to be sorted
+     */
+    public static void sort(int[] a) {
+        int[] aux = a.clone();
+        CutoffProfile p = CutoffProfile.of(int.class);
+        sort(aux, a, 0, a.length-1, p.mergeXLeafSize() - 1);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending numerical order, using a caller-supplied
+     * scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(int[] a, int[] aux) {
+        checkAux(a.length, aux.length);
+        System.arraycopy(a, 0, aux, 0, a.length);
+        CutoffProfile p = CutoffProfile.of(int.class);
+        sort(aux, a, 0, a.length-1, p.mergeXLeafSize() - 1);
+        assert isSorted(a);
+    }
+
+    private static void sort(int[] src, int[] dst, int lo, int hi, int cutoff) {
+        if (hi <= lo + cutoff) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, src, lo, mid, cutoff);
+        sort(dst, src, mid+1, hi, cutoff);
+
+        if (!(src[mid+1] < src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, dst, lo, mid, hi);
+    }
+
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+
+        // precondition: src[lo .. mid] and src[mid+1 .. hi] are sorted subarrays
+        assert isSorted(src, lo, mid);
+        assert isSorted(src, mid+1, hi);
+
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            int x = src[i], y = src[j];
+            // t is 1 if y < x, 0 otherwise: the sign of y - x, computed without overflow
+            int t = (int) (((long) y - x) >>> 63);
+            dst[k++] = x + ((y - x) & -t);
+            j += t;
+            i += 1 - t;
+        }
+        if (i <= mid) System.arraycopy(src, i, dst, k, mid - i + 1);
+        else          System.arraycopy(src, j, dst, k, hi - j + 1);
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, lo, hi);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort
+    private static void insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && a[j] < a[j-1]; j--)
+                exch(a, j, j-1);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(int[] a, int i, int j) {
+        int swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(Comparable[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+
+    private static boolean isSorted(int[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+}
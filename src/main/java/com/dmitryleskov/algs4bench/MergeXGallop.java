@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>MergeXGallop</tt> class provides static methods for sorting an
+ *  array using {@link MergeX} with a galloping merge.
+ *  <p>
+ *  The merge starts out taking one element per comparison. Once one side
+ *  has won <tt>minGallop</tt> times in a row, it switches to galloping:
+ *  the number of elements of one run that precede the head of the other
+ *  is found by exponential search and moved with a single
+ *  <tt>System.arraycopy()</tt>. The threshold adapts over the whole sort:
+ *  it decreases while galloping pays off and increases when it does not,
+ *  so random input stays close to the plain merge.
+ *  The sort is stable.
+ *
+ *  @author Dmitry Leskov
+ */
+public class MergeXGallop {
+    private static final int CUTOFF = 7;      // cutoff to insertion sort
+    private static final int MIN_GALLOP = 7;  // initial threshold to enter galloping mode
+
+    // This class should not be instantiated.
+    private MergeXGallop() { }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     */
+    public static void sort(Comparable[] a) {
+        Comparable[] aux = a.clone();
+        sort(aux, a, 0, a.length-1, MIN_GALLOP);
+        assert isSorted(a);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order
+     * and a caller-supplied scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(Comparable[] a, Comparable[] aux) {
+        if (aux.length < a.length)
+            throw new IllegalArgumentException("aux.length(" + aux.length + ") < a.length(" + a.length + ")");
+        System.arraycopy(a, 0, aux, 0, a.length);
+        sort(aux, a, 0, a.length-1, MIN_GALLOP);
+        assert isSorted(a);
+    }
+
+    // sort dst[lo .. hi] using src[lo .. hi] as scratch space, see MergeX;
+    // returns the updated galloping threshold
+    private static int sort(Comparable[] src, Comparable[] dst, int lo, int hi, int minGallop) {
+        if (hi <= lo + CUTOFF) {
+            insertionSort(dst, lo, hi);
+            return minGallop;
+        }
+        int mid = lo + (hi - lo) / 2;
+        minGallop = sort(dst, src, lo, mid, minGallop);
+        minGallop = sort(dst, src, mid+1, hi, minGallop);
+
+        if (!less(src[mid+1], src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return minGallop;
+        }
+
+        return merge(src, dst, lo, mid, hi, minGallop);
+    }
+
+    // stably merge src[lo .. mid] and src[mid+1 .. hi] into dst[lo .. hi];
+    // returns the updated galloping threshold
+    private static int merge(Comparable[] src, Comparable[] dst, int lo, int mid, int hi, int minGallop) {
+
+        // precondition: src[lo .. mid] and src[mid+1 .. hi] are sorted subarrays
+        assert isSorted(src, lo, mid);
+        assert isSorted(src, mid+1, hi);
+
+        int i = lo, j = mid+1, k = lo;
+    outer:
+        while (true) {
+            // one element at a time until one side wins minGallop times in a row
+            int winsLeft = 0, winsRight = 0;
+            do {
+                if (less(src[j], src[i])) {   // to ensure stability
+                    dst[k++] = src[j++];
+                    winsRight++;
+                    winsLeft = 0;
+                    if (j > hi) break outer;
+                } else {
+                    dst[k++] = src[i++];
+                    winsLeft++;
+                    winsRight = 0;
+                    if (i > mid) break outer;
+                }
+            } while ((winsLeft | winsRight) < minGallop);
+
+            // gallop while it moves at least MIN_GALLOP elements at a time
+            do {
+                winsLeft = gallopRight(src[j], src, i, mid) - i;
+                if (winsLeft > 0) {
+                    System.arraycopy(src, i, dst, k, winsLeft);
+                    i += winsLeft;
+                    k += winsLeft;
+                    if (i > mid) break outer;
+                }
+                dst[k++] = src[j++];
+                if (j > hi) break outer;
+
+                winsRight = gallopLeft(src[i], src, j, hi) - j;
+                if (winsRight > 0) {
+                    System.arraycopy(src, j, dst, k, winsRight);
+                    j += winsRight;
+                    k += winsRight;
+                    if (j > hi) break outer;
+                }
+                dst[k++] = src[i++];
+                if (i > mid) break outer;
+
+                if (minGallop > 1) minGallop--;
+            } while (winsLeft >= MIN_GALLOP || winsRight >= MIN_GALLOP);
+            minGallop += 2;  // galloping did not pay off, make it harder to get back
+        }
+
+        if (i <= mid) System.arraycopy(src, i, dst, k, mid - i + 1);
+        else          System.arraycopy(src, j, dst, k, hi - j + 1);
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, lo, hi);
+        return minGallop;
+    }
+
+    // Index of the first element of a[lo .. hi] that is greater than key,
+    // found by exponential search from a[lo] followed by binary search.
+    private static int gallopRight(Comparable key, Comparable[] a, int lo, int hi) {
+        if (less(key, a[lo])) return lo;
+        int n = hi - lo + 1;
+        int lastOfs = 0, ofs = 1;    // invariant: a[lo + lastOfs] <= key
+        while (ofs < n && !less(key, a[lo + ofs])) {
+            lastOfs = ofs;
+            ofs = (ofs << 1) + 1;
+            if (ofs <= 0) ofs = n;   // int overflow
+        }
+        if (ofs > n) ofs = n;
+
+        int l = lo + lastOfs + 1, h = lo + ofs - 1;
+        while (l <= h) {
+            int m = l + (h - l) / 2;
+            if (less(key, a[m])) h = m - 1;
+            else l = m + 1;
+        }
+        return l;
+    }
+
+    // Index of the first element of a[lo .. hi] that is not less than key,
+    // found by exponential search from a[lo] followed by binary search.
+    private static int gallopLeft(Comparable key, Comparable[] a, int lo, int hi) {
+        if (!less(a[lo], key)) return lo;
+        int n = hi - lo + 1;
+        int lastOfs = 0, ofs = 1;    // invariant: a[lo + lastOfs] < key
+        while (ofs < n && less(a[lo + ofs], key)) {
+            lastOfs = ofs;
+            ofs = (ofs << 1) + 1;
+            if (ofs <= 0) ofs = n;   // int overflow
+        }
+        if (ofs > n) ofs = n;
+
+        int l = lo + lastOfs + 1, h = lo + ofs - 1;
+        while (l <= h) {
+            int m = l + (h - l) / 2;
+            if (less(a[m], key)) l = m + 1;
+            else h = m - 1;
+        }
+        return l;
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort
+    private static void insertionSort(Comparable[] a, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && less(a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Comparable[] a, int i, int j) {
+        Comparable swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    // is a[i] < a[j]?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparable a, Comparable b) {
+        return (a.compareTo(b) < 0);
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(Comparable[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>MergeXPrefixKey</tt> class provides static methods for sorting
+ *  an array of strings that share a long common prefix, such as keys with
+ *  tenant and namespace prefixes, using {@link MergeX}.
+ *  <p>
+ *  <tt>String.compareTo()</tt> rescans the common prefix on every
+ *  comparison. Instead, the prefix shared by all strings is found once,
+ *  and the first four chars after it are packed into a <tt>long</tt> key
+ *  kept in a parallel array. Comparisons look at the keys first and call
+ *  <tt>compareTo()</tt> only when the keys are equal.
+ *  <p>
+ *  Finding the prefix and building the keys takes a pass over all strings,
+ *  which does not pay off on inputs that need few comparisons, such as
+ *  sorted or constant arrays; see ComparePrefixKeySorts.
+ *  The sort is stable.
+ *
+ *  @author Dmitry Leskov
+ */
+public class MergeXPrefixKey {
+    private static final int CUTOFF = 7;     // cutoff to insertion sort
+    private static final int KEY_CHARS = 4;  // 16-bit chars packed into a key
+
+    // This class should not be instantiated.
+    private MergeXPrefixKey() { }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     */
+    public static void sort(String[] a) {
+        int n = a.length;
+        if (n < 2) return;
+        int prefix = commonPrefix(a);
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = key(a[i], prefix);
+        String[] aux = a.clone();
+        long[] auxKeys = keys.clone();
+        sort(aux, auxKeys, a, keys, 0, n-1);
+        assert isSorted(a);
+    }
+
+    // length of the longest prefix shared by all strings in a[];
+    // startsWith() is about twice as fast as regionMatches() here
+    private static int commonPrefix(String[] a) {
+        String prefix = a[0];
+        for (int i = 1; i < a.length && !prefix.isEmpty(); i++) {
+            String s = a[i];
+            if (s.startsWith(prefix)) continue;
+            int m = Math.min(prefix.length(), s.length());
+            int k = 0;
+            while (k < m && s.charAt(k) == prefix.charAt(k)) k++;
+            prefix = prefix.substring(0, k);
+        }
+        return prefix.length();
+    }
+
+    // s.charAt(prefix .. prefix+KEY_CHARS-1) as an unsigned number, padded
+    // with zeros, with the sign bit flipped so that signed comparison of keys
+    // agrees with compareTo() whenever the keys differ
+    private static long key(String s, int prefix) {
+        long key = 0;
+        for (int k = prefix; k < prefix + KEY_CHARS; k++)
+            key = (key << 16) | (k < s.length() ? s.charAt(k) : 0);
+        return key ^ Long.MIN_VALUE;
+    }
+
+    // sort dst[lo .. hi] using src[lo .. hi] as scratch space, see MergeX;
+    // the keys are moved along with the strings
+    private static void sort(String[] src, long[] srcKeys, String[] dst, long[] dstKeys, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            insertionSort(dst, dstKeys, lo, hi);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, dstKeys, src, srcKeys, lo, mid);
+        sort(dst, dstKeys, src, srcKeys, mid+1, hi);
+
+        if (!less(srcKeys[mid+1], src[mid+1], srcKeys[mid], src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            System.arraycopy(srcKeys, lo, dstKeys, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, srcKeys, dst, dstKeys, lo, mid, hi);
+    }
+
+    private static void merge(String[] src, long[] srcKeys, String[] dst, long[] dstKeys, int lo, int mid, int hi) {
+        int i = lo, j = mid+1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) {
+                dst[k] = src[j]; dstKeys[k] = srcKeys[j++];
+            } else if (j > hi) {
+                dst[k] = src[i]; dstKeys[k] = srcKeys[i++];
+            } else if (less(srcKeys[j], src[j], srcKeys[i], src[i])) {   // to ensure stability
+                dst[k] = src[j]; dstKeys[k] = srcKeys[j++];
+            } else {
+                dst[k] = src[i]; dstKeys[k] = srcKeys[i++];
+            }
+        }
+
+        // postcondition: dst[lo .. hi] is sorted subarray
+        assert isSorted(dst, lo, hi);
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort
+    private static void insertionSort(String[] a, long[] keys, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && less(keys[j], a[j], keys[j-1], a[j-1]); j--)
+                exch(a, keys, j, j-1);
+    }
+
+    // exchange a[i] and a[j] along with their keys
+    private static void exch(String[] a, long[] keys, int i, int j) {
+        String swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+        long k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+    }
+
+    // is v < w? keys first, the full strings only on a tie
+    private static boolean less(long kv, String v, long kw, String w) {
+        return kv < kw || (kv == kw && v.compareTo(w) < 0);
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(String[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(String[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i].compareTo(a[i-1]) < 0) return false;
+        return true;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>MergeXRuns</tt> class provides static methods for sorting an
+ *  array using a run-adaptive (natural) version of mergesort.
+ *  <p>
+ *  Instead of recursing down to the cutoff, the array is scanned once
+ *  for natural runs. Ascending runs are taken as is, strictly descending
+ *  runs are reversed in place, and runs shorter than <tt>MIN_RUN</tt> are
+ *  extended with {@link BinaryInsertionX}. The runs are kept on a stack
+ *  and merged so that the run lengths stay balanced
+ *  (each run is longer than the two above it together), which
+ *  bounds the stack depth and the merge cost by O(n log n), and makes
+ *  already sorted or reversed input O(n).
+ *  The sort is stable.
+ *
+ *  @author Dmitry Leskov
+ */
+public class MergeXRuns {
+    private static final int MIN_RUN = 16;  // shorter runs are extended by binary insertion
+
+    // The balance invariant makes run lengths grow at least as fast as
+    // Fibonacci numbers, so this is enough for any int array length.
+    private static final int MAX_RUNS = 49;
+
+    // This class should not be instantiated.
+    private MergeXRuns() { }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     */
+    public static void sort(Comparable[] a) {
+        sort(a, new Comparable[a.length]);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order
+     * and a caller-supplied scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(Comparable[] a, Comparable[] aux) {
+        if (aux.length < a.length)
+            throw new IllegalArgumentException("aux.length(" + aux.length + ") < a.length(" + a.length + ")");
+        int n = a.length;
+        int[] runLo = new int[MAX_RUNS];
+        int[] runLen = new int[MAX_RUNS];
+        int runs = 0;
+
+        for (int lo = 0; lo < n; ) {
+            int len = makeAscendingRun(a, lo, n);
+            if (len < MIN_RUN) {
+                int hi = Math.min(n, lo + MIN_RUN) - 1;
+                BinaryInsertionX.sort(a, lo, hi);
+                len = hi - lo + 1;
+            }
+            runLo[runs] = lo;
+            runLen[runs] = len;
+            runs++;
+            runs = collapse(a, aux, runLo, runLen, runs, false);
+            lo += len;
+        }
+        collapse(a, aux, runLo, runLen, runs, true);
+        assert isSorted(a);
+    }
+
+    // find the run starting at a[lo], reverse it if it is strictly descending,
+    // and return its length
+    private static int makeAscendingRun(Comparable[] a, int lo, int n) {
+        int hi = lo + 1;
+        if (hi == n) return 1;
+        if (less(a[hi], a[lo])) {
+            while (hi + 1 < n && less(a[hi+1], a[hi])) hi++;
+            reverse(a, lo, hi);
+        } else {
+            while (hi + 1 < n && !less(a[hi+1], a[hi])) hi++;
+        }
+        return hi - lo + 1;
+    }
+
+    // Merge runs on top of the stack until the balance invariant
+    //     runLen[i-2] > runLen[i-1] + runLen[i] and runLen[i-1] > runLen[i]
+    // holds for the four topmost runs, or until a single run is left if force is set.
+    // Returns the new number of runs.
+    private static int collapse(Comparable[] a, Comparable[] aux,
+                                int[] runLo, int[] runLen, int runs, boolean force) {
+        while (runs > 1) {
+            int k = runs - 2;    // merge runs k and k+1 by default
+            if (force) {
+                if (k > 0 && runLen[k-1] < runLen[k+1]) k--;
+            } else if (k > 0 && runLen[k-1] <= runLen[k] + runLen[k+1]
+                    || k > 1 && runLen[k-2] <= runLen[k-1] + runLen[k]) {
+                if (runLen[k-1] < runLen[k+1]) k--;
+            } else if (runLen[k] > runLen[k+1]) {
+                break;
+            }
+            int lo = runLo[k];
+            int mid = lo + runLen[k] - 1;
+            int hi = mid + runLen[k+1];
+            merge(a, aux, lo, mid, hi);
+            runLen[k] += runLen[k+1];
+            if (k == runs - 3) {
+                runLo[k+1] = runLo[k+2];
+                runLen[k+1] = runLen[k+2];
+            }
+            runs--;
+        }
+        return runs;
+    }
+
+    // stably merge a[lo .. mid] with a[mid+1 .. hi], copying only the
+    // part of the left run that actually has to move to aux[]
+    private static void merge(Comparable[] a, Comparable[] aux, int lo, int mid, int hi) {
+
+        // precondition: a[lo .. mid] and a[mid+1 .. hi] are sorted subarrays
+        assert isSorted(a, lo, mid);
+        assert isSorted(a, mid+1, hi);
+
+        if (!less(a[mid+1], a[mid])) return;
+
+        // elements of the left run not greater than a[mid+1] are already in place,
+        // and so are the elements of the right run not less than a[mid]
+        lo = upperBound(a, lo, mid, a[mid+1]);
+        hi = lowerBound(a, mid+1, hi, a[mid]) - 1;
+
+        System.arraycopy(a, lo, aux, lo, mid - lo + 1);
+        int i = lo, j = mid+1, k = lo;
+        while (i <= mid && j <= hi) {
+            if (less(a[j], aux[i])) a[k++] = a[j++];   // to ensure stability
+            else                    a[k++] = aux[i++];
+        }
+        // the rest of the right run, if any, is already in place
+        if (i <= mid) System.arraycopy(aux, i, a, k, mid - i + 1);
+
+        // postcondition: a[lo .. hi] is sorted
+        assert isSorted(a, lo, hi);
+    }
+
+    // index of the first element of a[lo .. hi] that is not less than key
+    private static int lowerBound(Comparable[] a, int lo, int hi, Comparable key) {
+        while (lo <= hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (less(a[mid], key)) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // index of the first element of a[lo .. hi] that is greater than key
+    private static int upperBound(Comparable[] a, int lo, int hi, Comparable key) {
+        while (lo <= hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (less(key, a[mid])) hi = mid - 1;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // reverse a[lo .. hi]
+    private static void reverse(Comparable[] a, int lo, int hi) {
+        while (lo < hi) exch(a, lo++, hi--);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Comparable[] a, int i, int j) {
+        Comparable swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    // is a[i] < a[j]?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparable a, Comparable b) {
+        return (a.compareTo(b) < 0);
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(Comparable[] a) {
+        return isSorted(a, 0, a.length - 1);
+    }
+
+    private static boolean isSorted(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+}
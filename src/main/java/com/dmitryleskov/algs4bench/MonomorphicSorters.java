@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+
+/**
+ * Keeps the <tt>compare()</tt> call sites of the comparator engines
+ * monomorphic.
+ * <p>
+ * HotSpot profiles receiver types per call site in the bytecode, so once
+ * MergeX.sort(Object[], Comparator) has seen three or more comparator
+ * classes, <tt>c.compare()</tt> becomes a megamorphic virtual call for
+ * all of them. Here every comparator class gets its own copy of the
+ * engine classes, loaded from the same class files by a separate class
+ * loader, and with it its own profile, in which the call can be inlined.
+ * <p>
+ * Copies are created on first use and are associated with the comparator
+ * class, so they can be unloaded together with it. If the class files
+ * cannot be read, the shared engines are used instead.
+ *
+ * @author Dmitry Leskov
+ */
+public class MonomorphicSorters {
+
+    public static final int MERGE_X = 0;
+    public static final int MERGE_X_BINARY = 1;
+    public static final int MERGE = 2;
+
+    // classes that are loaded again for every comparator class
+    private static final String[] CLONED = {
+        ClonedSorter.class.getName(),
+        MergeX.class.getName(),
+        MergeXBinary.class.getName(),
+        Merge.class.getName()
+    };
+
+    private static final ClassValue<ComparatorSorter[]> COPIES = new ClassValue<ComparatorSorter[]>() {
+        @Override
+        protected ComparatorSorter[] computeValue(Class<?> comparatorClass) {
+            return load();
+        }
+    };
+
+    // This class should not be instantiated.
+    private MonomorphicSorters() { }
+
+    /**
+     * Returns a copy of an engine reserved for the class of the given comparator.
+     * @param engine one of <tt>MERGE_X</tt>, <tt>MERGE_X_BINARY</tt>, <tt>MERGE</tt>
+     * @param c the comparator
+     * @return an engine that sorts with comparators of the same class as <tt>c</tt>
+     */
+    public static ComparatorSorter forComparator(int engine, Comparator c) {
+        return COPIES.get(c.getClass())[engine];
+    }
+
+    /**
+     * Rearranges the array in ascending order, using a comparator
+     * and a copy of MergeX reserved for the comparator's class.
+     * @param a the array to be sorted
+     * @param c the comparator specifying the order
+     */
+    public static void sort(Object[] a, Comparator c) {
+        forComparator(MERGE_X, c).sort(a, c);
+    }
+
+    private static ComparatorSorter[] load() {
+        ComparatorSorter[] sorters = new ComparatorSorter[3];
+        try {
+            ClassLoader loader = new CopyLoader(MonomorphicSorters.class.getClassLoader());
+            for (String name : CLONED) loader.loadClass(name);
+            Class<?> cls = loader.loadClass(ClonedSorter.class.getName());
+            for (int engine = 0; engine < sorters.length; engine++)
+                sorters[engine] = (ComparatorSorter) cls.getConstructor(int.class).newInstance(engine);
+        } catch (ReflectiveOperationException | IllegalStateException ex) {
+            for (int engine = 0; engine < sorters.length; engine++)
+                sorters[engine] = new ClonedSorter(engine);
+        }
+        return sorters;
+    }
+
+    // Defines its own copies of the CLONED classes, delegates everything else.
+    private static class CopyLoader extends ClassLoader {
+
+        CopyLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            for (String cloned : CLONED) {
+                if (cloned.equals(name)) {
+                    synchronized (getClassLoadingLock(name)) {
+                        Class<?> c = findLoadedClass(name);
+                        if (c == null) {
+                            byte[] b = classBytes(name);
+                            c = defineClass(name, b, 0, b.length);
+                        }
+                        if (resolve) resolveClass(c);
+                        return c;
+                    }
+                }
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        private byte[] classBytes(String name) {
+            String resource = name.replace('.', '/') + ".class";
+            try (InputStream in = getParent().getResourceAsStream(resource)) {
+                if (in == null) throw new IllegalStateException("No class file for " + name);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buf = new byte[8192];
+                for (int n; (n = in.read(buf)) > 0; ) out.write(buf, 0, n);
+                return out.toByteArray();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot read " + resource, ex);
+            }
+        }
+    }
+}
@@ -17,15 +17,18 @@
 
 package com.dmitryleskov.algs4bench;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
-import java.util.logging.Logger;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.*;
 import org.openjdk.jmh.runner.options.*;
 
+/**
+ * Every engine of {@link SortAlgorithms} under identical conditions:
+ * same input, preallocated scratch array, and a direct call through
+ * {@link SortAlgorithm}, which stays monomorphic within a fork.
+ *
+ * @author Dmitry Leskov
+ */
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 @Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
@@ -34,53 +37,37 @@ import org.openjdk.jmh.runner.options.*;
 @State(Scope.Benchmark)
 public class MyBenchmark {
 
-//    @Param({"MergeX", "MergeXBinary"})
-//    public String algorithm;
+    @Param({"MergeX", "MergeXBinary", "Merge", "InsertionX", "BinaryInsertionX",
+            "MergeXBU", "MergeXRuns", "MergeXGallop", "MergeXBranchless", "MergeX4",
+            "ParallelMergeX"})
+    public String algorithm;
 
+    @Param({"shuffled"})
+    public String test;
+
+    @Param({"100000"})
+    public int problemSize;
 
-    private static final int problemSize = 100000;
-    private static final String algorithm = "MergeXBinary";
-    
     public TestDataGenerator data;
-    
+
     public Integer[] integerData;
-    
-    // One cannot refer to classes in the default package from a named package,
-    // hence all this fiddling with reflection
-    public Method sortMethod;
 
-    
-    
+    private SortAlgorithm sorter;
+    private Comparable[] a, aux;
+
     @Setup
     public void init() {
         data = new TestDataGenerator(problemSize);
-        integerData = TestDataGenerator.asIntegerArray(data.getIntData("shuffled"));
-        try {
-            sortMethod = Class.forName(algorithm).getDeclaredMethod("sort", Comparable[].class);
-        } catch (ClassNotFoundException ex) {
-            System.out.println("No such class: " + algorithm);
-        } catch (NoSuchMethodException ex) {
-            System.out.println("Class " + algorithm + " has no static method sort(Comparable[])");
-        }
+        integerData = TestDataGenerator.asIntegerArray(data.getIntData(test));
+        sorter = SortAlgorithms.get(algorithm);
+        a = new Comparable[problemSize];
+        aux = new Comparable[problemSize];
     }
 
-    public Comparable[] sort(Method m, Comparable[] a) {
-        try {
-            m.invoke(null, (Object) a);
-        } catch (SecurityException |
-                IllegalAccessException |
-                IllegalArgumentException |
-                InvocationTargetException ex) {
-            System.out.println(ex.getMessage());
-        }
-        return a;
-    }
-   
-    
     @Benchmark
     public Comparable[] testSort() {
-        Comparable[] a = integerData.clone();
-        sort(sortMethod, a);
+        System.arraycopy(integerData, 0, a, 0, problemSize);
+        sorter.sort(a, aux);
         return a;
     }
 
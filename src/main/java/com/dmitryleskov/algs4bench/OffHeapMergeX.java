@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ *  The <tt>OffHeapMergeX</tt> class provides static methods for sorting
+ *  fixed-width binary records held outside the Java heap, in a direct
+ *  <tt>ByteBuffer</tt> or a memory-mapped region of a file, by a signed
+ *  <tt>int</tt> or <tt>long</tt> key at a given offset within each record.
+ *  <p>
+ *  The records are the bytes between the position and the limit of the
+ *  buffer, which are not changed. Keys are read in the byte order of the
+ *  buffer. The sort follows {@link MergeX}: insertion sort for small
+ *  subarrays, ping-pong merges between the records and a scratch region
+ *  of the same size, allocated off-heap unless supplied, and a bulk copy
+ *  instead of a merge when the halves are already in order.
+ *  The sort is stable.
+ *  <p>
+ *  Buffers are indexed by <tt>int</tt>, so a region is limited to 2GB.
+ *
+ *  @author Dmitry Leskov
+ */
+public class OffHeapMergeX {
+    private static final int CUTOFF = 7;  // cutoff to insertion sort
+
+    private final int base;         // offset of the first record in the buffers
+    private final int recordSize;
+    private final int keyOffset;
+    private final boolean longKey;
+    private final ByteBuffer tmp;   // one record, for insertion sort
+
+    // the two buffers of the ping-pong, and views of them for bulk copies
+    private final ByteBuffer records, aux;
+    private final ByteBuffer recordsView, auxView;
+
+    private OffHeapMergeX(ByteBuffer records, ByteBuffer aux, int recordSize, int keyOffset, boolean longKey) {
+        int keySize = longKey ? 8 : 4;
+        if (recordSize <= 0 || keyOffset < 0 || keyOffset + keySize > recordSize)
+            throw new IllegalArgumentException("key [" + keyOffset + ", " + (keyOffset + keySize)
+                    + ") does not fit in a record of " + recordSize + " bytes");
+        if (records.remaining() % recordSize != 0)
+            throw new IllegalArgumentException("remaining(" + records.remaining()
+                    + ") is not a multiple of recordSize(" + recordSize + ")");
+        if (aux.capacity() < records.limit())
+            throw new IllegalArgumentException("aux.capacity(" + aux.capacity()
+                    + ") < records.limit(" + records.limit() + ")");
+        this.base = records.position();
+        this.recordSize = recordSize;
+        this.keyOffset = keyOffset;
+        this.longKey = longKey;
+        this.tmp = ByteBuffer.allocateDirect(recordSize).order(records.order());
+        this.records = records;
+        this.aux = aux.order(records.order());
+        this.recordsView = records.duplicate();
+        this.auxView = aux.duplicate();
+    }
+
+    /**
+     * Sorts the records in the buffer by the <tt>int</tt> key at the given offset.
+     * @param records the records, from the position to the limit of the buffer
+     * @param recordSize the size of a record in bytes
+     * @param keyOffset the offset of the key within a record
+     * @throws IllegalArgumentException if the key does not fit in a record or
+     * the records do not fill the buffer exactly
+     */
+    public static void sortByIntKey(ByteBuffer records, int recordSize, int keyOffset) {
+        sortByIntKey(records, ByteBuffer.allocateDirect(records.limit()), recordSize, keyOffset);
+    }
+
+    /**
+     * Sorts the records in the buffer by the <tt>int</tt> key at the given offset,
+     * using a caller-supplied scratch buffer instead of allocating a new one.
+     * @param records the records, from the position to the limit of the buffer
+     * @param aux the scratch buffer, with a capacity of at least the limit of
+     * <tt>records</tt>; its contents and byte order are overwritten
+     * @param recordSize the size of a record in bytes
+     * @param keyOffset the offset of the key within a record
+     * @throws IllegalArgumentException if the key does not fit in a record,
+     * the records do not fill the buffer exactly or <tt>aux</tt> is too small
+     */
+    public static void sortByIntKey(ByteBuffer records, ByteBuffer aux, int recordSize, int keyOffset) {
+        new OffHeapMergeX(records, aux, recordSize, keyOffset, false).sort();
+    }
+
+    /**
+     * Sorts the records in the buffer by the <tt>long</tt> key at the given offset.
+     * @param records the records, from the position to the limit of the buffer
+     * @param recordSize the size of a record in bytes
+     * @param keyOffset the offset of the key within a record
+     * @throws IllegalArgumentException if the key does not fit in a record or
+     * the records do not fill the buffer exactly
+     */
+    public static void sortByLongKey(ByteBuffer records, int recordSize, int keyOffset) {
+        sortByLongKey(records, ByteBuffer.allocateDirect(records.limit()), recordSize, keyOffset);
+    }
+
+    /**
+     * Sorts the records in the buffer by the <tt>long</tt> key at the given offset,
+     * using a caller-supplied scratch buffer instead of allocating a new one.
+     * @param records the records, from the position to the limit of the buffer
+     * @param aux the scratch buffer, with a capacity of at least the limit of
+     * <tt>records</tt>; its contents and byte order are overwritten
+     * @param recordSize the size of a record in bytes
+     * @param keyOffset the offset of the key within a record
+     * @throws IllegalArgumentException if the key does not fit in a record,
+     * the records do not fill the buffer exactly or <tt>aux</tt> is too small
+     */
+    public static void sortByLongKey(ByteBuffer records, ByteBuffer aux, int recordSize, int keyOffset) {
+        new OffHeapMergeX(records, aux, recordSize, keyOffset, true).sort();
+    }
+
+    /**
+     * Sorts the records in a region of a file by the <tt>int</tt> key at the
+     * given offset. The region is mapped into memory, sorted in place with an
+     * off-heap scratch buffer of the same size, and forced to the storage device.
+     * Keys are big-endian.
+     * @param channel the file, open for reading and writing
+     * @param position the position of the first record in the file
+     * @param size the size of the region in bytes
+     * @param recordSize the size of a record in bytes
+     * @param keyOffset the offset of the key within a record
+     * @throws IOException if the region cannot be mapped
+     * @throws IllegalArgumentException if the key does not fit in a record or
+     * the region is not a whole number of records
+     */
+    public static void sortByIntKey(FileChannel channel, long position, long size,
+                                    int recordSize, int keyOffset) throws IOException {
+        MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        sortByIntKey(records, recordSize, keyOffset);
+        records.force();
+    }
+
+    /**
+     * Sorts the records in a region of a file by the <tt>long</tt> key at the
+     * given offset. The region is mapped into memory, sorted in place with an
+     * off-heap scratch buffer of the same size, and forced to the storage device.
+     * Keys are big-endian.
+     * @param channel the file, open for reading and writing
+     * @param position the position of the first record in the file
+     * @param size the size of the region in bytes
+     * @param recordSize the size of a record in bytes
+     * @param keyOffset the offset of the key within a record
+     * @throws IOException if the region cannot be mapped
+     * @throws IllegalArgumentException if the key does not fit in a record or
+     * the region is not a whole number of records
+     */
+    public static void sortByLongKey(FileChannel channel, long position, long size,
+                                     int recordSize, int keyOffset) throws IOException {
+        MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        sortByLongKey(records, recordSize, keyOffset);
+        records.force();
+    }
+
+    private void sort() {
+        int n = records.remaining() / recordSize;
+        copy(records, 0, aux, 0, n);
+        sort(aux, records, 0, n-1);
+        assert isSorted(records, n);
+    }
+
+    // sort dst[lo .. hi] using src[lo .. hi] as scratch space, see MergeX
+    private void sort(ByteBuffer src, ByteBuffer dst, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, src, lo, mid);
+        sort(dst, src, mid+1, hi);
+
+        if (!(key(src, mid+1) < key(src, mid))) {
+            copy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, dst, lo, mid, hi);
+    }
+
+    private void merge(ByteBuffer src, ByteBuffer dst, int lo, int mid, int hi) {
+        int i = lo, j = mid+1;
+        long ki = key(src, i), kj = key(src, j);
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) {
+                copy(src, j, dst, k, hi - j + 1);
+                break;
+            } else if (j > hi) {
+                copy(src, i, dst, k, mid - i + 1);
+                break;
+            } else if (kj < ki) {   // to ensure stability
+                moveRecord(src, j++, dst, k);
+                if (j <= hi) kj = key(src, j);
+            } else {
+                moveRecord(src, i++, dst, k);
+                if (i <= mid) ki = key(src, i);
+            }
+        }
+    }
+
+    // sort records lo .. hi of b using insertion sort
+    private void insertionSort(ByteBuffer b, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long v = key(b, i);
+            if (!(v < key(b, i-1))) continue;
+            moveRecord(b, i, tmp, 0);
+            int j = i;
+            do {
+                moveRecord(b, j-1, b, j);
+                j--;
+            } while (j > lo && v < key(b, j-1));
+            moveRecord(tmp, 0, b, j);
+        }
+    }
+
+    // key of record i
+    private long key(ByteBuffer b, int i) {
+        int offset = base + i * recordSize + keyOffset;
+        return longKey ? b.getLong(offset) : b.getInt(offset);
+    }
+
+    // copy record i of src to record j of dst, a word at a time
+    private void moveRecord(ByteBuffer src, int i, ByteBuffer dst, int j) {
+        int from = (src == tmp ? 0 : base) + i * recordSize;
+        int to = (dst == tmp ? 0 : base) + j * recordSize;
+        int k = 0;
+        for (; k + 8 <= recordSize; k += 8)
+            dst.putLong(to + k, src.getLong(from + k));
+        for (; k < recordSize; k++)
+            dst.put(to + k, src.get(from + k));
+    }
+
+    // bulk copy of count records from record i of src to record j of dst
+    private void copy(ByteBuffer src, int i, ByteBuffer dst, int j, int count) {
+        ByteBuffer from = (src == records) ? recordsView : auxView;
+        ByteBuffer to = (dst == records) ? recordsView : auxView;
+        int offset = base + i * recordSize;
+        from.limit(offset + count * recordSize).position(offset);
+        to.limit(to.capacity()).position(base + j * recordSize);
+        to.put(from);
+    }
+
+    private boolean isSorted(ByteBuffer b, int n) {
+        for (int i = 1; i < n; i++)
+            if (key(b, i) < key(b, i-1)) return false;
+        return true;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ *  The <tt>ParallelMergeX</tt> class provides static methods for sorting an
+ *  array using a fork/join version of {@link MergeX}.
+ *  <p>
+ *  Both halves are sorted in parallel, and merges of more than
+ *  <tt>grain</tt> elements are split in two independent merges by
+ *  binary-searching the split point in the other run, so the top
+ *  merge levels are not serial either. Chunks of at most <tt>grain</tt>
+ *  elements are sorted and merged sequentially, exactly as in MergeX.
+ *  The sort is stable.
+ *
+ *  @author Dmitry Leskov
+ */
+public class ParallelMergeX {
+    private static final int CUTOFF = 7;  // cutoff to insertion sort
+
+    /**
+     * Default size of the chunks that are sorted or merged sequentially.
+     */
+    public static final int DEFAULT_GRAIN = 8192;
+
+    // The default pool is only created on first use
+    private static class DefaultPool {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    // This class should not be instantiated.
+    private ParallelMergeX() { }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order,
+     * in a default pool with one worker thread per available processor.
+     * @param a the array to be sorted
+     */
+    public static void sort(Comparable[] a) {
+        sort(a, DefaultPool.POOL, DEFAULT_GRAIN);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     * @param pool the pool to run the sort in
+     * @param grain size of the chunks that are sorted or merged sequentially
+     * @throws IllegalArgumentException if grain is not greater than the
+     * insertion sort cutoff
+     */
+    public static void sort(Comparable[] a, ForkJoinPool pool, int grain) {
+        sort(a, new Comparable[a.length], pool, grain);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order
+     * and a caller-supplied scratch array instead of allocating a new one,
+     * in a default pool with one worker thread per available processor.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     */
+    public static void sort(Comparable[] a, Comparable[] aux) {
+        sort(a, aux, DefaultPool.POOL, DEFAULT_GRAIN);
+    }
+
+    /**
+     * Rearranges the array in ascending order, using the natural order
+     * and a caller-supplied scratch array instead of allocating a new one.
+     * @param a the array to be sorted
+     * @param aux the scratch array, at least as long as <tt>a</tt>;
+     * its contents are overwritten
+     * @param pool the pool to run the sort in
+     * @param grain size of the chunks that are sorted or merged sequentially
+     * @throws IllegalArgumentException if <tt>aux</tt> is shorter than <tt>a</tt>
+     * or grain is not greater than the insertion sort cutoff
+     */
+    public static void sort(Comparable[] a, Comparable[] aux, ForkJoinPool pool, int grain) {
+        if (grain <= CUTOFF + 1)
+            throw new IllegalArgumentException("grain(" + grain + ") <= " + (CUTOFF + 1));
+        if (aux.length < a.length)
+            throw new IllegalArgumentException("aux.length(" + aux.length + ") < a.length(" + a.length + ")");
+        System.arraycopy(a, 0, aux, 0, a.length);
+        pool.invoke(new SortTask(aux, a, 0, a.length-1, grain));
+        assert isSorted(a);
+    }
+
+    // sorts dst[lo .. hi] using src[lo .. hi] as scratch space, see MergeX.sort()
+    private static class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Comparable[] src, dst;
+        private final int lo, hi, grain;
+
+        SortTask(Comparable[] src, Comparable[] dst, int lo, int hi, int grain) {
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo < grain) {
+                sort(src, dst, lo, hi);
+                return;
+            }
+            int mid = lo + (hi - lo) / 2;
+            invokeAll(new SortTask(dst, src, lo, mid, grain),
+                      new SortTask(dst, src, mid+1, hi, grain));
+
+            if (!less(src[mid+1], src[mid])) {
+                System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+                return;
+            }
+
+            new MergeTask(src, dst, lo, mid, mid+1, hi, lo, grain).compute();
+        }
+    }
+
+    // merges src[lo1 .. hi1] and src[lo2 .. hi2] into dst[k ..]
+    private static class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Comparable[] src, dst;
+        private final int lo1, hi1, lo2, hi2, k, grain;
+
+        MergeTask(Comparable[] src, Comparable[] dst,
+                  int lo1, int hi1, int lo2, int hi2, int k, int grain) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.k = k;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1 + 1;
+            int n2 = hi2 - lo2 + 1;
+            if (n1 + n2 <= grain) {
+                merge(src, dst, lo1, hi1, lo2, hi2, k);
+                return;
+            }
+            // split the longer run in the middle, binary search the other run;
+            // elements equal to the pivot stay in the same order as in a sequential merge
+            int mid1, mid2;
+            if (n1 >= n2) {
+                mid1 = lo1 + n1 / 2;
+                mid2 = lowerBound(src, lo2, hi2, src[mid1]);
+            } else {
+                mid2 = lo2 + n2 / 2;
+                mid1 = upperBound(src, lo1, hi1, src[mid2]);
+            }
+            invokeAll(new MergeTask(src, dst, lo1, mid1-1, lo2, mid2-1, k, grain),
+                      new MergeTask(src, dst, mid1, hi1, mid2, hi2,
+                                    k + (mid1 - lo1) + (mid2 - lo2), grain));
+        }
+    }
+
+   /***********************************************************************
+    *  Sequential base case - same as MergeX
+    ***********************************************************************/
+    private static void sort(Comparable[] src, Comparable[] dst, int lo, int hi) {
+        if (hi <= lo + CUTOFF) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = lo + (hi - lo) / 2;
+        sort(dst, src, lo, mid);
+        sort(dst, src, mid+1, hi);
+
+        if (!less(src[mid+1], src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+            return;
+        }
+
+        merge(src, dst, lo, mid, mid+1, hi, lo);
+    }
+
+    // stably merge src[lo1 .. hi1] with src[lo2 .. hi2] into dst[k ..]
+    private static void merge(Comparable[] src, Comparable[] dst,
+                              int lo1, int hi1, int lo2, int hi2, int k) {
+        int i = lo1, j = lo2;
+        int end = k + (hi1 - lo1 + 1) + (hi2 - lo2 + 1);
+        for (; k < end; k++) {
+            if      (i > hi1)              dst[k] = src[j++];
+            else if (j > hi2)              dst[k] = src[i++];
+            else if (less(src[j], src[i])) dst[k] = src[j++];   // to ensure stability
+            else                           dst[k] = src[i++];
+        }
+    }
+
+    // index of the first element of a[lo .. hi] that is not less than key
+    private static int lowerBound(Comparable[] a, int lo, int hi, Comparable key) {
+        while (lo <= hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (less(a[mid], key)) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // index of the first element of a[lo .. hi] that is greater than key
+    private static int upperBound(Comparable[] a, int lo, int hi, Comparable key) {
+        while (lo <= hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (less(key, a[mid])) hi = mid - 1;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // sort from a[lo] to a[hi] using insertion sort
+    private static void insertionSort(Comparable[] a, int lo, int hi) {
+        for (int i = lo; i <= hi; i++)
+            for (int j = i; j > lo && less(a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Comparable[] a, int i, int j) {
+        Comparable swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    // is a[i] < a[j]?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparable a, Comparable b) {
+        return (a.compareTo(b) < 0);
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(Comparable[] a) {
+        for (int i = 1; i < a.length; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Sweeps thread count and problem size for ParallelMergeX,
+ * with sequential MergeX and Arrays.parallelSort() (JDK 8+) for reference.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSorts {
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int threads;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int problemSize;
+
+    @Param({"8192"})
+    public int grain;
+
+    public TestDataGenerator data;
+
+    public Integer[] integerData;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void init() {
+        // Arrays.parallelSort() runs in the common pool, which reads
+        // this property when it is first used in the forked VM
+        System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism",
+                Integer.toString(threads));
+        pool = new ForkJoinPool(threads);
+        data = new TestDataGenerator(problemSize);
+        integerData = TestDataGenerator.asIntegerArray(data.getIntData("shuffled"));
+    }
+
+    @TearDown
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Comparable[] testMergeX() {
+        Comparable[] a = integerData.clone();
+        MergeX.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testParallelMergeX() {
+        Comparable[] a = integerData.clone();
+        ParallelMergeX.sort(a, pool, grain);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testArraysParallelSort() {
+        Integer[] a = integerData.clone();
+        Arrays.parallelSort(a);
+        return a;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ParallelSorts.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ *  The <tt>PartialSort</tt> class provides static methods for finding the
+ *  <tt>k</tt> smallest elements of an array in ascending order without
+ *  sorting the rest.
+ *  <p>
+ *  Small <tt>k</tt> is handled in a single pass over the array with a
+ *  bounded buffer of the <tt>k</tt> smallest elements seen so far:
+ *  up to {@value #SMALL_K}, a sorted buffer maintained with binary
+ *  insertion as in {@link BinaryInsertionX}; up to <tt>n/</tt>{@value #HEAP_RATIO},
+ *  a max-heap. On random input only about <tt>k ln(n/k)</tt> elements
+ *  enter the buffer, but on descending input every one does, so once
+ *  more than <tt>n/</tt>{@value #BUDGET_RATIO} have, the pass is abandoned.
+ *  Larger <tt>k</tt> and abandoned passes use partial quicksort, which
+ *  only recurses into the parts overlapping the first <tt>k</tt> positions
+ *  and falls back to the heap when the partitions get too unbalanced.
+ *  The sort is not stable.
+ *
+ *  @author Dmitry Leskov
+ */
+public class PartialSort {
+
+    /**
+     * Largest <tt>k</tt> kept in a sorted insertion buffer.
+     */
+    public static final int SMALL_K = 16;
+
+    /**
+     * A heap is used for <tt>k</tt> up to the array length divided by this.
+     */
+    public static final int HEAP_RATIO = 64;
+
+    // a buffer pass gives up after n/BUDGET_RATIO insertions
+    private static final int BUDGET_RATIO = 8;
+
+    private static final int CUTOFF = 7;  // cutoff to insertion sort
+
+    // This class should not be instantiated.
+    private PartialSort() { }
+
+    /**
+     * Rearranges the array so that its first <tt>k</tt> elements are the
+     * smallest ones in ascending order, using the natural order.
+     * The order of the other elements is unspecified.
+     * @param a the array
+     * @param k the number of elements to sort; all of them if greater than <tt>a.length</tt>
+     * @throws IllegalArgumentException if <tt>k</tt> is negative
+     */
+    public static void partialSort(Comparable[] a, int k) {
+        k = checkK(a.length, k);
+        if (k == 0) return;
+        int n = a.length;
+        boolean done = false;
+        if (k <= SMALL_K) done = bufferSort(a, k);
+        else if (k <= n / HEAP_RATIO) done = heapSelect(a, 0, n - 1, k, n / BUDGET_RATIO);
+        if (!done) partialQuicksort(a, 0, n - 1, k, depthLimit(n));
+        assert isSorted(a, 0, k - 1);
+    }
+
+    /**
+     * Returns the <tt>k</tt> smallest elements of the array in ascending
+     * order, using the natural order. The array is not changed.
+     * @param a the array
+     * @param k the number of elements to return; all of them if greater than <tt>a.length</tt>
+     * @return a new array of the <tt>k</tt> smallest elements
+     * @throws IllegalArgumentException if <tt>k</tt> is negative
+     */
+    public static Comparable[] topK(Comparable[] a, int k) {
+        k = checkK(a.length, k);
+        if (k == 0) return new Comparable[0];
+        int n = a.length;
+        Comparable[] top = null;
+        if (k <= SMALL_K) top = fillBuffer(a, k);
+        else if (k <= n / HEAP_RATIO) top = heapTopK(a, k);
+        if (top == null) {
+            Comparable[] b = a.clone();
+            partialQuicksort(b, 0, n - 1, k, depthLimit(n));
+            top = Arrays.copyOf(b, k);
+        }
+        return top;
+    }
+
+    /**
+     * Rearranges the array so that its first <tt>k</tt> elements are the
+     * smallest ones in ascending order, using a comparator.
+     * The order of the other elements is unspecified.
+     * @param a the array
+     * @param k the number of elements to sort; all of them if greater than <tt>a.length</tt>
+     * @param c the comparator specifying the order
+     * @throws IllegalArgumentException if <tt>k</tt> is negative
+     */
+    public static void partialSort(Object[] a, int k, Comparator c) {
+        k = checkK(a.length, k);
+        if (k == 0) return;
+        int n = a.length;
+        boolean done = false;
+        if (k <= SMALL_K) done = bufferSort(a, k, c);
+        else if (k <= n / HEAP_RATIO) done = heapSelect(a, c, 0, n - 1, k, n / BUDGET_RATIO);
+        if (!done) partialQuicksort(a, c, 0, n - 1, k, depthLimit(n));
+        assert isSorted(a, c, 0, k - 1);
+    }
+
+    /**
+     * Returns the <tt>k</tt> smallest elements of the array in ascending
+     * order, using a comparator. The array is not changed.
+     * @param a the array
+     * @param k the number of elements to return; all of them if greater than <tt>a.length</tt>
+     * @param c the comparator specifying the order
+     * @return a new array of the <tt>k</tt> smallest elements
+     * @throws IllegalArgumentException if <tt>k</tt> is negative
+     */
+    public static <T> T[] topK(T[] a, int k, Comparator<? super T> c) {
+        k = checkK(a.length, k);
+        if (k == 0) return Arrays.copyOf(a, 0);
+        int n = a.length;
+        T[] top = null;
+        if (k <= SMALL_K) top = fillBuffer(a, k, c);
+        else if (k <= n / HEAP_RATIO) top = heapTopK(a, k, c);
+        if (top == null) {
+            T[] b = a.clone();
+            partialQuicksort(b, c, 0, n - 1, k, depthLimit(n));
+            top = Arrays.copyOf(b, k);
+        }
+        return top;
+    }
+
+    private static int checkK(int n, int k) {
+        if (k < 0) throw new IllegalArgumentException("k(" + k + ") < 0");
+        return Math.min(k, n);
+    }
+
+    // about twice the depth of a balanced partitioning
+    private static int depthLimit(int n) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(n));
+    }
+
+   /***********************************************************************
+    *  Bounded insertion buffer
+    ***********************************************************************/
+
+    // sort a[0..k-1], then insert every smaller element of a[k..] into it;
+    // an evicted element takes the place of the one inserted, so a[] stays
+    // a permutation when the budget runs out and false is returned
+    private static boolean bufferSort(Comparable[] a, int k) {
+        BinaryInsertionX.sort(a, 0, k - 1);
+        int budget = a.length / BUDGET_RATIO;
+        for (int i = k; i < a.length; i++) {
+            if (less(a[i], a[k-1])) {
+                if (budget-- == 0) return false;
+                Comparable v = a[i];
+                a[i] = a[k-1];
+                insert(a, k - 1, v);
+            }
+        }
+        return true;
+    }
+
+    // the k smallest elements of a[] in order, null if the budget runs out
+    private static Comparable[] fillBuffer(Comparable[] a, int k) {
+        Comparable[] buffer = Arrays.copyOf(a, k);
+        BinaryInsertionX.sort(buffer, 0, k - 1);
+        int budget = a.length / BUDGET_RATIO;
+        for (int i = k; i < a.length; i++) {
+            if (less(a[i], buffer[k-1])) {
+                if (budget-- == 0) return null;
+                insert(buffer, k - 1, a[i]);
+            }
+        }
+        return buffer;
+    }
+
+    // put v into sorted buffer[0..n-1] after the elements not greater than it,
+    // shifting the greater ones right; buffer[n] is overwritten
+    private static void insert(Comparable[] buffer, int n, Comparable v) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (less(v, buffer[mid])) hi = mid;
+            else lo = mid + 1;
+        }
+        System.arraycopy(buffer, lo, buffer, lo + 1, n - lo);
+        buffer[lo] = v;
+    }
+
+   /***********************************************************************
+    *  Partial quicksort
+    ***********************************************************************/
+
+    // rearrange a[lo..hi] so that a[lo..k-1] are its smallest elements in order
+    private static void partialQuicksort(Comparable[] a, int lo, int hi, int k, int depth) {
+        while (hi > lo + CUTOFF) {
+            if (depth-- == 0) {
+                heapSelect(a, lo, hi, k, Integer.MAX_VALUE);
+                return;
+            }
+            medianOf3(a, lo, lo + (hi - lo) / 2, hi);
+
+            int j = partition(a, lo, hi);
+            if (j + 1 < k) partialQuicksort(a, j + 1, hi, k, depth);
+            hi = j - 1;
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    // partition a[lo..hi] around a[lo] so that a[lo..j-1] <= a[j] <= a[j+1..hi], return j;
+    // elements equal to the pivot stop both scans, which keeps the parts balanced on repeats
+    private static int partition(Comparable[] a, int lo, int hi) {
+        int i = lo, j = hi + 1;
+        Comparable v = a[lo];
+        while (true) {
+            while (less(a[++i], v))
+                if (i == hi) break;
+            while (less(v, a[--j]))
+                if (j == lo) break;
+            if (i >= j) break;
+            exch(a, i, j);
+        }
+        exch(a, lo, j);
+        return j;
+    }
+
+    // move the median of a[i], a[j], a[k] to a[i]
+    private static void medianOf3(Comparable[] a, int i, int j, int k) {
+        if (less(a[j], a[i])) exch(a, i, j);
+        if (less(a[k], a[j])) {
+            exch(a, j, k);
+            if (less(a[j], a[i])) exch(a, i, j);
+        }
+        exch(a, i, j);
+    }
+
+    // rearrange a[lo..hi] so that a[lo..k-1] are its smallest elements in order,
+    // keeping them in a max-heap while scanning the rest; exchanges keep a[]
+    // a permutation when more than budget elements enter and false is returned
+    private static boolean heapSelect(Comparable[] a, int lo, int hi, int k, int budget) {
+        int m = Math.min(k, hi + 1) - lo;
+        if (m <= 0) return true;
+        for (int i = m/2; i >= 1; i--)
+            sink(a, lo, i, m);
+        for (int i = lo + m; i <= hi; i++) {
+            if (less(a[i], a[lo])) {
+                if (budget-- == 0) return false;
+                exch(a, i, lo);
+                sink(a, lo, 1, m);
+            }
+        }
+        heapSort(a, lo, m);
+        return true;
+    }
+
+    // the k smallest elements of a[] in order, null if the budget runs out
+    private static Comparable[] heapTopK(Comparable[] a, int k) {
+        Comparable[] heap = Arrays.copyOf(a, k);
+        for (int i = k/2; i >= 1; i--)
+            sink(heap, 0, i, k);
+        int budget = a.length / BUDGET_RATIO;
+        for (int i = k; i < a.length; i++) {
+            if (less(a[i], heap[0])) {
+                if (budget-- == 0) return null;
+                heap[0] = a[i];
+                sink(heap, 0, 1, k);
+            }
+        }
+        heapSort(heap, 0, k);
+        return heap;
+    }
+
+    // sort a max-heap of n elements stored from a[base]
+    private static void heapSort(Comparable[] a, int base, int n) {
+        while (n > 1) {
+            exch(a, base, base + n - 1);
+            sink(a, base, 1, --n);
+        }
+    }
+
+    // heap of n elements stored 1-based from a[base]
+    private static void sink(Comparable[] a, int base, int i, int n) {
+        while (2*i <= n) {
+            int j = 2*i;
+            if (j < n && less(a[base + j - 1], a[base + j])) j++;
+            if (!less(a[base + i - 1], a[base + j - 1])) break;
+            exch(a, base + i - 1, base + j - 1);
+            i = j;
+        }
+    }
+
+    private static void insertionSort(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            for (int j = i; j > lo && less(a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+    }
+
+   /***********************************************************************
+    *  Comparator versions
+    ***********************************************************************/
+
+    private static boolean bufferSort(Object[] a, int k, Comparator c) {
+        BinaryInsertionX.sort(a, c, 0, k - 1);
+        int budget = a.length / BUDGET_RATIO;
+        for (int i = k; i < a.length; i++) {
+            if (less(c, a[i], a[k-1])) {
+                if (budget-- == 0) return false;
+                Object v = a[i];
+                a[i] = a[k-1];
+                insert(a, k - 1, v, c);
+            }
+        }
+        return true;
+    }
+
+    private static <T> T[] fillBuffer(T[] a, int k, Comparator c) {
+        T[] buffer = Arrays.copyOf(a, k);
+        BinaryInsertionX.sort(buffer, c, 0, k - 1);
+        int budget = a.length / BUDGET_RATIO;
+        for (int i = k; i < a.length; i++) {
+            if (less(c, a[i], buffer[k-1])) {
+                if (budget-- == 0) return null;
+                insert(buffer, k - 1, a[i], c);
+            }
+        }
+        return buffer;
+    }
+
+    private static void insert(Object[] buffer, int n, Object v, Comparator c) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (less(c, v, buffer[mid])) hi = mid;
+            else lo = mid + 1;
+        }
+        System.arraycopy(buffer, lo, buffer, lo + 1, n - lo);
+        buffer[lo] = v;
+    }
+
+    private static void partialQuicksort(Object[] a, Comparator c, int lo, int hi, int k, int depth) {
+        while (hi > lo + CUTOFF) {
+            if (depth-- == 0) {
+                heapSelect(a, c, lo, hi, k, Integer.MAX_VALUE);
+                return;
+            }
+            medianOf3(a, c, lo, lo + (hi - lo) / 2, hi);
+
+            int j = partition(a, c, lo, hi);
+            if (j + 1 < k) partialQuicksort(a, c, j + 1, hi, k, depth);
+            hi = j - 1;
+        }
+        insertionSort(a, c, lo, hi);
+    }
+
+    private static int partition(Object[] a, Comparator c, int lo, int hi) {
+        int i = lo, j = hi + 1;
+        Object v = a[lo];
+        while (true) {
+            while (less(c, a[++i], v))
+                if (i == hi) break;
+            while (less(c, v, a[--j]))
+                if (j == lo) break;
+            if (i >= j) break;
+            exch(a, i, j);
+        }
+        exch(a, lo, j);
+        return j;
+    }
+
+    private static void medianOf3(Object[] a, Comparator c, int i, int j, int k) {
+        if (less(c, a[j], a[i])) exch(a, i, j);
+        if (less(c, a[k], a[j])) {
+            exch(a, j, k);
+            if (less(c, a[j], a[i])) exch(a, i, j);
+        }
+        exch(a, i, j);
+    }
+
+    private static boolean heapSelect(Object[] a, Comparator c, int lo, int hi, int k, int budget) {
+        int m = Math.min(k, hi + 1) - lo;
+        if (m <= 0) return true;
+        for (int i = m/2; i >= 1; i--)
+            sink(a, c, lo, i, m);
+        for (int i = lo + m; i <= hi; i++) {
+            if (less(c, a[i], a[lo])) {
+                if (budget-- == 0) return false;
+                exch(a, i, lo);
+                sink(a, c, lo, 1, m);
+            }
+        }
+        heapSort(a, c, lo, m);
+        return true;
+    }
+
+    private static <T> T[] heapTopK(T[] a, int k, Comparator c) {
+        T[] heap = Arrays.copyOf(a, k);
+        for (int i = k/2; i >= 1; i--)
+            sink(heap, c, 0, i, k);
+        int budget = a.length / BUDGET_RATIO;
+        for (int i = k; i < a.length; i++) {
+            if (less(c, a[i], heap[0])) {
+                if (budget-- == 0) return null;
+                heap[0] = a[i];
+                sink(heap, c, 0, 1, k);
+            }
+        }
+        heapSort(heap, c, 0, k);
+        return heap;
+    }
+
+    private static void heapSort(Object[] a, Comparator c, int base, int n) {
+        while (n > 1) {
+            exch(a, base, base + n - 1);
+            sink(a, c, base, 1, --n);
+        }
+    }
+
+    private static void sink(Object[] a, Comparator c, int base, int i, int n) {
+        while (2*i <= n) {
+            int j = 2*i;
+            if (j < n && less(c, a[base + j - 1], a[base + j])) j++;
+            if (!less(c, a[base + i - 1], a[base + j - 1])) break;
+            exch(a, base + i - 1, base + j - 1);
+            i = j;
+        }
+    }
+
+    private static void insertionSort(Object[] a, Comparator c, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            for (int j = i; j > lo && less(c, a[j], a[j-1]); j--)
+                exch(a, j, j-1);
+    }
+
+   /***********************************************************************
+    *  Helper sorting functions
+    ***********************************************************************/
+
+    // is v < w ?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparable v, Comparable w) {
+        return (v.compareTo(w) < 0);
+    }
+
+    // is v < w ?
+    @SuppressWarnings("unchecked")
+    private static boolean less(Comparator c, Object v, Object w) {
+        return (c.compare(v, w) < 0);
+    }
+
+    // exchange a[i] and a[j]
+    private static void exch(Object[] a, int i, int j) {
+        Object swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+   /***********************************************************************
+    *  Check if array is sorted - useful for debugging
+    ***********************************************************************/
+    private static boolean isSorted(Comparable[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(a[i], a[i-1])) return false;
+        return true;
+    }
+
+    private static boolean isSorted(Object[] a, Comparator c, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (less(c, a[i], a[i-1])) return false;
+        return true;
+    }
+}
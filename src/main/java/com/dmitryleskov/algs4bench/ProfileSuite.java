@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.logging.Logger;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.LinuxPerfNormProfiler;
+import org.openjdk.jmh.profile.ProfilerException;
+import org.openjdk.jmh.profile.StackProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks with the JMH gc and stack profilers, and the perfnorm
+ * profiler where Linux perf is available, then prints one line per
+ * benchmark and parameter combination with the score, bytes allocated per
+ * operation, the number of GCs, and CPU cycles, branch misses, L1 data
+ * cache and last level cache load misses per element sorted.
+ * <p>
+ * The arguments are those of the JMH command line, so the benchmarks,
+ * parameters, iterations and result file are chosen the usual way; see
+ * <tt>profile.sh</tt>. Elements per operation are the <tt>problemSize</tt>
+ * parameter or static field of the benchmark, times the number of sorts
+ * per operation for {@link CompareSorts}. Where neither is known, the
+ * per-element columns are per operation instead, and marked with a *.
+ *
+ * @author Dmitry Leskov
+ */
+public class ProfileSuite {
+
+    // perfnorm events, in report order, and their column headers
+    private static final String[] EVENTS = {"cycles", "branch-misses", "L1-dcache-load-misses", "LLC-load-misses"};
+    private static final String[] HEADERS = {"cycles/el", "br-miss/el", "L1-miss/el", "LLC-miss/el"};
+
+    // This class should not be instantiated.
+    private ProfileSuite() { }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .addProfiler(StackProfiler.class);
+        if (perfAvailable()) builder = builder.addProfiler(LinuxPerfNormProfiler.class);
+        else Logger.getLogger(ProfileSuite.class.getName()).warning(
+                "perf is not available, the report will have no cycles and cache misses");
+
+        Collection<RunResult> results = new Runner(builder.build()).run();
+        print(results, System.out);
+    }
+
+    private static boolean perfAvailable() {
+        try {
+            new LinuxPerfNormProfiler("");
+            return true;
+        } catch (ProfilerException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Prints the consolidated report of a profiled run.
+     * @param results the results of a run with the gc and perfnorm profilers
+     * @param out where to print
+     */
+    static void print(Collection<RunResult> results, PrintStream out) {
+        out.println();
+        out.printf("%-60s %14s %12s %8s", "Benchmark", "score", "B/op", "GCs");
+        for (String header : HEADERS) out.printf(" %12s", header);
+        out.println();
+        for (RunResult r : results) {
+            BenchmarkParams params = r.getParams();
+            Map<String, Result> secondary = r.getSecondaryResults();
+            long n = elementsPerOp(params);
+            Result primary = r.getPrimaryResult();
+            out.printf("%-60s %14s %12s %8s", label(params),
+                    String.format("%.3f %s", primary.getScore(), primary.getScoreUnit()),
+                    format(find(secondary, "gc.alloc.rate.norm"), 1),
+                    count(find(secondary, "gc.count")));
+            for (String event : EVENTS)
+                out.printf(" %12s", format(find(secondary, event), n));
+            out.println(n > 0 ? "" : " *");
+        }
+    }
+
+    // the result with the given label; JMH prefixes the labels of profiler
+    // results with a middle dot, perf may suffix events with a modifier
+    private static Result find(Map<String, Result> results, String label) {
+        for (Map.Entry<String, Result> e : results.entrySet()) {
+            String key = e.getKey();
+            if (key.startsWith("\u00b7")) key = key.substring(1);
+            if (key.equals(label) || key.startsWith(label + ":")) return e.getValue();
+        }
+        return null;
+    }
+
+    private static String format(Result result, long divisor) {
+        if (result == null) return "-";
+        return String.format("%.3f", result.getScore() / Math.max(divisor, 1));
+    }
+
+    private static String count(Result result) {
+        return result == null ? "-" : String.format("%.0f", result.getScore());
+    }
+
+    // elements sorted per operation, 0 if not known
+    static long elementsPerOp(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        String className = benchmark.substring(0, benchmark.lastIndexOf('.'));
+        String size = params.getParam("problemSize");
+        if (size != null) {
+            int n = Integer.parseInt(size);
+            return className.equals(CompareSorts.class.getName()) ? CompareSorts.elementsPerOp(n) : n;
+        }
+        try {
+            return Class.forName(className).getField("problemSize").getInt(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // the simple class name and the method, as in RegressionGate,
+    // followed by the parameter values
+    private static String label(BenchmarkParams params) {
+        String name = params.getBenchmark();
+        int method = name.lastIndexOf('.');
+        StringBuilder label = new StringBuilder(name.substring(name.lastIndexOf('.', method - 1) + 1));
+        for (String key : params.getParamsKeys())
+            label.append(' ').append(params.getParam(key));
+        return label.toString();
+    }
+}
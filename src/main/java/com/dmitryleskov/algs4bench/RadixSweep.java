@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * MergeX vs. LSD radix sort on int[] and long[], and vs. MSD radix sort
+ * on String[], from 2^10 to 2^22 elements, on every TestDataGenerator
+ * distribution. Scratch arrays for the primitive sorts are preallocated.
+ *
+ * @author Dmitry Leskov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class RadixSweep {
+
+    @Param({"constant", "interleaved", "sorted", "reverse", "inversions",
+            "random", "randomWithRepeats", "shuffled", "blockSkewed"})
+    public String test;
+
+    @Param({"1024", "16384", "262144", "1048576", "4194304"})
+    public int problemSize;
+
+    public int[] intData;
+    public long[] longData;
+    public String[] stringData;
+
+    private int[] ints, intAux;
+    private long[] longs, longAux;
+
+    @Setup
+    public void init() {
+        intData = new TestDataGenerator(problemSize).getIntData(test);
+        longData = new long[problemSize];
+        for (int i = 0; i < problemSize; i++)
+            longData[i] = (long) intData[i] << 32 | i;
+        stringData = TestDataGenerator.asStringArray(intData);
+        ints = new int[problemSize];
+        intAux = new int[problemSize];
+        longs = new long[problemSize];
+        longAux = new long[problemSize];
+    }
+
+    @Benchmark
+    public int[] testMergeXInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        MergeX.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] testLSDInt() {
+        System.arraycopy(intData, 0, ints, 0, problemSize);
+        LSD.sort(ints, intAux);
+        return ints;
+    }
+
+    @Benchmark
+    public long[] testMergeXLong() {
+        System.arraycopy(longData, 0, longs, 0, problemSize);
+        MergeX.sort(longs, longAux);
+        return longs;
+    }
+
+    @Benchmark
+    public long[] testLSDLong() {
+        System.arraycopy(longData, 0, longs, 0, problemSize);
+        LSD.sort(longs, longAux);
+        return longs;
+    }
+
+    // MSD allocates its scratch array, so both String sorts allocate
+    @Benchmark
+    public Comparable[] testMergeXString() {
+        String[] a = stringData.clone();
+        MergeX.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Comparable[] testMSDString() {
+        String[] a = stringData.clone();
+        MSD.sort(a);
+        return a;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + RadixSweep.class.getSimpleName() + ".*")
+                .forks(1)
+                .jvmArgs("-server")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
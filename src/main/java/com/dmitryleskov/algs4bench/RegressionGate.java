@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ *  The <tt>RegressionGate</tt> class keeps baselines of JMH results and
+ *  checks new results against them, so that an engine change can be
+ *  accepted or rejected on evidence rather than by reading CSV files.
+ *  <p>
+ *  Results are JMH CSV files, as written with <tt>-rf csv</tt>. Only
+ *  primary results are used; the secondary results of profilers and
+ *  auxiliary counters are ignored. A baseline is itself a JMH CSV file,
+ *  <tt>&lt;dir&gt;/&lt;machine&gt;.csv</tt>, where the machine is
+ *  {@link #fingerprint()} unless given, so that results from different
+ *  hosts or JVMs are never compared. Results are matched by benchmark,
+ *  mode and parameters, and must be in the same unit as their baselines.
+ *  <p>
+ *  A result is a regression when it is worse than the baseline by more
+ *  than the threshold and the 99.9% confidence intervals JMH reports for
+ *  the two do not overlap, so that a difference within the noise of
+ *  either run is not flagged. A result without an error estimate, from
+ *  fewer than two iterations, counts as exact.
+ *  <pre>
+ *  java -cp target/microbenchmarks.jar com.dmitryleskov.algs4bench.RegressionGate
+ *      save|check results.csv [-dir baselines] [-machine id] [-threshold percent]
+ *  </pre>
+ *  <tt>save</tt> adds the results to the baseline, replacing those with
+ *  the same key. <tt>check</tt> prints the comparison and exits with
+ *  status 1 if there is a regression, or 2 if there is no baseline for
+ *  the machine or a result is in another unit than its baseline.
+ *
+ *  @author Dmitry Leskov
+ */
+public class RegressionGate {
+
+    /**
+     * Default directory of the baselines.
+     */
+    public static final String DEFAULT_DIR = "baselines";
+
+    /**
+     * Default threshold of a regression, in percent.
+     */
+    public static final double DEFAULT_THRESHOLD = 5;
+
+    // This class should not be instantiated.
+    private RegressionGate() { }
+
+    // a primary result: a benchmark with its mode and parameters, and its
+    // score with the half-width of the 99.9% confidence interval
+    private static final class Row {
+        final String benchmark;
+        final String mode;
+        final int threads;
+        final int samples;
+        final double score;
+        final double error;
+        final String unit;
+        final Map<String, String> params;
+
+        Row(String benchmark, String mode, int threads, int samples,
+            double score, double error, String unit, Map<String, String> params) {
+            this.benchmark = benchmark;
+            this.mode = mode;
+            this.threads = threads;
+            this.samples = samples;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.params = params;
+        }
+
+        // benchmark, mode and parameters, which results are matched by
+        String key() {
+            // the simple class name and the method, as the package does not matter
+            int method = benchmark.lastIndexOf('.');
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', method - 1) + 1));
+            key.append(' ').append(mode);
+            for (Map.Entry<String, String> p : params.entrySet())
+                key.append(' ').append(p.getKey()).append('=').append(p.getValue());
+            return key.toString();
+        }
+
+        // are higher scores better?
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+
+        double lower() {
+            return Double.isNaN(error) ? score : score - error;
+        }
+
+        double upper() {
+            return Double.isNaN(error) ? score : score + error;
+        }
+    }
+
+    // how a result compares with its baseline
+    private enum Verdict { SAME, FASTER, SLOWER, NEW }
+
+    // compare a result with its baseline, which may be null
+    private static Verdict compare(Row baseline, Row current, double threshold) {
+        if (baseline == null) return Verdict.NEW;
+        double change = change(baseline, current);
+        boolean overlap = current.lower() <= baseline.upper() && baseline.lower() <= current.upper();
+        if (overlap || Math.abs(change) <= threshold) return Verdict.SAME;
+        return change > 0 ? Verdict.SLOWER : Verdict.FASTER;
+    }
+
+    // change from baseline to current in percent, positive if worse
+    private static double change(Row baseline, Row current) {
+        double change = (current.score - baseline.score) / baseline.score * 100;
+        return current.higherIsBetter() ? -change : change;
+    }
+
+   /***********************************************************************
+    *  JMH CSV files
+    ***********************************************************************/
+
+    // the primary results of a JMH CSV file by key, in file order
+    private static Map<String, Row> parse(List<String> lines) {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        if (lines.isEmpty()) return rows;
+        List<String> header = split(lines.get(0));
+        if (header.size() < 7 || !header.get(0).equals("Benchmark") || !header.get(4).equals("Score"))
+            throw new IllegalArgumentException("Not a JMH CSV header: " + lines.get(0));
+        for (int i = 1; i < lines.size(); i++) {
+            if (lines.get(i).trim().isEmpty()) continue;
+            List<String> f = split(lines.get(i));
+            if (f.size() != header.size())
+                throw new IllegalArgumentException("Line " + (i+1) + " has " + f.size()
+                        + " fields, expected " + header.size());
+            if (f.get(0).indexOf(':') >= 0) continue;   // secondary result
+            Map<String, String> params = new TreeMap<>();
+            for (int c = 7; c < f.size(); c++)
+                if (!f.get(c).isEmpty())
+                    params.put(header.get(c).replaceFirst("^Param: ", ""), f.get(c));
+            Row row = new Row(f.get(0), f.get(1), Integer.parseInt(f.get(2)), Integer.parseInt(f.get(3)),
+                    number(f.get(4)), number(f.get(5)), f.get(6), params);
+            rows.put(row.key(), row);
+        }
+        return rows;
+    }
+
+    // JMH writes NaN for a missing error
+    private static double number(String s) {
+        return s.equals("NaN") ? Double.NaN : Double.parseDouble(s);
+    }
+
+    // split a CSV line into fields, unquoting quoted ones
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') field.append(c);
+                else if (i + 1 < line.length() && line.charAt(i+1) == '"') field.append(line.charAt(++i));
+                else quoted = false;
+            }
+            else if (c == '"') quoted = true;
+            else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else field.append(c);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // format results as a JMH CSV file, with the union of their parameters
+    private static List<String> format(Iterable<Row> rows) {
+        TreeSet<String> names = new TreeSet<>();
+        for (Row row : rows) names.addAll(row.params.keySet());
+        List<String> lines = new ArrayList<>();
+        StringBuilder header = new StringBuilder(
+                "\"Benchmark\",\"Mode\",\"Threads\",\"Samples\",\"Score\",\"Score Error (99.9%)\",\"Unit\"");
+        for (String name : names) header.append(",\"Param: ").append(name).append('"');
+        lines.add(header.toString());
+        for (Row row : rows) {
+            StringBuilder line = new StringBuilder();
+            line.append(quote(row.benchmark)).append(',').append(quote(row.mode)).append(',')
+                .append(row.threads).append(',').append(row.samples).append(',')
+                .append(String.format(Locale.ROOT, "%f", row.score)).append(',')
+                .append(Double.isNaN(row.error) ? "NaN" : String.format(Locale.ROOT, "%f", row.error)).append(',')
+                .append(quote(row.unit));
+            for (String name : names) {
+                String value = row.params.get(name);
+                line.append(',');
+                if (value != null) line.append(quote(value));
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static String quote(String s) {
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+   /***********************************************************************
+    *  Baselines
+    ***********************************************************************/
+
+    /**
+     * Returns an identifier of this machine and JVM: the operating system,
+     * the architecture, the number of processors, the Java version and a
+     * hash of the CPU model and the JVM name.
+     * @return the fingerprint, usable as a file name
+     */
+    public static String fingerprint() {
+        String cpu = System.getProperty("os.arch");
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/cpuinfo"), StandardCharsets.US_ASCII))
+                if (line.startsWith("model name")) {
+                    cpu = line.substring(line.indexOf(':') + 1).trim();
+                    break;
+                }
+        } catch (IOException | RuntimeException e) {
+            // not Linux, the architecture has to do
+        }
+        String id = System.getProperty("os.name") + "-" + System.getProperty("os.arch")
+                + "-" + Runtime.getRuntime().availableProcessors() + "cpu"
+                + "-java" + System.getProperty("java.specification.version")
+                + "-" + String.format("%08x", (cpu + "/" + System.getProperty("java.vm.name")).hashCode());
+        return id.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9.-]+", "_");
+    }
+
+    private static Map<String, Row> read(Path file) throws IOException {
+        return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds results to a baseline, replacing those with the same benchmark,
+     * mode and parameters. The baseline is created if it does not exist.
+     * @param results a JMH CSV file
+     * @param baseline the baseline file
+     * @return the number of results saved
+     * @throws IOException if a file cannot be read or written
+     * @throws IllegalArgumentException if a file is not JMH CSV
+     */
+    public static int save(Path results, Path baseline) throws IOException {
+        Map<String, Row> current = read(results);
+        Map<String, Row> rows = Files.exists(baseline) ? read(baseline) : new LinkedHashMap<String, Row>();
+        rows.putAll(current);
+        Files.createDirectories(baseline.toAbsolutePath().getParent());
+        Files.write(baseline, format(rows.values()), StandardCharsets.UTF_8);
+        return current.size();
+    }
+
+    /**
+     * Compares results with a baseline and prints one line per result.
+     * @param results a JMH CSV file
+     * @param baseline the baseline file
+     * @param threshold the smallest change that counts, in percent
+     * @param out where to print
+     * @return the number of regressions
+     * @throws IOException if a file cannot be read
+     * @throws IllegalArgumentException if a file is not JMH CSV, or a result
+     * is in another unit than its baseline
+     */
+    public static int check(Path results, Path baseline, double threshold, PrintStream out) throws IOException {
+        Map<String, Row> base = read(baseline);
+        Map<String, Row> current = read(results);
+        // scores in different units, e.g. from another -tu, cannot be compared
+        for (Row row : current.values()) {
+            Row b = base.get(row.key());
+            if (b != null && !b.unit.equals(row.unit))
+                throw new IllegalArgumentException(row.key() + " is in " + row.unit
+                        + ", its baseline in " + b.unit);
+        }
+        int regressions = 0;
+        out.printf("%-60s %22s %22s %8s  %s%n", "Benchmark", "baseline", "current", "worse by", "verdict");
+        for (Row row : current.values()) {
+            Row b = base.get(row.key());
+            Verdict verdict = compare(b, row, threshold);
+            if (verdict == Verdict.SLOWER) regressions++;
+            out.printf("%-60s %22s %22s %8s  %s%n", row.key(),
+                    b == null ? "-" : score(b), score(row),
+                    b == null ? "-" : String.format("%+.1f%%", change(b, row)), verdict);
+        }
+        out.printf("%d regressions beyond %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !(args[0].equals("save") || args[0].equals("check"))) usage();
+        Path results = Paths.get(args[1]);
+        String dir = DEFAULT_DIR, machine = null;
+        double threshold = DEFAULT_THRESHOLD;
+        for (int i = 2; i < args.length; i++) {
+            if (i + 1 >= args.length) usage();
+            switch (args[i]) {
+                case "-dir":       dir = args[++i]; break;
+                case "-machine":   machine = args[++i]; break;
+                case "-threshold": threshold = Double.parseDouble(args[++i]); break;
+                default:           usage();
+            }
+        }
+        if (machine == null) machine = fingerprint();
+        Path baseline = Paths.get(dir, machine + ".csv");
+
+        if (args[0].equals("save")) {
+            System.out.println(save(results, baseline) + " results saved to " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.err.println("No baseline " + baseline + " for this machine, run save first");
+            System.exit(2);
+        }
+        int regressions = 0;
+        try {
+            regressions = check(results, baseline, threshold, System.out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static String score(Row row) {
+        return Double.isNaN(row.error) ? String.format("%.3f %s", row.score, row.unit)
+                                       : String.format("%.3f +- %.3f %s", row.score, row.error, row.unit);
+    }
+
+    private static void usage() {
+        System.err.println("Usage: RegressionGate save|check results.csv"
+                + " [-dir " + DEFAULT_DIR + "] [-machine id] [-threshold " + DEFAULT_THRESHOLD + "]");
+        System.exit(2);
+    }
+}
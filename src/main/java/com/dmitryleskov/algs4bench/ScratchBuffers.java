@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Arrays;
+
+/**
+ * Keeps scratch arrays between sorts, so that in steady state
+ * <tt>MergeX.sort(a, buffers.comparables(a.length))</tt> and friends
+ * allocate nothing.
+ * <p>
+ * Buffers only grow. An instance is not thread-safe: either give each
+ * worker its own instance, or use the per-thread one returned by
+ * {@link #forCurrentThread()}.
+ * <p>
+ * The reference buffer keeps whatever the last sort left in it reachable;
+ * call {@link #clear()} or {@link #release()} if that matters.
+ *
+ * @author Dmitry Leskov
+ */
+public class ScratchBuffers {
+
+    private static final ThreadLocal<ScratchBuffers> LOCAL = new ThreadLocal<ScratchBuffers>() {
+        @Override
+        protected ScratchBuffers initialValue() {
+            return new ScratchBuffers();
+        }
+    };
+
+    private Comparable[] comparables = new Comparable[0];
+    private int[] ints = new int[0];
+    private long[] longs = new long[0];
+    private double[] doubles = new double[0];
+
+    /**
+     * Returns the buffers owned by the current thread.
+     * @return the buffers owned by the current thread
+     */
+    public static ScratchBuffers forCurrentThread() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Returns a scratch array of at least the given length.
+     * @param n minimum length
+     * @return a scratch array of at least <tt>n</tt> elements
+     */
+    public Comparable[] comparables(int n) {
+        if (comparables.length < n) comparables = new Comparable[n];
+        return comparables;
+    }
+
+    /**
+     * Returns a scratch array of at least the given length.
+     * @param n minimum length
+     * @return a scratch array of at least <tt>n</tt> elements
+     */
+    public int[] ints(int n) {
+        if (ints.length < n) ints = new int[n];
+        return ints;
+    }
+
+    /**
+     * Returns a scratch array of at least the given length.
+     * @param n minimum length
+     * @return a scratch array of at least <tt>n</tt> elements
+     */
+    public long[] longs(int n) {
+        if (longs.length < n) longs = new long[n];
+        return longs;
+    }
+
+    /**
+     * Returns a scratch array of at least the given length.
+     * @param n minimum length
+     * @return a scratch array of at least <tt>n</tt> elements
+     */
+    public double[] doubles(int n) {
+        if (doubles.length < n) doubles = new double[n];
+        return doubles;
+    }
+
+    /**
+     * Drops the references left in the reference buffer, keeping the buffer.
+     */
+    public void clear() {
+        Arrays.fill(comparables, null);
+    }
+
+    /**
+     * Drops all buffers.
+     */
+    public void release() {
+        comparables = new Comparable[0];
+        ints = new int[0];
+        longs = new long[0];
+        doubles = new double[0];
+    }
+}
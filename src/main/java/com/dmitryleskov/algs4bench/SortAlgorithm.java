@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ * A sort engine for <tt>Comparable</tt> arrays, as listed by {@link SortAlgorithms}.
+ *
+ * @author Dmitry Leskov
+ */
+public interface SortAlgorithm {
+
+    /**
+     * Returns the name of the engine, the simple name of its class.
+     * @return the name of the engine
+     */
+    public String name();
+
+    /**
+     * Rearranges the array in ascending order, using the natural order.
+     * @param a the array to be sorted
+     * @param aux a scratch array at least as long as <tt>a</tt>, which
+     * engines that need one use instead of allocating their own; its
+     * contents are overwritten
+     */
+    public void sort(Comparable[] a, Comparable[] aux);
+}
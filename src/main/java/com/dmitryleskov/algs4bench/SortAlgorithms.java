@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sort engines of this project by name, so that a benchmark can pick
+ * one with a <tt>@Param</tt> and call it directly.
+ * <p>
+ * Every engine is a class of its own, so a call site that only ever sees
+ * one of them, as in a forked benchmark run, stays monomorphic and the
+ * call is inlined. Every engine that needs a scratch array sorts in
+ * <tt>aux</tt>, so none of them allocates per call; the insertion sorts
+ * need none and ignore it. ParallelMergeX runs in its default pool, whose
+ * worker threads are started by the first call.
+ *
+ * @author Dmitry Leskov
+ */
+public final class SortAlgorithms {
+
+    private static final Map<String, SortAlgorithm> ALGORITHMS = new LinkedHashMap<>();
+    static {
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "MergeX";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                MergeX.sort(a, aux);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "MergeXBinary";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                MergeXBinary.sort(a, aux);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "Merge";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                Merge.sort(a, aux);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "InsertionX";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                InsertionX.sort(a);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "BinaryInsertionX";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                BinaryInsertionX.sort(a);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "MergeXBU";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                MergeXBU.sort(a, aux, MergeXBU.DEFAULT_TILE);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "MergeXRuns";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                MergeXRuns.sort(a, aux);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "MergeXGallop";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                MergeXGallop.sort(a, aux);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "MergeXBranchless";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                MergeXBranchless.sort(a, aux);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "MergeX4";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                MergeX4.sort(a, aux);
+            }
+        });
+        register(new SortAlgorithm() {
+            @Override
+            public String name() {
+                return "ParallelMergeX";
+            }
+
+            @Override
+            public void sort(Comparable[] a, Comparable[] aux) {
+                ParallelMergeX.sort(a, aux);
+            }
+        });
+    }
+
+    // This class should not be instantiated.
+    private SortAlgorithms() { }
+
+    private static void register(SortAlgorithm algorithm) {
+        ALGORITHMS.put(algorithm.name(), algorithm);
+    }
+
+    /**
+     * Returns the engine with the given name.
+     * @param name the simple class name of the engine, such as <tt>MergeX</tt>
+     * @return the engine
+     * @throws IllegalArgumentException if there is no such engine
+     */
+    public static SortAlgorithm get(String name) {
+        SortAlgorithm algorithm = ALGORITHMS.get(name);
+        if (algorithm == null)
+            throw new IllegalArgumentException("No sort algorithm " + name + ", expected one of " + names());
+        return algorithm;
+    }
+
+    /**
+     * Returns the names of all engines.
+     * @return the names of all engines, in registration order
+     */
+    public static List<String> names() {
+        return Collections.unmodifiableList(new ArrayList<>(ALGORITHMS.keySet()));
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  The <tt>SortingNetworkGenerator</tt> class writes <tt>SortingNetworks.java</tt>,
+ *  straight-line sorting routines for every size from 2 to {@link #MAX_SIZE}.
+ *  <p>
+ *  Networks come from a table of the smallest known ones (Knuth, TAOCP 5.3.4,
+ *  and later searches), written layer by layer. Each candidate is checked
+ *  against all 2<sup>n</sup> inputs of zeros and ones, which by the 0-1
+ *  principle proves that it sorts. A size missing from the table, or whose
+ *  entry fails the check, gets the network of the next size with its top
+ *  wire removed, and size 16 falls back to Batcher's odd-even merge sort.
+ *  <p>
+ *  Usage: <tt>java SortingNetworkGenerator [file]</tt>, printing to standard
+ *  output without a file argument.
+ *
+ *  @author Dmitry Leskov
+ */
+public class SortingNetworkGenerator {
+
+    public static final int MAX_SIZE = 16;
+
+    // smallest known networks, comparators "i:j" with i < j, layers separated by "|"
+    private static final String[] KNOWN = new String[MAX_SIZE + 1];
+    static {
+        KNOWN[2] = "0:1";
+        KNOWN[3] = "0:2 | 0:1 | 1:2";
+        KNOWN[4] = "0:2 1:3 | 0:1 2:3 | 1:2";
+        KNOWN[5] = "0:3 1:4 | 0:2 1:3 | 0:1 2:4 | 1:2 3:4 | 2:3";
+        KNOWN[6] = "0:5 1:3 2:4 | 1:2 3:4 | 0:3 2:5 | 0:1 2:3 4:5 | 1:2 3:4";
+        KNOWN[7] = "0:6 2:3 4:5 | 0:2 1:4 3:6 | 0:1 2:5 3:4 | 1:2 4:6 | 2:3 4:5 | 1:2 3:4 5:6";
+        KNOWN[8] = "0:2 1:3 4:6 5:7 | 0:4 1:5 2:6 3:7 | 0:1 2:3 4:5 6:7 | 2:4 3:5 | 1:4 3:6 | 1:2 3:4 5:6";
+        KNOWN[9] = "0:3 1:7 2:5 4:8 | 0:7 2:4 3:8 5:6 | 0:2 1:3 4:5 7:8 | 1:4 3:6 5:7"
+                + " | 0:1 2:4 3:5 6:8 | 2:3 4:5 6:7 | 1:2 3:4 5:6";
+        KNOWN[10] = "0:8 1:9 2:7 3:5 4:6 | 0:2 1:4 5:8 7:9 | 0:3 2:4 5:7 6:9 | 0:1 3:6 8:9"
+                + " | 1:5 2:3 4:8 6:7 | 1:2 3:5 4:6 7:8 | 2:3 4:5 6:7 | 3:4 5:6";
+        KNOWN[11] = "0:9 1:6 2:4 3:7 5:8 | 0:1 3:5 4:10 6:9 7:8 | 1:3 2:5 4:7 8:10"
+                + " | 0:4 1:2 3:7 5:9 6:8 | 0:1 2:6 4:5 7:8 9:10 | 2:4 3:6 5:7 8:9"
+                + " | 1:2 3:4 5:6 7:8 | 2:3 4:5 6:7";
+        KNOWN[12] = "0:8 1:7 2:6 3:11 4:10 5:9 | 0:1 2:5 3:4 6:9 7:8 10:11 | 0:2 1:6 5:10 9:11"
+                + " | 0:3 1:2 4:6 5:7 8:11 9:10 | 1:4 3:5 6:8 7:10 | 1:3 2:5 6:9 8:10"
+                + " | 2:3 4:5 6:7 8:9 | 4:6 5:7 | 3:4 5:6 7:8";
+        KNOWN[13] = "0:12 1:10 2:9 3:7 5:11 6:8 | 1:6 2:3 4:11 7:9 8:10 | 0:4 1:2 3:6 7:8 9:10 11:12"
+                + " | 4:6 5:9 8:11 10:12 | 0:5 3:8 4:7 6:11 9:10 | 0:1 2:5 6:9 7:8 10:11"
+                + " | 1:3 2:4 5:6 9:10 | 1:2 3:4 5:7 6:8 | 2:3 4:5 6:7 8:9 | 3:4 5:6";
+        KNOWN[14] = "0:1 2:3 4:5 6:7 8:9 10:11 12:13 | 0:2 1:3 4:8 5:9 10:12 11:13"
+                + " | 0:4 1:2 3:7 5:8 6:10 9:13 11:12 | 0:6 1:5 3:9 4:10 7:13 8:12"
+                + " | 2:10 3:11 4:6 7:9 | 1:3 2:8 5:11 6:7 10:12 | 1:4 2:6 3:5 7:11 8:10 9:12"
+                + " | 2:4 3:6 5:8 7:10 9:11 | 3:4 5:6 7:8 9:10 | 6:7";
+        KNOWN[16] = "0:5 1:4 2:12 3:13 6:7 8:9 10:15 11:14 | 0:2 1:10 3:6 4:7 5:14 8:11 9:12 13:15"
+                + " | 0:8 1:3 2:11 4:13 5:9 6:10 7:15 12:14 | 0:1 2:4 3:8 5:6 7:12 9:10 11:13 14:15"
+                + " | 1:3 2:5 4:8 6:9 7:11 10:13 12:14 | 1:2 3:5 4:11 6:8 7:9 10:12 13:14"
+                + " | 2:3 4:5 6:7 8:9 10:11 12:13 | 4:6 5:7 8:10 9:11 | 3:4 5:6 7:8 9:10 11:12";
+    }
+
+    // This class should not be instantiated.
+    private SortingNetworkGenerator() { }
+
+    /**
+     * Returns a network that sorts <tt>n</tt> elements, as pairs of
+     * indices {i, j}, i &lt; j, of the comparators in the order they apply.
+     * @param n the number of elements, from 0 to {@link #MAX_SIZE}
+     * @return the comparators of the network
+     * @throws IllegalArgumentException if <tt>n</tt> is out of range
+     */
+    public static int[][] network(int n) {
+        if (n < 0 || n > MAX_SIZE)
+            throw new IllegalArgumentException("n(" + n + ") not in [0, " + MAX_SIZE + "]");
+        int[][] best = batcher(MAX_SIZE);
+        if (isSortingNetwork(MAX_SIZE, parse(KNOWN[MAX_SIZE])) && parse(KNOWN[MAX_SIZE]).length < best.length)
+            best = parse(KNOWN[MAX_SIZE]);
+        for (int size = MAX_SIZE - 1; size >= n; size--) {
+            best = removeTopWire(best, size);
+            if (KNOWN[size] != null) {
+                int[][] known = parse(KNOWN[size]);
+                if (known.length <= best.length && isSortingNetwork(size, known)) best = known;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks a network by the 0-1 principle: it sorts all inputs if it
+     * sorts all 2<sup>n</sup> sequences of zeros and ones.
+     * @param n the number of elements, at most 30
+     * @param network the comparators
+     * @return <tt>true</tt> if the network sorts every input of size <tt>n</tt>
+     */
+    public static boolean isSortingNetwork(int n, int[][] network) {
+        for (int x = 0; x < 1 << n; x++) {
+            int v = x;
+            for (int[] c : network) {
+                // move a one at c[0] up to c[1] if c[1] holds a zero
+                if ((v >> c[0] & 1) == 1 && (v >> c[1] & 1) == 0)
+                    v ^= (1 << c[0]) | (1 << c[1]);
+            }
+            // sorted zeros and ones: all ones on top
+            int ones = Integer.bitCount(v);
+            if (v != ((1 << n) - 1 & ~((1 << (n - ones)) - 1))) return false;
+        }
+        return true;
+    }
+
+    private static int[][] parse(String layers) {
+        List<int[]> network = new ArrayList<>();
+        for (String c : layers.replace('|', ' ').trim().split("\\s+")) {
+            String[] ends = c.split(":");
+            network.add(new int[] {Integer.parseInt(ends[0]), Integer.parseInt(ends[1])});
+        }
+        return network.toArray(new int[network.size()][]);
+    }
+
+    // feeding +infinity to the top wire of a sorting network turns the
+    // comparators on that wire into no-ops and leaves a network for one less
+    private static int[][] removeTopWire(int[][] network, int n) {
+        List<int[]> pruned = new ArrayList<>();
+        for (int[] c : network)
+            if (c[1] < n) pruned.add(c);
+        return pruned.toArray(new int[pruned.size()][]);
+    }
+
+    // Batcher's odd-even merge sort, n a power of two
+    private static int[][] batcher(int n) {
+        List<int[]> network = new ArrayList<>();
+        for (int p = 1; p < n; p <<= 1)
+            for (int k = p; k >= 1; k >>= 1)
+                for (int j = k % p; j + k < n; j += 2*k)
+                    for (int i = 0; i < k && i + j + k < n; i++)
+                        if ((i + j) / (2*p) == (i + j + k) / (2*p))
+                            network.add(new int[] {i + j, i + j + k});
+        return network.toArray(new int[network.size()][]);
+    }
+
+   /***********************************************************************
+    *  Code generation
+    ***********************************************************************/
+
+    public static void main(String[] args) throws IOException {
+        Writer w = args.length > 0
+                ? new OutputStreamWriter(new FileOutputStream(args[0]), "US-ASCII")
+                : new OutputStreamWriter(System.out, "US-ASCII");
+        try (PrintWriter out = new PrintWriter(w)) {
+            generate(out);
+        }
+    }
+
+    private static void generate(PrintWriter out) {
+        int[][][] networks = new int[MAX_SIZE + 1][][];
+        for (int n = 0; n <= MAX_SIZE; n++) {
+            networks[n] = network(n);
+            if (!isSortingNetwork(n, networks[n])) throw new AssertionError("network " + n);
+        }
+
+        out.println("/*");
+        out.println(" * Copyright (c) 2014, Dmitry Leskov. All rights reserved.");
+        out.println(" *");
+        out.println(" * This program is free software: you can redistribute it and/or modify");
+        out.println(" * it under the terms of the GNU General Public License as published by");
+        out.println(" * the Free Software Foundation, either version 3 of the License, or");
+        out.println(" * (at your option) any later version.");
+        out.println(" *");
+        out.println(" * This program is distributed in the hope that it will be useful,");
+        out.println(" * but WITHOUT ANY WARRANTY; without even the implied warranty of");
+        out.println(" * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the");
+        out.println(" * GNU General Public License for more details.");
+        out.println(" *");
+        out.println(" * You should have received a copy of the GNU General Public License");
+        out.println(" * along with this program.  If not, see <http://www.gnu.org/licenses/>.");
+        out.println(" */");
+        out.println();
+        out.println("// Generated by SortingNetworkGenerator, do not edit.");
+        out.println();
+        out.println("package com.dmitryleskov.algs4bench;");
+        out.println();
+        out.println("/**");
+        out.println(" *  The <tt>SortingNetworks</tt> class provides static methods for sorting");
+        out.println(" *  subarrays of up to {@link #MAX_SIZE} elements with fixed sorting networks,");
+        out.println(" *  loaded into locals and compare-exchanged in straight-line code. The");
+        out.println(" *  <tt>int</tt> versions use <tt>Math.min</tt> and <tt>Math.max</tt>, which");
+        out.println(" *  compile to conditional moves, so they do not branch on the data.");
+        out.println(" *  <p>");
+        out.println(" *  The sorts are not stable.");
+        out.println(" *  <p>");
+        out.println(" *  Comparators per size:");
+        StringBuilder sizes = new StringBuilder(" * ");
+        for (int n = 2; n <= MAX_SIZE; n++)
+            sizes.append(' ').append(n).append(':').append(networks[n].length);
+        out.println(sizes);
+        out.println(" *");
+        out.println(" *  @author Dmitry Leskov");
+        out.println(" */");
+        out.println("public class SortingNetworks {");
+        out.println();
+        out.println("    /**");
+        out.println("     * The largest subarray the networks sort.");
+        out.println("     */");
+        out.println("    public static final int MAX_SIZE = " + MAX_SIZE + ";");
+        out.println();
+        out.println("    private static final int[] COMPARATORS = {");
+        StringBuilder counts = new StringBuilder("       ");
+        for (int n = 0; n <= MAX_SIZE; n++)
+            counts.append(' ').append(networks[n].length).append(n < MAX_SIZE ? "," : "");
+        out.println(counts);
+        out.println("    };");
+        out.println();
+        out.println("    // This class should not be instantiated.");
+        out.println("    private SortingNetworks() { }");
+        out.println();
+        out.println("    /**");
+        out.println("     * Returns the number of comparators in the network for <tt>n</tt> elements.");
+        out.println("     * @param n the number of elements, at most {@link #MAX_SIZE}");
+        out.println("     * @return the number of comparators");
+        out.println("     */");
+        out.println("    public static int comparators(int n) {");
+        out.println("        return COMPARATORS[n];");
+        out.println("    }");
+
+        generateDispatcher(out, "Comparable[]", "in ascending order, using the natural order");
+        generateDispatcher(out, "int[]", "in ascending numerical order");
+        for (int n = 2; n <= MAX_SIZE; n++) generateComparable(out, n, networks[n]);
+        for (int n = 2; n <= MAX_SIZE; n++) generateInt(out, n, networks[n]);
+
+        out.println();
+        out.println("    private static boolean less(Comparable v, Comparable w) {");
+        out.println("        return v.compareTo(w) < 0;");
+        out.println("    }");
+        out.println("}");
+    }
+
+    private static void generateDispatcher(PrintWriter out, String type, String order) {
+        out.println();
+        out.println("    /**");
+        out.println("     * Rearranges a[lo .. hi] " + order + ".");
+        out.println("     * @param a the array");
+        out.println("     * @param lo the index of the first element");
+        out.println("     * @param hi the index of the last element");
+        out.println("     * @throws IllegalArgumentException if the subarray has more than");
+        out.println("     * {@link #MAX_SIZE} elements");
+        out.println("     */");
+        out.println("    public static void sort(" + type + " a, int lo, int hi) {");
+        out.println("        switch (hi - lo + 1) {");
+        for (int n = 2; n <= MAX_SIZE; n++)
+            out.println("            case " + n + ": sort" + n + "(a, lo); break;");
+        out.println("            default:");
+        out.println("                if (hi - lo >= MAX_SIZE)");
+        out.println("                    throw new IllegalArgumentException(\"size(\" + (hi - lo + 1) + \") > \" + MAX_SIZE);");
+        out.println("        }");
+        out.println("    }");
+    }
+
+    private static void generateComparable(PrintWriter out, int n, int[][] network) {
+        out.println();
+        out.println("    private static void sort" + n + "(Comparable[] a, int lo) {");
+        load(out, "Comparable", n);
+        out.println("        Comparable t;");
+        for (int[] c : network) {
+            String x = "a" + c[0], y = "a" + c[1];
+            out.println("        if (less(" + y + ", " + x + ")) { t = " + x + "; " + x + " = " + y + "; " + y + " = t; }");
+        }
+        store(out, n);
+        out.println("    }");
+    }
+
+    private static void generateInt(PrintWriter out, int n, int[][] network) {
+        out.println();
+        out.println("    private static void sort" + n + "(int[] a, int lo) {");
+        load(out, "int", n);
+        out.println("        int t;");
+        for (int[] c : network) {
+            String x = "a" + c[0], y = "a" + c[1];
+            out.println("        t = Math.min(" + x + ", " + y + "); " + y + " = Math.max(" + x + ", " + y + "); " + x + " = t;");
+        }
+        store(out, n);
+        out.println("    }");
+    }
+
+    private static void load(PrintWriter out, String type, int n) {
+        for (int i = 0; i < n; i++)
+            out.println("        " + type + " a" + i + " = a[lo" + (i == 0 ? "" : " + " + i) + "];");
+    }
+
+    private static void store(PrintWriter out, int n) {
+        for (int i = 0; i < n; i++)
+            out.println("        a[lo" + (i == 0 ? "" : " + " + i) + "] = a" + i + ";");
+    }
+}
@@ -0,0 +1,1598 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+// Generated by SortingNetworkGenerator, do not edit.
+
+package com.dmitryleskov.algs4bench;
+
+/**
+ *  The <tt>SortingNetworks</tt> class provides static methods for sorting
+ *  subarrays of up to {@link #MAX_SIZE} elements with fixed sorting networks,
+ *  loaded into locals and compare-exchanged in straight-line code. The
+ *  <tt>int</tt> versions use <tt>Math.min</tt> and <tt>Math.max</tt>, which
+ *  compile to conditional moves, so they do not branch on the data.
+ *  <p>
+ *  The sorts are not stable.
+ *  <p>
+ *  Comparators per size:
+ *  2:1 3:3 4:5 5:9 6:12 7:16 8:19 9:25 10:29 11:35 12:39 13:45 14:51 15:57 16:61
+ *
+ *  @author Dmitry Leskov
+ */
+public class SortingNetworks {
+
+    /**
+     * The largest subarray the networks sort.
+     */
+    public static final int MAX_SIZE = 16;
+
+    private static final int[] COMPARATORS = {
+        0, 0, 1, 3, 5, 9, 12, 16, 19, 25, 29, 35, 39, 45, 51, 57, 61
+    };
+
+    // This class should not be instantiated.
+    private SortingNetworks() { }
+
+    /**
+     * Returns the number of comparators in the network for <tt>n</tt> elements.
+     * @param n the number of elements, at most {@link #MAX_SIZE}
+     * @return the number of comparators
+     */
+    public static int comparators(int n) {
+        return COMPARATORS[n];
+    }
+
+    /**
+     * Rearranges a[lo .. hi] in ascending order, using the natural order.
+     * @param a the array
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     * @throws IllegalArgumentException if the subarray has more than
+     * {@link #MAX_SIZE} elements
+     */
+    public static void sort(Comparable[] a, int lo, int hi) {
+        switch (hi - lo + 1) {
+            case 2: sort2(a, lo); break;
+            case 3: sort3(a, lo); break;
+            case 4: sort4(a, lo); break;
+            case 5: sort5(a, lo); break;
+            case 6: sort6(a, lo); break;
+            case 7: sort7(a, lo); break;
+            case 8: sort8(a, lo); break;
+            case 9: sort9(a, lo); break;
+            case 10: sort10(a, lo); break;
+            case 11: sort11(a, lo); break;
+            case 12: sort12(a, lo); break;
+            case 13: sort13(a, lo); break;
+            case 14: sort14(a, lo); break;
+            case 15: sort15(a, lo); break;
+            case 16: sort16(a, lo); break;
+            default:
+                if (hi - lo >= MAX_SIZE)
+                    throw new IllegalArgumentException("size(" + (hi - lo + 1) + ") > " + MAX_SIZE);
+        }
+    }
+
+    /**
+     * Rearranges a[lo .. hi] in ascending numerical order.
+     * @param a the array
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     * @throws IllegalArgumentException if the subarray has more than
+     * {@link #MAX_SIZE} elements
+     */
+    public static void sort(int[] a, int lo, int hi) {
+        switch (hi - lo + 1) {
+            case 2: sort2(a, lo); break;
+            case 3: sort3(a, lo); break;
+            case 4: sort4(a, lo); break;
+            case 5: sort5(a, lo); break;
+            case 6: sort6(a, lo); break;
+            case 7: sort7(a, lo); break;
+            case 8: sort8(a, lo); break;
+            case 9: sort9(a, lo); break;
+            case 10: sort10(a, lo); break;
+            case 11: sort11(a, lo); break;
+            case 12: sort12(a, lo); break;
+            case 13: sort13(a, lo); break;
+            case 14: sort14(a, lo); break;
+            case 15: sort15(a, lo); break;
+            case 16: sort16(a, lo); break;
+            default:
+                if (hi - lo >= MAX_SIZE)
+                    throw new IllegalArgumentException("size(" + (hi - lo + 1) + ") > " + MAX_SIZE);
+        }
+    }
+
+    private static void sort2(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable t;
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+    }
+
+    private static void sort3(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable t;
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+    }
+
+    private static void sort4(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable t;
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+    }
+
+    private static void sort5(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable t;
+        if (less(a3, a0)) { t = a0; a0 = a3; a3 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+    }
+
+    private static void sort6(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable t;
+        if (less(a5, a0)) { t = a0; a0 = a5; a5 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a3, a0)) { t = a0; a0 = a3; a3 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+    }
+
+    private static void sort7(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable t;
+        if (less(a6, a0)) { t = a0; a0 = a6; a6 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+    }
+
+    private static void sort8(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable t;
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a4, a0)) { t = a0; a0 = a4; a4 = t; }
+        if (less(a5, a1)) { t = a1; a1 = a5; a5 = t; }
+        if (less(a6, a2)) { t = a2; a2 = a6; a6 = t; }
+        if (less(a7, a3)) { t = a3; a3 = a7; a7 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+    }
+
+    private static void sort9(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable a8 = a[lo + 8];
+        Comparable t;
+        if (less(a3, a0)) { t = a0; a0 = a3; a3 = t; }
+        if (less(a7, a1)) { t = a1; a1 = a7; a7 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a8, a4)) { t = a4; a4 = a8; a8 = t; }
+        if (less(a7, a0)) { t = a0; a0 = a7; a7 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a8, a3)) { t = a3; a3 = a8; a8 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a8, a6)) { t = a6; a6 = a8; a8 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+    }
+
+    private static void sort10(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable a8 = a[lo + 8];
+        Comparable a9 = a[lo + 9];
+        Comparable t;
+        if (less(a8, a0)) { t = a0; a0 = a8; a8 = t; }
+        if (less(a9, a1)) { t = a1; a1 = a9; a9 = t; }
+        if (less(a7, a2)) { t = a2; a2 = a7; a7 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a8, a5)) { t = a5; a5 = a8; a8 = t; }
+        if (less(a9, a7)) { t = a7; a7 = a9; a9 = t; }
+        if (less(a3, a0)) { t = a0; a0 = a3; a3 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a9, a6)) { t = a6; a6 = a9; a9 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a5, a1)) { t = a1; a1 = a5; a5 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a8, a4)) { t = a4; a4 = a8; a8 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+    }
+
+    private static void sort11(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable a8 = a[lo + 8];
+        Comparable a9 = a[lo + 9];
+        Comparable a10 = a[lo + 10];
+        Comparable t;
+        if (less(a9, a0)) { t = a0; a0 = a9; a9 = t; }
+        if (less(a6, a1)) { t = a1; a1 = a6; a6 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a7, a3)) { t = a3; a3 = a7; a7 = t; }
+        if (less(a8, a5)) { t = a5; a5 = a8; a8 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a10, a4)) { t = a4; a4 = a10; a10 = t; }
+        if (less(a9, a6)) { t = a6; a6 = a9; a9 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a7, a4)) { t = a4; a4 = a7; a7 = t; }
+        if (less(a10, a8)) { t = a8; a8 = a10; a10 = t; }
+        if (less(a4, a0)) { t = a0; a0 = a4; a4 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a7, a3)) { t = a3; a3 = a7; a7 = t; }
+        if (less(a9, a5)) { t = a5; a5 = a9; a9 = t; }
+        if (less(a8, a6)) { t = a6; a6 = a8; a8 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a6, a2)) { t = a2; a2 = a6; a6 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+    }
+
+    private static void sort12(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable a8 = a[lo + 8];
+        Comparable a9 = a[lo + 9];
+        Comparable a10 = a[lo + 10];
+        Comparable a11 = a[lo + 11];
+        Comparable t;
+        if (less(a8, a0)) { t = a0; a0 = a8; a8 = t; }
+        if (less(a7, a1)) { t = a1; a1 = a7; a7 = t; }
+        if (less(a6, a2)) { t = a2; a2 = a6; a6 = t; }
+        if (less(a11, a3)) { t = a3; a3 = a11; a11 = t; }
+        if (less(a10, a4)) { t = a4; a4 = a10; a10 = t; }
+        if (less(a9, a5)) { t = a5; a5 = a9; a9 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a9, a6)) { t = a6; a6 = a9; a9 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a11, a10)) { t = a10; a10 = a11; a11 = t; }
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a6, a1)) { t = a1; a1 = a6; a6 = t; }
+        if (less(a10, a5)) { t = a5; a5 = a10; a10 = t; }
+        if (less(a11, a9)) { t = a9; a9 = a11; a11 = t; }
+        if (less(a3, a0)) { t = a0; a0 = a3; a3 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a11, a8)) { t = a8; a8 = a11; a11 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a8, a6)) { t = a6; a6 = a8; a8 = t; }
+        if (less(a10, a7)) { t = a7; a7 = a10; a10 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a9, a6)) { t = a6; a6 = a9; a9 = t; }
+        if (less(a10, a8)) { t = a8; a8 = a10; a10 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+    }
+
+    private static void sort13(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable a8 = a[lo + 8];
+        Comparable a9 = a[lo + 9];
+        Comparable a10 = a[lo + 10];
+        Comparable a11 = a[lo + 11];
+        Comparable a12 = a[lo + 12];
+        Comparable t;
+        if (less(a12, a0)) { t = a0; a0 = a12; a12 = t; }
+        if (less(a10, a1)) { t = a1; a1 = a10; a10 = t; }
+        if (less(a9, a2)) { t = a2; a2 = a9; a9 = t; }
+        if (less(a7, a3)) { t = a3; a3 = a7; a7 = t; }
+        if (less(a11, a5)) { t = a5; a5 = a11; a11 = t; }
+        if (less(a8, a6)) { t = a6; a6 = a8; a8 = t; }
+        if (less(a6, a1)) { t = a1; a1 = a6; a6 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a11, a4)) { t = a4; a4 = a11; a11 = t; }
+        if (less(a9, a7)) { t = a7; a7 = a9; a9 = t; }
+        if (less(a10, a8)) { t = a8; a8 = a10; a10 = t; }
+        if (less(a4, a0)) { t = a0; a0 = a4; a4 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a12, a11)) { t = a11; a11 = a12; a12 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a9, a5)) { t = a5; a5 = a9; a9 = t; }
+        if (less(a11, a8)) { t = a8; a8 = a11; a11 = t; }
+        if (less(a12, a10)) { t = a10; a10 = a12; a12 = t; }
+        if (less(a5, a0)) { t = a0; a0 = a5; a5 = t; }
+        if (less(a8, a3)) { t = a3; a3 = a8; a8 = t; }
+        if (less(a7, a4)) { t = a4; a4 = a7; a7 = t; }
+        if (less(a11, a6)) { t = a6; a6 = a11; a11 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a9, a6)) { t = a6; a6 = a9; a9 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a11, a10)) { t = a10; a10 = a11; a11 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a8, a6)) { t = a6; a6 = a8; a8 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+        a[lo + 12] = a12;
+    }
+
+    private static void sort14(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable a8 = a[lo + 8];
+        Comparable a9 = a[lo + 9];
+        Comparable a10 = a[lo + 10];
+        Comparable a11 = a[lo + 11];
+        Comparable a12 = a[lo + 12];
+        Comparable a13 = a[lo + 13];
+        Comparable t;
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a11, a10)) { t = a10; a10 = a11; a11 = t; }
+        if (less(a13, a12)) { t = a12; a12 = a13; a13 = t; }
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a8, a4)) { t = a4; a4 = a8; a8 = t; }
+        if (less(a9, a5)) { t = a5; a5 = a9; a9 = t; }
+        if (less(a12, a10)) { t = a10; a10 = a12; a12 = t; }
+        if (less(a13, a11)) { t = a11; a11 = a13; a13 = t; }
+        if (less(a4, a0)) { t = a0; a0 = a4; a4 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a7, a3)) { t = a3; a3 = a7; a7 = t; }
+        if (less(a8, a5)) { t = a5; a5 = a8; a8 = t; }
+        if (less(a10, a6)) { t = a6; a6 = a10; a10 = t; }
+        if (less(a13, a9)) { t = a9; a9 = a13; a13 = t; }
+        if (less(a12, a11)) { t = a11; a11 = a12; a12 = t; }
+        if (less(a6, a0)) { t = a0; a0 = a6; a6 = t; }
+        if (less(a5, a1)) { t = a1; a1 = a5; a5 = t; }
+        if (less(a9, a3)) { t = a3; a3 = a9; a9 = t; }
+        if (less(a10, a4)) { t = a4; a4 = a10; a10 = t; }
+        if (less(a13, a7)) { t = a7; a7 = a13; a13 = t; }
+        if (less(a12, a8)) { t = a8; a8 = a12; a12 = t; }
+        if (less(a10, a2)) { t = a2; a2 = a10; a10 = t; }
+        if (less(a11, a3)) { t = a3; a3 = a11; a11 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a9, a7)) { t = a7; a7 = a9; a9 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a8, a2)) { t = a2; a2 = a8; a8 = t; }
+        if (less(a11, a5)) { t = a5; a5 = a11; a11 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a12, a10)) { t = a10; a10 = a12; a12 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a6, a2)) { t = a2; a2 = a6; a6 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a11, a7)) { t = a7; a7 = a11; a11 = t; }
+        if (less(a10, a8)) { t = a8; a8 = a10; a10 = t; }
+        if (less(a12, a9)) { t = a9; a9 = a12; a12 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a8, a5)) { t = a5; a5 = a8; a8 = t; }
+        if (less(a10, a7)) { t = a7; a7 = a10; a10 = t; }
+        if (less(a11, a9)) { t = a9; a9 = a11; a11 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+        a[lo + 12] = a12;
+        a[lo + 13] = a13;
+    }
+
+    private static void sort15(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable a8 = a[lo + 8];
+        Comparable a9 = a[lo + 9];
+        Comparable a10 = a[lo + 10];
+        Comparable a11 = a[lo + 11];
+        Comparable a12 = a[lo + 12];
+        Comparable a13 = a[lo + 13];
+        Comparable a14 = a[lo + 14];
+        Comparable t;
+        if (less(a5, a0)) { t = a0; a0 = a5; a5 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a12, a2)) { t = a2; a2 = a12; a12 = t; }
+        if (less(a13, a3)) { t = a3; a3 = a13; a13 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a14, a11)) { t = a11; a11 = a14; a14 = t; }
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a10, a1)) { t = a1; a1 = a10; a10 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a7, a4)) { t = a4; a4 = a7; a7 = t; }
+        if (less(a14, a5)) { t = a5; a5 = a14; a14 = t; }
+        if (less(a11, a8)) { t = a8; a8 = a11; a11 = t; }
+        if (less(a12, a9)) { t = a9; a9 = a12; a12 = t; }
+        if (less(a8, a0)) { t = a0; a0 = a8; a8 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a11, a2)) { t = a2; a2 = a11; a11 = t; }
+        if (less(a13, a4)) { t = a4; a4 = a13; a13 = t; }
+        if (less(a9, a5)) { t = a5; a5 = a9; a9 = t; }
+        if (less(a10, a6)) { t = a6; a6 = a10; a10 = t; }
+        if (less(a14, a12)) { t = a12; a12 = a14; a14 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a8, a3)) { t = a3; a3 = a8; a8 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a12, a7)) { t = a7; a7 = a12; a12 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a13, a11)) { t = a11; a11 = a13; a13 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a8, a4)) { t = a4; a4 = a8; a8 = t; }
+        if (less(a9, a6)) { t = a6; a6 = a9; a9 = t; }
+        if (less(a11, a7)) { t = a7; a7 = a11; a11 = t; }
+        if (less(a13, a10)) { t = a10; a10 = a13; a13 = t; }
+        if (less(a14, a12)) { t = a12; a12 = a14; a14 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a11, a4)) { t = a4; a4 = a11; a11 = t; }
+        if (less(a8, a6)) { t = a6; a6 = a8; a8 = t; }
+        if (less(a9, a7)) { t = a7; a7 = a9; a9 = t; }
+        if (less(a12, a10)) { t = a10; a10 = a12; a12 = t; }
+        if (less(a14, a13)) { t = a13; a13 = a14; a14 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a11, a10)) { t = a10; a10 = a11; a11 = t; }
+        if (less(a13, a12)) { t = a12; a12 = a13; a13 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a10, a8)) { t = a8; a8 = a10; a10 = t; }
+        if (less(a11, a9)) { t = a9; a9 = a11; a11 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a12, a11)) { t = a11; a11 = a12; a12 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+        a[lo + 12] = a12;
+        a[lo + 13] = a13;
+        a[lo + 14] = a14;
+    }
+
+    private static void sort16(Comparable[] a, int lo) {
+        Comparable a0 = a[lo];
+        Comparable a1 = a[lo + 1];
+        Comparable a2 = a[lo + 2];
+        Comparable a3 = a[lo + 3];
+        Comparable a4 = a[lo + 4];
+        Comparable a5 = a[lo + 5];
+        Comparable a6 = a[lo + 6];
+        Comparable a7 = a[lo + 7];
+        Comparable a8 = a[lo + 8];
+        Comparable a9 = a[lo + 9];
+        Comparable a10 = a[lo + 10];
+        Comparable a11 = a[lo + 11];
+        Comparable a12 = a[lo + 12];
+        Comparable a13 = a[lo + 13];
+        Comparable a14 = a[lo + 14];
+        Comparable a15 = a[lo + 15];
+        Comparable t;
+        if (less(a5, a0)) { t = a0; a0 = a5; a5 = t; }
+        if (less(a4, a1)) { t = a1; a1 = a4; a4 = t; }
+        if (less(a12, a2)) { t = a2; a2 = a12; a12 = t; }
+        if (less(a13, a3)) { t = a3; a3 = a13; a13 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a15, a10)) { t = a10; a10 = a15; a15 = t; }
+        if (less(a14, a11)) { t = a11; a11 = a14; a14 = t; }
+        if (less(a2, a0)) { t = a0; a0 = a2; a2 = t; }
+        if (less(a10, a1)) { t = a1; a1 = a10; a10 = t; }
+        if (less(a6, a3)) { t = a3; a3 = a6; a6 = t; }
+        if (less(a7, a4)) { t = a4; a4 = a7; a7 = t; }
+        if (less(a14, a5)) { t = a5; a5 = a14; a14 = t; }
+        if (less(a11, a8)) { t = a8; a8 = a11; a11 = t; }
+        if (less(a12, a9)) { t = a9; a9 = a12; a12 = t; }
+        if (less(a15, a13)) { t = a13; a13 = a15; a15 = t; }
+        if (less(a8, a0)) { t = a0; a0 = a8; a8 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a11, a2)) { t = a2; a2 = a11; a11 = t; }
+        if (less(a13, a4)) { t = a4; a4 = a13; a13 = t; }
+        if (less(a9, a5)) { t = a5; a5 = a9; a9 = t; }
+        if (less(a10, a6)) { t = a6; a6 = a10; a10 = t; }
+        if (less(a15, a7)) { t = a7; a7 = a15; a15 = t; }
+        if (less(a14, a12)) { t = a12; a12 = a14; a14 = t; }
+        if (less(a1, a0)) { t = a0; a0 = a1; a1 = t; }
+        if (less(a4, a2)) { t = a2; a2 = a4; a4 = t; }
+        if (less(a8, a3)) { t = a3; a3 = a8; a8 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a12, a7)) { t = a7; a7 = a12; a12 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a13, a11)) { t = a11; a11 = a13; a13 = t; }
+        if (less(a15, a14)) { t = a14; a14 = a15; a15 = t; }
+        if (less(a3, a1)) { t = a1; a1 = a3; a3 = t; }
+        if (less(a5, a2)) { t = a2; a2 = a5; a5 = t; }
+        if (less(a8, a4)) { t = a4; a4 = a8; a8 = t; }
+        if (less(a9, a6)) { t = a6; a6 = a9; a9 = t; }
+        if (less(a11, a7)) { t = a7; a7 = a11; a11 = t; }
+        if (less(a13, a10)) { t = a10; a10 = a13; a13 = t; }
+        if (less(a14, a12)) { t = a12; a12 = a14; a14 = t; }
+        if (less(a2, a1)) { t = a1; a1 = a2; a2 = t; }
+        if (less(a5, a3)) { t = a3; a3 = a5; a5 = t; }
+        if (less(a11, a4)) { t = a4; a4 = a11; a11 = t; }
+        if (less(a8, a6)) { t = a6; a6 = a8; a8 = t; }
+        if (less(a9, a7)) { t = a7; a7 = a9; a9 = t; }
+        if (less(a12, a10)) { t = a10; a10 = a12; a12 = t; }
+        if (less(a14, a13)) { t = a13; a13 = a14; a14 = t; }
+        if (less(a3, a2)) { t = a2; a2 = a3; a3 = t; }
+        if (less(a5, a4)) { t = a4; a4 = a5; a5 = t; }
+        if (less(a7, a6)) { t = a6; a6 = a7; a7 = t; }
+        if (less(a9, a8)) { t = a8; a8 = a9; a9 = t; }
+        if (less(a11, a10)) { t = a10; a10 = a11; a11 = t; }
+        if (less(a13, a12)) { t = a12; a12 = a13; a13 = t; }
+        if (less(a6, a4)) { t = a4; a4 = a6; a6 = t; }
+        if (less(a7, a5)) { t = a5; a5 = a7; a7 = t; }
+        if (less(a10, a8)) { t = a8; a8 = a10; a10 = t; }
+        if (less(a11, a9)) { t = a9; a9 = a11; a11 = t; }
+        if (less(a4, a3)) { t = a3; a3 = a4; a4 = t; }
+        if (less(a6, a5)) { t = a5; a5 = a6; a6 = t; }
+        if (less(a8, a7)) { t = a7; a7 = a8; a8 = t; }
+        if (less(a10, a9)) { t = a9; a9 = a10; a10 = t; }
+        if (less(a12, a11)) { t = a11; a11 = a12; a12 = t; }
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+        a[lo + 12] = a12;
+        a[lo + 13] = a13;
+        a[lo + 14] = a14;
+        a[lo + 15] = a15;
+    }
+
+    private static void sort2(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+    }
+
+    private static void sort3(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+    }
+
+    private static void sort4(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+    }
+
+    private static void sort5(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int t;
+        t = Math.min(a0, a3); a3 = Math.max(a0, a3); a0 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+    }
+
+    private static void sort6(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int t;
+        t = Math.min(a0, a5); a5 = Math.max(a0, a5); a0 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a0, a3); a3 = Math.max(a0, a3); a0 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+    }
+
+    private static void sort7(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int t;
+        t = Math.min(a0, a6); a6 = Math.max(a0, a6); a0 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+    }
+
+    private static void sort8(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a0, a4); a4 = Math.max(a0, a4); a0 = t;
+        t = Math.min(a1, a5); a5 = Math.max(a1, a5); a1 = t;
+        t = Math.min(a2, a6); a6 = Math.max(a2, a6); a2 = t;
+        t = Math.min(a3, a7); a7 = Math.max(a3, a7); a3 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+    }
+
+    private static void sort9(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int a8 = a[lo + 8];
+        int t;
+        t = Math.min(a0, a3); a3 = Math.max(a0, a3); a0 = t;
+        t = Math.min(a1, a7); a7 = Math.max(a1, a7); a1 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a4, a8); a8 = Math.max(a4, a8); a4 = t;
+        t = Math.min(a0, a7); a7 = Math.max(a0, a7); a0 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a3, a8); a8 = Math.max(a3, a8); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a6, a8); a8 = Math.max(a6, a8); a6 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+    }
+
+    private static void sort10(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int a8 = a[lo + 8];
+        int a9 = a[lo + 9];
+        int t;
+        t = Math.min(a0, a8); a8 = Math.max(a0, a8); a0 = t;
+        t = Math.min(a1, a9); a9 = Math.max(a1, a9); a1 = t;
+        t = Math.min(a2, a7); a7 = Math.max(a2, a7); a2 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a5, a8); a8 = Math.max(a5, a8); a5 = t;
+        t = Math.min(a7, a9); a9 = Math.max(a7, a9); a7 = t;
+        t = Math.min(a0, a3); a3 = Math.max(a0, a3); a0 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a6, a9); a9 = Math.max(a6, a9); a6 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a1, a5); a5 = Math.max(a1, a5); a1 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a8); a8 = Math.max(a4, a8); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+    }
+
+    private static void sort11(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int a8 = a[lo + 8];
+        int a9 = a[lo + 9];
+        int a10 = a[lo + 10];
+        int t;
+        t = Math.min(a0, a9); a9 = Math.max(a0, a9); a0 = t;
+        t = Math.min(a1, a6); a6 = Math.max(a1, a6); a1 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a3, a7); a7 = Math.max(a3, a7); a3 = t;
+        t = Math.min(a5, a8); a8 = Math.max(a5, a8); a5 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a4, a10); a10 = Math.max(a4, a10); a4 = t;
+        t = Math.min(a6, a9); a9 = Math.max(a6, a9); a6 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a4, a7); a7 = Math.max(a4, a7); a4 = t;
+        t = Math.min(a8, a10); a10 = Math.max(a8, a10); a8 = t;
+        t = Math.min(a0, a4); a4 = Math.max(a0, a4); a0 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a7); a7 = Math.max(a3, a7); a3 = t;
+        t = Math.min(a5, a9); a9 = Math.max(a5, a9); a5 = t;
+        t = Math.min(a6, a8); a8 = Math.max(a6, a8); a6 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a6); a6 = Math.max(a2, a6); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+    }
+
+    private static void sort12(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int a8 = a[lo + 8];
+        int a9 = a[lo + 9];
+        int a10 = a[lo + 10];
+        int a11 = a[lo + 11];
+        int t;
+        t = Math.min(a0, a8); a8 = Math.max(a0, a8); a0 = t;
+        t = Math.min(a1, a7); a7 = Math.max(a1, a7); a1 = t;
+        t = Math.min(a2, a6); a6 = Math.max(a2, a6); a2 = t;
+        t = Math.min(a3, a11); a11 = Math.max(a3, a11); a3 = t;
+        t = Math.min(a4, a10); a10 = Math.max(a4, a10); a4 = t;
+        t = Math.min(a5, a9); a9 = Math.max(a5, a9); a5 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a6, a9); a9 = Math.max(a6, a9); a6 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a10, a11); a11 = Math.max(a10, a11); a10 = t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a6); a6 = Math.max(a1, a6); a1 = t;
+        t = Math.min(a5, a10); a10 = Math.max(a5, a10); a5 = t;
+        t = Math.min(a9, a11); a11 = Math.max(a9, a11); a9 = t;
+        t = Math.min(a0, a3); a3 = Math.max(a0, a3); a0 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a8, a11); a11 = Math.max(a8, a11); a8 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a6, a8); a8 = Math.max(a6, a8); a6 = t;
+        t = Math.min(a7, a10); a10 = Math.max(a7, a10); a7 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a6, a9); a9 = Math.max(a6, a9); a6 = t;
+        t = Math.min(a8, a10); a10 = Math.max(a8, a10); a8 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+    }
+
+    private static void sort13(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int a8 = a[lo + 8];
+        int a9 = a[lo + 9];
+        int a10 = a[lo + 10];
+        int a11 = a[lo + 11];
+        int a12 = a[lo + 12];
+        int t;
+        t = Math.min(a0, a12); a12 = Math.max(a0, a12); a0 = t;
+        t = Math.min(a1, a10); a10 = Math.max(a1, a10); a1 = t;
+        t = Math.min(a2, a9); a9 = Math.max(a2, a9); a2 = t;
+        t = Math.min(a3, a7); a7 = Math.max(a3, a7); a3 = t;
+        t = Math.min(a5, a11); a11 = Math.max(a5, a11); a5 = t;
+        t = Math.min(a6, a8); a8 = Math.max(a6, a8); a6 = t;
+        t = Math.min(a1, a6); a6 = Math.max(a1, a6); a1 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a11); a11 = Math.max(a4, a11); a4 = t;
+        t = Math.min(a7, a9); a9 = Math.max(a7, a9); a7 = t;
+        t = Math.min(a8, a10); a10 = Math.max(a8, a10); a8 = t;
+        t = Math.min(a0, a4); a4 = Math.max(a0, a4); a0 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a11, a12); a12 = Math.max(a11, a12); a11 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a5, a9); a9 = Math.max(a5, a9); a5 = t;
+        t = Math.min(a8, a11); a11 = Math.max(a8, a11); a8 = t;
+        t = Math.min(a10, a12); a12 = Math.max(a10, a12); a10 = t;
+        t = Math.min(a0, a5); a5 = Math.max(a0, a5); a0 = t;
+        t = Math.min(a3, a8); a8 = Math.max(a3, a8); a3 = t;
+        t = Math.min(a4, a7); a7 = Math.max(a4, a7); a4 = t;
+        t = Math.min(a6, a11); a11 = Math.max(a6, a11); a6 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a6, a9); a9 = Math.max(a6, a9); a6 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a10, a11); a11 = Math.max(a10, a11); a10 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a6, a8); a8 = Math.max(a6, a8); a6 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+        a[lo + 12] = a12;
+    }
+
+    private static void sort14(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int a8 = a[lo + 8];
+        int a9 = a[lo + 9];
+        int a10 = a[lo + 10];
+        int a11 = a[lo + 11];
+        int a12 = a[lo + 12];
+        int a13 = a[lo + 13];
+        int t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a10, a11); a11 = Math.max(a10, a11); a10 = t;
+        t = Math.min(a12, a13); a13 = Math.max(a12, a13); a12 = t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a4, a8); a8 = Math.max(a4, a8); a4 = t;
+        t = Math.min(a5, a9); a9 = Math.max(a5, a9); a5 = t;
+        t = Math.min(a10, a12); a12 = Math.max(a10, a12); a10 = t;
+        t = Math.min(a11, a13); a13 = Math.max(a11, a13); a11 = t;
+        t = Math.min(a0, a4); a4 = Math.max(a0, a4); a0 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a7); a7 = Math.max(a3, a7); a3 = t;
+        t = Math.min(a5, a8); a8 = Math.max(a5, a8); a5 = t;
+        t = Math.min(a6, a10); a10 = Math.max(a6, a10); a6 = t;
+        t = Math.min(a9, a13); a13 = Math.max(a9, a13); a9 = t;
+        t = Math.min(a11, a12); a12 = Math.max(a11, a12); a11 = t;
+        t = Math.min(a0, a6); a6 = Math.max(a0, a6); a0 = t;
+        t = Math.min(a1, a5); a5 = Math.max(a1, a5); a1 = t;
+        t = Math.min(a3, a9); a9 = Math.max(a3, a9); a3 = t;
+        t = Math.min(a4, a10); a10 = Math.max(a4, a10); a4 = t;
+        t = Math.min(a7, a13); a13 = Math.max(a7, a13); a7 = t;
+        t = Math.min(a8, a12); a12 = Math.max(a8, a12); a8 = t;
+        t = Math.min(a2, a10); a10 = Math.max(a2, a10); a2 = t;
+        t = Math.min(a3, a11); a11 = Math.max(a3, a11); a3 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a7, a9); a9 = Math.max(a7, a9); a7 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a8); a8 = Math.max(a2, a8); a2 = t;
+        t = Math.min(a5, a11); a11 = Math.max(a5, a11); a5 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a10, a12); a12 = Math.max(a10, a12); a10 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a2, a6); a6 = Math.max(a2, a6); a2 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a7, a11); a11 = Math.max(a7, a11); a7 = t;
+        t = Math.min(a8, a10); a10 = Math.max(a8, a10); a8 = t;
+        t = Math.min(a9, a12); a12 = Math.max(a9, a12); a9 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a5, a8); a8 = Math.max(a5, a8); a5 = t;
+        t = Math.min(a7, a10); a10 = Math.max(a7, a10); a7 = t;
+        t = Math.min(a9, a11); a11 = Math.max(a9, a11); a9 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+        a[lo + 12] = a12;
+        a[lo + 13] = a13;
+    }
+
+    private static void sort15(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int a8 = a[lo + 8];
+        int a9 = a[lo + 9];
+        int a10 = a[lo + 10];
+        int a11 = a[lo + 11];
+        int a12 = a[lo + 12];
+        int a13 = a[lo + 13];
+        int a14 = a[lo + 14];
+        int t;
+        t = Math.min(a0, a5); a5 = Math.max(a0, a5); a0 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a2, a12); a12 = Math.max(a2, a12); a2 = t;
+        t = Math.min(a3, a13); a13 = Math.max(a3, a13); a3 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a11, a14); a14 = Math.max(a11, a14); a11 = t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a10); a10 = Math.max(a1, a10); a1 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a4, a7); a7 = Math.max(a4, a7); a4 = t;
+        t = Math.min(a5, a14); a14 = Math.max(a5, a14); a5 = t;
+        t = Math.min(a8, a11); a11 = Math.max(a8, a11); a8 = t;
+        t = Math.min(a9, a12); a12 = Math.max(a9, a12); a9 = t;
+        t = Math.min(a0, a8); a8 = Math.max(a0, a8); a0 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a11); a11 = Math.max(a2, a11); a2 = t;
+        t = Math.min(a4, a13); a13 = Math.max(a4, a13); a4 = t;
+        t = Math.min(a5, a9); a9 = Math.max(a5, a9); a5 = t;
+        t = Math.min(a6, a10); a10 = Math.max(a6, a10); a6 = t;
+        t = Math.min(a12, a14); a14 = Math.max(a12, a14); a12 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a3, a8); a8 = Math.max(a3, a8); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a7, a12); a12 = Math.max(a7, a12); a7 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a11, a13); a13 = Math.max(a11, a13); a11 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a4, a8); a8 = Math.max(a4, a8); a4 = t;
+        t = Math.min(a6, a9); a9 = Math.max(a6, a9); a6 = t;
+        t = Math.min(a7, a11); a11 = Math.max(a7, a11); a7 = t;
+        t = Math.min(a10, a13); a13 = Math.max(a10, a13); a10 = t;
+        t = Math.min(a12, a14); a14 = Math.max(a12, a14); a12 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a4, a11); a11 = Math.max(a4, a11); a4 = t;
+        t = Math.min(a6, a8); a8 = Math.max(a6, a8); a6 = t;
+        t = Math.min(a7, a9); a9 = Math.max(a7, a9); a7 = t;
+        t = Math.min(a10, a12); a12 = Math.max(a10, a12); a10 = t;
+        t = Math.min(a13, a14); a14 = Math.max(a13, a14); a13 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a10, a11); a11 = Math.max(a10, a11); a10 = t;
+        t = Math.min(a12, a13); a13 = Math.max(a12, a13); a12 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a8, a10); a10 = Math.max(a8, a10); a8 = t;
+        t = Math.min(a9, a11); a11 = Math.max(a9, a11); a9 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a11, a12); a12 = Math.max(a11, a12); a11 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+        a[lo + 12] = a12;
+        a[lo + 13] = a13;
+        a[lo + 14] = a14;
+    }
+
+    private static void sort16(int[] a, int lo) {
+        int a0 = a[lo];
+        int a1 = a[lo + 1];
+        int a2 = a[lo + 2];
+        int a3 = a[lo + 3];
+        int a4 = a[lo + 4];
+        int a5 = a[lo + 5];
+        int a6 = a[lo + 6];
+        int a7 = a[lo + 7];
+        int a8 = a[lo + 8];
+        int a9 = a[lo + 9];
+        int a10 = a[lo + 10];
+        int a11 = a[lo + 11];
+        int a12 = a[lo + 12];
+        int a13 = a[lo + 13];
+        int a14 = a[lo + 14];
+        int a15 = a[lo + 15];
+        int t;
+        t = Math.min(a0, a5); a5 = Math.max(a0, a5); a0 = t;
+        t = Math.min(a1, a4); a4 = Math.max(a1, a4); a1 = t;
+        t = Math.min(a2, a12); a12 = Math.max(a2, a12); a2 = t;
+        t = Math.min(a3, a13); a13 = Math.max(a3, a13); a3 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a10, a15); a15 = Math.max(a10, a15); a10 = t;
+        t = Math.min(a11, a14); a14 = Math.max(a11, a14); a11 = t;
+        t = Math.min(a0, a2); a2 = Math.max(a0, a2); a0 = t;
+        t = Math.min(a1, a10); a10 = Math.max(a1, a10); a1 = t;
+        t = Math.min(a3, a6); a6 = Math.max(a3, a6); a3 = t;
+        t = Math.min(a4, a7); a7 = Math.max(a4, a7); a4 = t;
+        t = Math.min(a5, a14); a14 = Math.max(a5, a14); a5 = t;
+        t = Math.min(a8, a11); a11 = Math.max(a8, a11); a8 = t;
+        t = Math.min(a9, a12); a12 = Math.max(a9, a12); a9 = t;
+        t = Math.min(a13, a15); a15 = Math.max(a13, a15); a13 = t;
+        t = Math.min(a0, a8); a8 = Math.max(a0, a8); a0 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a11); a11 = Math.max(a2, a11); a2 = t;
+        t = Math.min(a4, a13); a13 = Math.max(a4, a13); a4 = t;
+        t = Math.min(a5, a9); a9 = Math.max(a5, a9); a5 = t;
+        t = Math.min(a6, a10); a10 = Math.max(a6, a10); a6 = t;
+        t = Math.min(a7, a15); a15 = Math.max(a7, a15); a7 = t;
+        t = Math.min(a12, a14); a14 = Math.max(a12, a14); a12 = t;
+        t = Math.min(a0, a1); a1 = Math.max(a0, a1); a0 = t;
+        t = Math.min(a2, a4); a4 = Math.max(a2, a4); a2 = t;
+        t = Math.min(a3, a8); a8 = Math.max(a3, a8); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a7, a12); a12 = Math.max(a7, a12); a7 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a11, a13); a13 = Math.max(a11, a13); a11 = t;
+        t = Math.min(a14, a15); a15 = Math.max(a14, a15); a14 = t;
+        t = Math.min(a1, a3); a3 = Math.max(a1, a3); a1 = t;
+        t = Math.min(a2, a5); a5 = Math.max(a2, a5); a2 = t;
+        t = Math.min(a4, a8); a8 = Math.max(a4, a8); a4 = t;
+        t = Math.min(a6, a9); a9 = Math.max(a6, a9); a6 = t;
+        t = Math.min(a7, a11); a11 = Math.max(a7, a11); a7 = t;
+        t = Math.min(a10, a13); a13 = Math.max(a10, a13); a10 = t;
+        t = Math.min(a12, a14); a14 = Math.max(a12, a14); a12 = t;
+        t = Math.min(a1, a2); a2 = Math.max(a1, a2); a1 = t;
+        t = Math.min(a3, a5); a5 = Math.max(a3, a5); a3 = t;
+        t = Math.min(a4, a11); a11 = Math.max(a4, a11); a4 = t;
+        t = Math.min(a6, a8); a8 = Math.max(a6, a8); a6 = t;
+        t = Math.min(a7, a9); a9 = Math.max(a7, a9); a7 = t;
+        t = Math.min(a10, a12); a12 = Math.max(a10, a12); a10 = t;
+        t = Math.min(a13, a14); a14 = Math.max(a13, a14); a13 = t;
+        t = Math.min(a2, a3); a3 = Math.max(a2, a3); a2 = t;
+        t = Math.min(a4, a5); a5 = Math.max(a4, a5); a4 = t;
+        t = Math.min(a6, a7); a7 = Math.max(a6, a7); a6 = t;
+        t = Math.min(a8, a9); a9 = Math.max(a8, a9); a8 = t;
+        t = Math.min(a10, a11); a11 = Math.max(a10, a11); a10 = t;
+        t = Math.min(a12, a13); a13 = Math.max(a12, a13); a12 = t;
+        t = Math.min(a4, a6); a6 = Math.max(a4, a6); a4 = t;
+        t = Math.min(a5, a7); a7 = Math.max(a5, a7); a5 = t;
+        t = Math.min(a8, a10); a10 = Math.max(a8, a10); a8 = t;
+        t = Math.min(a9, a11); a11 = Math.max(a9, a11); a9 = t;
+        t = Math.min(a3, a4); a4 = Math.max(a3, a4); a3 = t;
+        t = Math.min(a5, a6); a6 = Math.max(a5, a6); a5 = t;
+        t = Math.min(a7, a8); a8 = Math.max(a7, a8); a7 = t;
+        t = Math.min(a9, a10); a10 = Math.max(a9, a10); a9 = t;
+        t = Math.min(a11, a12); a12 = Math.max(a11, a12); a11 = t;
+        a[lo] = a0;
+        a[lo + 1] = a1;
+        a[lo + 2] = a2;
+        a[lo + 3] = a3;
+        a[lo + 4] = a4;
+        a[lo + 5] = a5;
+        a[lo + 6] = a6;
+        a[lo + 7] = a7;
+        a[lo + 8] = a8;
+        a[lo + 9] = a9;
+        a[lo + 10] = a10;
+        a[lo + 11] = a11;
+        a[lo + 12] = a12;
+        a[lo + 13] = a13;
+        a[lo + 14] = a14;
+        a[lo + 15] = a15;
+    }
+
+    private static boolean less(Comparable v, Comparable w) {
+        return v.compareTo(w) < 0;
+    }
+}
@@ -77,18 +77,28 @@ public class TestDataGenerator {
         }
         data.put("randomWithRepeats", randomWithRepeats);
 
+        data.put("shuffled", shuffled(problemSize));
+
+        // sorted blocks of about sqrt(problemSize) elements in random order,
+        // so most merges take one whole side before the other
         r.setSeed(0);
-        int[] shuffled = new int[problemSize];
-        for (int i = 0; i < problemSize; i++) {
-            shuffled[i] = i;
+        int blockSize = Math.max(2, (int) Math.sqrt(problemSize));
+        int blocks = (problemSize + blockSize - 1) / blockSize;
+        int[] order = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            order[i] = i;
+        }
+        for (int i = 0; i < blocks; i++) {
+            int j = i + r.nextInt(blocks-i);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
         }
+        int[] blockSkewed = new int[problemSize];
         for (int i = 0; i < problemSize; i++) {
-            int j = i + r.nextInt(problemSize-i);
-            int swap = shuffled[i];
-            shuffled[i] = shuffled[j];
-            shuffled[j] = swap;
+            blockSkewed[i] = order[i / blockSize] * blockSize + i % blockSize;
         }
-        data.put("shuffled", shuffled);
+        data.put("blockSkewed", blockSkewed);
     }
     
     public Set<String> keySet() {
@@ -110,6 +120,25 @@ public class TestDataGenerator {
         data.put(key, intArray);
     }
     
+    /**
+     * Returns the "shuffled" data alone, for sizes where generating
+     * all the others would waste gigabytes.
+     */
+    public static int[] shuffled(int problemSize) {
+        Random r = new Random(0);
+        int[] shuffled = new int[problemSize];
+        for (int i = 0; i < problemSize; i++) {
+            shuffled[i] = i;
+        }
+        for (int i = 0; i < problemSize; i++) {
+            int j = i + r.nextInt(problemSize-i);
+            int swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        return shuffled;
+    }
+
     public static Integer[] asIntegerArray(int[] intArray) {
         Integer[] array = new Integer[intArray.length];
         for (int i = 0; i < intArray.length; i++) { array[i] = intArray[i]; }
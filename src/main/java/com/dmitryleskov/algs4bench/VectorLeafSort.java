@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.lang.reflect.Constructor;
+
+/**
+ *  The <tt>VectorLeafSort</tt> class sorts the small subarrays at the
+ *  leaves of a merge sort of <tt>int</tt>s or <tt>long</tt>s, either with
+ *  a bitonic sorting network on SIMD registers or, where that is not
+ *  available, with scalar insertion sort. {@link #network()} selects the
+ *  scalar sorting networks of {@link SortingNetworks} instead, which the
+ *  sort engines do not use themselves; see CompareLeafSorts.
+ *  <p>
+ *  The vector kernel lives in <tt>src/main/java16</tt> and uses the
+ *  incubating <tt>jdk.incubator.vector</tt> module, so it is only built
+ *  by the <tt>vector</tt> Maven profile on JDK 16 or later, and only
+ *  loads when the JVM runs with <tt>--add-modules jdk.incubator.vector</tt>.
+ *  It is looked up by name, and any failure to load or run it selects
+ *  the scalar kernel instead.
+ *  <p>
+ *  The network is not stable, which does not matter for primitives.
+ *  An instance keeps scratch space and is not thread-safe.
+ *
+ *  @author Dmitry Leskov
+ */
+public final class VectorLeafSort {
+
+    // implemented by VectorKernel in src/main/java16
+    interface Kernel {
+        void sort(int[] a, int lo, int hi);
+        void sort(long[] a, int lo, int hi);
+    }
+
+    private static final String VECTOR_KERNEL = "com.dmitryleskov.algs4bench.VectorKernel";
+    private static final Constructor<? extends Kernel> VECTOR = findVectorKernel();
+
+    private final Kernel kernel;
+
+    private VectorLeafSort(Kernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * Returns a sorter that uses the vector kernel if it is available,
+     * scalar insertion sort otherwise.
+     * @return a new sorter
+     */
+    public static VectorLeafSort create() {
+        Kernel k = newVectorKernel(VECTOR);
+        return new VectorLeafSort(k != null ? k : new ScalarKernel());
+    }
+
+    /**
+     * Returns a sorter that always uses scalar insertion sort.
+     * @return a new sorter
+     */
+    public static VectorLeafSort scalar() {
+        return new VectorLeafSort(new ScalarKernel());
+    }
+
+    /**
+     * Returns a sorter that uses {@link SortingNetworks} for <tt>int</tt>
+     * leaves of up to <tt>SortingNetworks.MAX_SIZE</tt> elements, and
+     * scalar insertion sort for longer leaves and for <tt>long</tt>s.
+     * @return a new sorter
+     */
+    public static VectorLeafSort network() {
+        return new VectorLeafSort(new NetworkKernel());
+    }
+
+    /**
+     * Tells whether the vector kernel could be loaded in this JVM.
+     * @return <tt>true</tt> if {@link #create()} returns vectorized sorters
+     */
+    public static boolean isVectorAvailable() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Tells whether this sorter uses the vector kernel.
+     * @return <tt>true</tt> if the sorter is vectorized
+     */
+    public boolean isVectorized() {
+        return !(kernel instanceof ScalarKernel);
+    }
+
+    /**
+     * Sorts a[lo .. hi] into ascending order.
+     * @param a the array
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     */
+    public void sort(int[] a, int lo, int hi) {
+        kernel.sort(a, lo, hi);
+        assert isSorted(a, lo, hi);
+    }
+
+    /**
+     * Sorts a[lo .. hi] into ascending order.
+     * @param a the array
+     * @param lo the index of the first element
+     * @param hi the index of the last element
+     */
+    public void sort(long[] a, int lo, int hi) {
+        kernel.sort(a, lo, hi);
+        assert isSorted(a, lo, hi);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Constructor<? extends Kernel> findVectorKernel() {
+        try {
+            Constructor<? extends Kernel> c = (Constructor<? extends Kernel>)
+                    Class.forName(VECTOR_KERNEL).asSubclass(Kernel.class).getDeclaredConstructor();
+            // the incubator module may be missing or unsupported on this CPU;
+            // both only show up once a vector is actually created
+            Kernel k = newVectorKernel(c);
+            if (k == null) return null;
+            int[] probe = {3, 1, 2};
+            k.sort(probe, 0, 2);
+            return (probe[0] == 1 && probe[1] == 2 && probe[2] == 3) ? c : null;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Kernel newVectorKernel(Constructor<? extends Kernel> c) {
+        if (c == null) return null;
+        try {
+            return c.newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+   /***********************************************************************
+    *  Scalar fallback: insertion sort, as in MergeX
+    ***********************************************************************/
+    private static class ScalarKernel implements Kernel {
+        @Override
+        public void sort(int[] a, int lo, int hi) {
+            for (int i = lo + 1; i <= hi; i++) {
+                int v = a[i];
+                int j = i;
+                for (; j > lo && v < a[j-1]; j--)
+                    a[j] = a[j-1];
+                a[j] = v;
+            }
+        }
+
+        @Override
+        public void sort(long[] a, int lo, int hi) {
+            for (int i = lo + 1; i <= hi; i++) {
+                long v = a[i];
+                int j = i;
+                for (; j > lo && v < a[j-1]; j--)
+                    a[j] = a[j-1];
+                a[j] = v;
+            }
+        }
+    }
+
+    // the networks are not stable either, which does not matter for ints
+    private static final class NetworkKernel extends ScalarKernel {
+        @Override
+        public void sort(int[] a, int lo, int hi) {
+            if (hi - lo < SortingNetworks.MAX_SIZE) SortingNetworks.sort(a, lo, hi);
+            else super.sort(a, lo, hi);
+        }
+    }
+
+    private static boolean isSorted(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+
+    private static boolean isSorted(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++)
+            if (a[i] < a[i-1]) return false;
+        return true;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4bench;
+
+import java.util.Arrays;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ *  Leaf sort kernel of {@link VectorLeafSort} on the Vector API.
+ *  <p>
+ *  A leaf is copied to scratch space and padded with the maximum value to
+ *  a power of two of at least one vector, then sorted by a bitonic network.
+ *  Compare-exchanges between elements at least a vector apart are lane-wise
+ *  <tt>min</tt> and <tt>max</tt> of two vectors. Those within a vector pair
+ *  each lane with its partner through a shuffle, and a blend mask picks the
+ *  <tt>min</tt> or <tt>max</tt> for each lane depending on which end of the
+ *  pair it is and whether its bitonic subsequence is ascending.
+ *
+ *  @author Dmitry Leskov
+ */
+final class VectorKernel implements VectorLeafSort.Kernel {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final Tables<Integer> INT_TABLES = new Tables<>(INTS);
+    private static final Tables<Long> LONG_TABLES = new Tables<>(LONGS);
+
+    private int[] ints = new int[64];
+    private long[] longs = new long[64];
+
+    @Override
+    public void sort(int[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+        int lanes = INTS.length();
+        int size = paddedSize(n, lanes);
+        if (ints.length < size) ints = new int[size];
+        int[] s = ints;
+        System.arraycopy(a, lo, s, 0, n);
+        Arrays.fill(s, n, size, Integer.MAX_VALUE);
+        Tables<Integer> t = INT_TABLES;
+
+        for (int k = 2; k <= size; k <<= 1) {
+            for (int j = k >> 1; j > 0; j >>= 1) {
+                if (j >= lanes) {
+                    for (int b = 0; b < size; b += 2*j) {
+                        for (int m = b; m < b + j; m += lanes) {
+                            IntVector x = IntVector.fromArray(INTS, s, m);
+                            IntVector y = IntVector.fromArray(INTS, s, m + j);
+                            boolean up = (m & k) == 0;
+                            x.min(y).intoArray(s, up ? m : m + j);
+                            x.max(y).intoArray(s, up ? m + j : m);
+                        }
+                    }
+                } else {
+                    VectorShuffle<Integer> partner = t.partner[log2(j)];
+                    for (int m = 0; m < size; m += lanes) {
+                        IntVector v = IntVector.fromArray(INTS, s, m);
+                        IntVector p = v.rearrange(partner);
+                        v.min(p).blend(v.max(p), t.takeMax(k, j, m)).intoArray(s, m);
+                    }
+                }
+            }
+        }
+        System.arraycopy(s, 0, a, lo, n);
+    }
+
+    @Override
+    public void sort(long[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+        int lanes = LONGS.length();
+        int size = paddedSize(n, lanes);
+        if (longs.length < size) longs = new long[size];
+        long[] s = longs;
+        System.arraycopy(a, lo, s, 0, n);
+        Arrays.fill(s, n, size, Long.MAX_VALUE);
+        Tables<Long> t = LONG_TABLES;
+
+        for (int k = 2; k <= size; k <<= 1) {
+            for (int j = k >> 1; j > 0; j >>= 1) {
+                if (j >= lanes) {
+                    for (int b = 0; b < size; b += 2*j) {
+                        for (int m = b; m < b + j; m += lanes) {
+                            LongVector x = LongVector.fromArray(LONGS, s, m);
+                            LongVector y = LongVector.fromArray(LONGS, s, m + j);
+                            boolean up = (m & k) == 0;
+                            x.min(y).intoArray(s, up ? m : m + j);
+                            x.max(y).intoArray(s, up ? m + j : m);
+                        }
+                    }
+                } else {
+                    VectorShuffle<Long> partner = t.partner[log2(j)];
+                    for (int m = 0; m < size; m += lanes) {
+                        LongVector v = LongVector.fromArray(LONGS, s, m);
+                        LongVector p = v.rearrange(partner);
+                        v.min(p).blend(v.max(p), t.takeMax(k, j, m)).intoArray(s, m);
+                    }
+                }
+            }
+        }
+        System.arraycopy(s, 0, a, lo, n);
+    }
+
+    // least power of two >= n and >= lanes
+    private static int paddedSize(int n, int lanes) {
+        return Math.max(Integer.highestOneBit(n - 1) << 1, lanes);
+    }
+
+    private static int log2(int powerOfTwo) {
+        return Integer.numberOfTrailingZeros(powerOfTwo);
+    }
+
+    // shuffles and blend masks for compare-exchanges within a vector,
+    // indexed by log2 of the distance j and of the bitonic block size k
+    private static final class Tables<E> {
+        final VectorShuffle<E>[] partner;   // lane i <-> lane i^j
+        final VectorMask<E>[][] small;      // k < lanes: direction varies by lane
+        final VectorMask<E>[] upper;        // lanes with bit j set
+        final VectorMask<E>[] lower;        // lanes with bit j clear
+
+        @SuppressWarnings("unchecked")
+        Tables(VectorSpecies<E> species) {
+            int lanes = species.length();
+            int bits = log2(lanes);
+            partner = new VectorShuffle[bits];
+            small = new VectorMask[bits][bits];
+            upper = new VectorMask[bits];
+            lower = new VectorMask[bits];
+            for (int lj = 0; lj < bits; lj++) {
+                final int j = 1 << lj;
+                partner[lj] = VectorShuffle.fromOp(species, i -> i ^ j);
+                long up = 0;
+                for (int i = 0; i < lanes; i++)
+                    if ((i & j) != 0) up |= 1L << i;
+                upper[lj] = VectorMask.fromLong(species, up);
+                lower[lj] = upper[lj].not();
+                for (int lk = lj + 1; lk < bits; lk++) {
+                    int k = 1 << lk;
+                    long max = 0;
+                    for (int i = 0; i < lanes; i++)
+                        if (((i & j) != 0) == ((i & k) == 0)) max |= 1L << i;
+                    small[lk][lj] = VectorMask.fromLong(species, max);
+                }
+            }
+        }
+
+        // lanes of the vector at m that keep the max of the pair at distance j
+        VectorMask<E> takeMax(int k, int j, int m) {
+            if ((k >> partner.length) == 0)     // k < lanes
+                return small[log2(k)][log2(j)];
+            return (m & k) == 0 ? upper[log2(j)] : lower[log2(j)];
+        }
+    }
+}
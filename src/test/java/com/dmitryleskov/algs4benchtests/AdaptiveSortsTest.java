@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.MergeXBU;
+import com.dmitryleskov.algs4bench.MergeXGallop;
+import com.dmitryleskov.algs4bench.MergeXRuns;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * The adaptive sorts must be stable: compared with Arrays.sort, which is,
+ * equal keys must come out as the very same objects in the same order.
+ *
+ * @author Dmitry Leskov
+ */
+public class AdaptiveSortsTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000};
+
+    // runs of equal keys inside descending runs must not be reversed
+    @Test
+    public void testMergeXRunsStability() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            int[] descendingWithTies = new int[n];
+            for (int i = 0; i < n; i++)
+                descendingWithTies[i] = (n - i) / 3;
+            data.put("descendingWithTies", descendingWithTies);
+            for (String key : data.keySet()) {
+                for (int mod : new int[] {2, 5, 1000}) {
+                    StableKey[] input = StableKey.keys(data.getIntData(key), mod);
+                    StableKey[] a = input.clone();
+                    MergeXRuns.sort(a);
+                    StableKey.assertSortedStably("MergeXRuns " + key + " " + n + " % " + mod, input, a);
+                }
+            }
+        }
+    }
+
+    // long runs of equal keys make the merge gallop over ties, where
+    // gallopRight and gallopLeft must stop on the correct side of them
+    @Test
+    public void testMergeXGallopStability() {
+        for (int n : new int[] {0, 1, 17, 1000, 20000}) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            int[] equalBlocks = new int[n];
+            int[] twoRuns = new int[n];
+            int[] flatThenMixed = new int[n];
+            for (int i = 0; i < n; i++) {
+                equalBlocks[i] = (i / 64) % 4;
+                twoRuns[i] = (i < n/2 ? i : i - n/2) / 100;
+                flatThenMixed[i] = (i < n/2) ? 1 : i % 3;
+            }
+            data.put("equalBlocks", equalBlocks);
+            data.put("twoRuns", twoRuns);
+            data.put("flatThenMixed", flatThenMixed);
+            for (String key : data.keySet()) {
+                for (int mod : new int[] {2, 5, Integer.MAX_VALUE}) {
+                    StableKey[] input = StableKey.keys(data.getIntData(key), mod);
+                    StableKey[] a = input.clone();
+                    MergeXGallop.sort(a, new Comparable[n]);
+                    StableKey.assertSortedStably("MergeXGallop " + key + " " + n + " % " + mod, input, a);
+                }
+            }
+        }
+    }
+
+    // tile sizes that are not powers of two, smaller than and larger than
+    // the array, so that both the tile passes and the global passes run
+    @Test
+    public void testMergeXBUStability() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                for (int tile : new int[] {1, 9, 100, MergeXBU.DEFAULT_TILE}) {
+                    StableKey[] input = StableKey.keys(data.getIntData(key), 5);
+                    StableKey[] a = input.clone();
+                    MergeXBU.sort(a, new Comparable[n], tile);
+                    StableKey.assertSortedStably("MergeXBU " + key + " " + n + " tile " + tile, input, a);
+
+                    int[] ints = data.getIntData(key);
+                    int[] expected = ints.clone();
+                    Arrays.sort(expected);
+                    MergeXBU.sort(ints, new int[n], tile);
+                    assertArrayEquals("MergeXBU " + key + " " + n + " tile " + tile, expected, ints);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeXBUBadTile() {
+        MergeXBU.sort(new Integer[] {3, 2, 1}, new Comparable[3], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeXRunsShortAux() {
+        MergeXRuns.sort(new Integer[] {3, 2, 1}, new Comparable[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeXGallopShortAux() {
+        MergeXGallop.sort(new Integer[] {3, 2, 1}, new Comparable[2]);
+    }
+}
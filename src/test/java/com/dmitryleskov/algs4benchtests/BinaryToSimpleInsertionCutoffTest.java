@@ -6,7 +6,8 @@
 
 package com.dmitryleskov.algs4benchtests;
 
-import com.dmitryleskov.algs4bench.BinaryToSimpleInsertionCutoff;
+import com.dmitryleskov.algs4bench.LeafSorter;
+import com.dmitryleskov.algs4bench.LeafSorters;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -100,17 +101,55 @@ public class BinaryToSimpleInsertionCutoffTest {
 //    }
 
     /**
-     * Test of testBinaryInsertionX method, of class BinaryToSimpleInsertionCutoff.
+     * Test of the leaf sort measured by testBinaryInsertionX, for every
+     * cutoff the benchmark tries.
      */
     @org.junit.Test
     public void testBinaryInsertionX() {
         System.out.println("BinaryInsertionX");
-        BinaryToSimpleInsertionCutoff instance = new BinaryToSimpleInsertionCutoff();
-        Comparable[] expResult = sorted.clone();
-        BinaryToSimpleInsertionCutoff.Sorter sorter = instance.new BinaryInsertionX();
-        sorter.sort(sorted, 0, sorted.length-1);
-        assertArrayEquals(expResult, sorted);
+        for (int cutoff = 0; cutoff <= sorted.length; cutoff++) {
+            LeafSorter sorter = LeafSorters.mergeXBinary(cutoff);
+            check(sorter, sorted.clone());
+            check(sorter, reversed());
+
+            String[] a = reversed();
+            sorter.sort(a, null, 0, a.length-1);
+            assertArrayEquals(sorter.name(), sorted, a);
+        }
     }
 
-    
+    /**
+     * Test of the other leaf sorts of the catalog, on their own and
+     * under the last merge harness.
+     */
+    @org.junit.Test
+    public void testLeafSorters() {
+        for (String name : LeafSorters.names()) {
+            LeafSorter sorter = LeafSorters.get(name);
+            assertEquals(name, sorter.name());
+            check(sorter, sorted.clone());
+            check(sorter, reversed());
+
+            String[] a = reversed();
+            String[] aux = new String[a.length];
+            LeafSorters.lastMerge(sorter, a, aux, 0, a.length-1);
+            assertArrayEquals(name, sorted, a);
+        }
+    }
+
+    // sort all but the first and the last element, which must stay in place
+    private void check(LeafSorter sorter, String[] a) {
+        String first = a[0], last = a[a.length-1];
+        sorter.sort(a, new String[a.length], 1, a.length-2);
+        assertSame(sorter.name(), first, a[0]);
+        assertSame(sorter.name(), last, a[a.length-1]);
+        for (int i = 2; i < a.length-1; i++)
+            assertTrue(sorter.name() + " at " + i, a[i-1].compareTo(a[i]) < 0);
+    }
+
+    private String[] reversed() {
+        String[] a = new String[sorted.length];
+        for (int i = 0; i < a.length; i++) a[i] = sorted[a.length-1-i];
+        return a;
+    }
 }
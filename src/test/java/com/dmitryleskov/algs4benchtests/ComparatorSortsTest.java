@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.ClonedSorter;
+import com.dmitryleskov.algs4bench.ComparatorSorter;
+import com.dmitryleskov.algs4bench.Merge;
+import com.dmitryleskov.algs4bench.MergeX;
+import com.dmitryleskov.algs4bench.MergeXBinary;
+import com.dmitryleskov.algs4bench.MonomorphicSorters;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Comparator;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * The Comparator overloads of the engines, shared and through the
+ * per-comparator copies of MonomorphicSorters.
+ *
+ * @author Dmitry Leskov
+ */
+public class ComparatorSortsTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000};
+    private static final int[] ENGINES = {
+        MonomorphicSorters.MERGE_X, MonomorphicSorters.MERGE_X_BINARY, MonomorphicSorters.MERGE
+    };
+
+    private static class ByValue implements Comparator<StableKey> {
+        @Override
+        public int compare(StableKey v, StableKey w) {
+            return v.value < w.value ? -1 : (v.value == w.value ? 0 : 1);
+        }
+    }
+
+    // descending by the last decimal digit, so that there are many ties
+    private static class ByLastDigitDescending implements Comparator<StableKey> {
+        @Override
+        public int compare(StableKey v, StableKey w) {
+            return Integer.valueOf(w.value % 10).compareTo(v.value % 10);
+        }
+    }
+
+    private static final Comparator[] COMPARATORS = {
+        new ByValue(), new ByLastDigitDescending(), String.CASE_INSENSITIVE_ORDER
+    };
+
+    // keys of data % 50 for the StableKey comparators, strings of mixed case otherwise
+    private static Object[] input(int[] data, Comparator c) {
+        if (c != String.CASE_INSENSITIVE_ORDER)
+            return StableKey.keys(data, 50);
+        Object[] a = new Object[data.length];
+        for (int i = 0; i < data.length; i++) {
+            int v = Math.abs(data[i] % 50);
+            a[i] = (i % 2 == 0) ? "k" + v : "K" + v;
+        }
+        return a;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSharedEngines() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                for (Comparator c : COMPARATORS) {
+                    String name = c.getClass().getSimpleName() + " " + key + " " + n;
+                    Object[] input = input(data.getIntData(key), c);
+
+                    Object[] a = input.clone();
+                    MergeX.sort(a, c);
+                    StableKey.assertSortedStably("MergeX " + name, input, a, c);
+                    a = input.clone();
+                    MergeXBinary.sort(a, c);
+                    StableKey.assertSortedStably("MergeXBinary " + name, input, a, c);
+                    a = input.clone();
+                    Merge.sort(a, c);
+                    StableKey.assertSortedStably("Merge " + name, input, a, c);
+                }
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMonomorphicCopies() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                for (Comparator c : COMPARATORS) {
+                    String name = c.getClass().getSimpleName() + " " + key + " " + n;
+                    Object[] input = input(data.getIntData(key), c);
+
+                    for (int engine : ENGINES) {
+                        Object[] a = input.clone();
+                        MonomorphicSorters.forComparator(engine, c).sort(a, c);
+                        StableKey.assertSortedStably("engine " + engine + " " + name, input, a, c);
+                    }
+                    Object[] a = input.clone();
+                    MonomorphicSorters.sort(a, c);
+                    StableKey.assertSortedStably("sort " + name, input, a, c);
+                }
+            }
+        }
+    }
+
+    // the class files are on the class path here, so every comparator class
+    // must get engines from a class loader of its own
+    @Test
+    public void testCopiesPerComparatorClass() {
+        Comparator byValue = new ByValue();
+        Comparator byDigit = new ByLastDigitDescending();
+        for (int engine : ENGINES) {
+            ComparatorSorter s1 = MonomorphicSorters.forComparator(engine, byValue);
+            ComparatorSorter s2 = MonomorphicSorters.forComparator(engine, byDigit);
+            assertSame(s1, MonomorphicSorters.forComparator(engine, new ByValue()));
+            assertNotSame(ClonedSorter.class, s1.getClass());
+            assertNotSame(ClonedSorter.class, s2.getClass());
+            assertNotSame(s1.getClass(), s2.getClass());
+            assertEquals(ClonedSorter.class.getName(), s1.getClass().getName());
+        }
+        assertSame(MonomorphicSorters.forComparator(MonomorphicSorters.MERGE_X, byValue).getClass(),
+                   MonomorphicSorters.forComparator(MonomorphicSorters.MERGE, byValue).getClass());
+    }
+
+    // Loads the project classes, but does not let MonomorphicSorters read
+    // their class files, as when running from a jar it cannot open.
+    private static class HidingLoader extends URLClassLoader {
+        HidingLoader(URL classes) {
+            super(new URL[] {classes}, null);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            return name.endsWith(".class") ? null : super.getResource(name);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFallbackToSharedEngines() throws Exception {
+        URL classes = MonomorphicSorters.class.getProtectionDomain().getCodeSource().getLocation();
+        try (HidingLoader loader = new HidingLoader(classes)) {
+            Class<?> sorters = loader.loadClass(MonomorphicSorters.class.getName());
+            Method forComparator = sorters.getMethod("forComparator", int.class, Comparator.class);
+            Method sort = loader.loadClass(ComparatorSorter.class.getName())
+                    .getMethod("sort", Object[].class, Comparator.class);
+            Comparator c = new ByLastDigitDescending();
+            Object[] input = input(new TestDataGenerator(1000).getIntData("random"), c);
+            for (int engine : ENGINES) {
+                Object sorter = forComparator.invoke(null, engine, c);
+                // the shared ClonedSorter of the loader, not a copy
+                assertSame(loader, sorter.getClass().getClassLoader());
+                Object[] a = input.clone();
+                sort.invoke(sorter, a, c);
+                StableKey.assertSortedStably("engine " + engine, input, a, c);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.Counters;
+import com.dmitryleskov.algs4bench.InsertionX;
+import com.dmitryleskov.algs4bench.LeafSorters;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Counters must stay at zero unless enabled, and count what the sorts do
+ * when run with <tt>-Dalgs4bench.counters=true</tt>.
+ *
+ * @author Dmitry Leskov
+ */
+public class CountersTest {
+
+    @Test
+    public void testInsertionX() {
+        int n = 16;
+        Comparable[] a = TestDataGenerator.asIntegerArray(new TestDataGenerator(n).getIntData("sorted"));
+        Counters.reset();
+        InsertionX.sort(a, 0, n-1);
+        if (!Counters.ENABLED) {
+            assertEquals(0, Counters.compares());
+            assertEquals(0, Counters.moves());
+            return;
+        }
+        // the sentinel pass compares every pair and exchanges none, then
+        // each insertion compares once and writes the element back
+        assertEquals((n-1) + (n-2), Counters.compares());
+        assertEquals(n-2, Counters.moves());
+        assertEquals(0, Counters.arraycopies());
+    }
+
+    @Test
+    public void testLastMerge() {
+        int n = 1000;
+        Comparable[] a = TestDataGenerator.asIntegerArray(new TestDataGenerator(n).getIntData("sorted"));
+        Comparable[] aux = new Comparable[n];
+        Counters.reset();
+        LeafSorters.lastMerge(LeafSorters.get("InsertionX"), a, aux, 0, n-1);
+        if (!Counters.ENABLED) {
+            assertEquals(0, Counters.arraycopies());
+            return;
+        }
+        // each half of sorted input costs what testInsertionX counts; the merge
+        // then compares and moves the whole left half and copies the right
+        // half in bulk, and the check of the result compares every pair
+        boolean assertions = false;
+        assert assertions = true;
+        int h = n/2;
+        assertEquals(2*((h-1) + (h-2)) + h + (assertions ? n-1 : 0), Counters.compares());
+        assertEquals(2*(h-2) + h, Counters.moves());
+        assertEquals(3, Counters.arraycopies());
+        assertEquals((long) (n + n/2) * Counters.REFERENCE_SIZE, Counters.copiedBytes());
+    }
+}
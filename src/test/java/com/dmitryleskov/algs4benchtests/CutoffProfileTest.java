@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.CutoffCalibrator;
+import com.dmitryleskov.algs4bench.CutoffProfile;
+import com.dmitryleskov.algs4bench.MergeX;
+import com.dmitryleskov.algs4bench.MergeXBinary;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * The engines must sort correctly and stably with whatever cutoffs
+ * the profile file holds.
+ *
+ * @author Dmitry Leskov
+ */
+public class CutoffProfileTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000};
+
+    private File file;
+    private String saved;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("cutoffs", ".properties");
+        saved = System.getProperty(CutoffProfile.FILE_PROPERTY);
+        System.setProperty(CutoffProfile.FILE_PROPERTY, file.getPath());
+    }
+
+    @After
+    public void tearDown() {
+        if (saved == null) System.clearProperty(CutoffProfile.FILE_PROPERTY);
+        else System.setProperty(CutoffProfile.FILE_PROPERTY, saved);
+        CutoffProfile.reload();
+        file.delete();
+    }
+
+    private void write(String... lines) throws IOException {
+        try (Writer w = new FileWriter(file)) {
+            for (String line : lines) w.write(line + "\n");
+        }
+        CutoffProfile.reload();
+    }
+
+    @Test
+    public void testProfileIsRead() throws IOException {
+        write("MergeX.java.lang.String.leafSize=12",
+              "MergeXBinary.int.leafSize=24",
+              "MergeXBinary.int.simpleInsertion=3",
+              "MergeXBinary.long.leafSize=oops");
+        assertEquals(12, CutoffProfile.of(String.class).mergeXLeafSize());
+        assertEquals(8, CutoffProfile.of(Integer.class).mergeXLeafSize());
+        assertEquals(24, CutoffProfile.of(int.class).binaryLeafSize());
+        assertEquals(3, CutoffProfile.of(int.class).binarySimpleInsertion());
+        assertEquals(16, CutoffProfile.of(long.class).binaryLeafSize());
+    }
+
+    @Test
+    public void testSortsWithBinaryLeaves() throws IOException {
+        String keys = StableKey.class.getName();
+        write("MergeX." + keys + ".leafSize=2",
+              "MergeXBinary." + keys + ".leafSize=32",
+              "MergeXBinary." + keys + ".simpleInsertion=2",
+              "MergeXBinary.int.leafSize=32",
+              "MergeXBinary.int.simpleInsertion=0");
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                int[] expected = data.getIntData(key);
+                Arrays.sort(expected);
+
+                int[] a = data.getIntData(key);
+                MergeXBinary.sort(a);
+                assertArrayEquals("MergeXBinary " + key + " " + n, expected, a);
+
+                StableKey[] input = StableKey.keys(data.getIntData(key), 4);
+                StableKey[] b = input.clone();
+                MergeXBinary.sort(b);
+                StableKey.assertSortedStably("MergeXBinary stability " + key + " " + n, input, b);
+
+                b = input.clone();
+                MergeX.sort(b);
+                StableKey.assertSortedStably("MergeX stability " + key + " " + n, input, b);
+            }
+        }
+    }
+
+    @Test
+    public void testIsCalibrated() throws IOException {
+        write("MergeX.int.leafSize=12",
+              "MergeXBinary.int.leafSize=24",
+              "MergeXBinary.int.simpleInsertion=0",
+              "MergeX.long.leafSize=12",
+              "MergeXBinary.long.leafSize=24");
+        assertTrue(CutoffProfile.isCalibrated(int.class));
+        assertFalse(CutoffProfile.isCalibrated(long.class));
+        assertFalse(CutoffProfile.isCalibrated(double.class));
+    }
+
+    @Test
+    public void testEnsureCalibratedRunsOnlyForMissingClasses() throws IOException {
+        write("MergeX.int.leafSize=12",
+              "MergeXBinary.int.leafSize=24",
+              "MergeXBinary.int.simpleInsertion=3");
+        CutoffCalibrator.ensureCalibrated("int", "long");
+        assertTrue(CutoffProfile.isCalibrated(long.class));
+        assertFalse(CutoffProfile.isCalibrated(double.class));
+        // the cutoffs that were there are kept, and the new ones are in use
+        assertEquals(24, CutoffProfile.of(int.class).binaryLeafSize());
+        assertEquals(3, CutoffProfile.of(int.class).binarySimpleInsertion());
+        CutoffProfile p = CutoffProfile.of(long.class);
+        assertTrue(p.toString(), p.mergeXLeafSize() >= 4 && p.mergeXLeafSize() <= 32);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEnsureCalibratedRejectsUnknownClass() throws IOException {
+        CutoffCalibrator.ensureCalibrated("int", "short");
+    }
+
+    @Test
+    public void testCalibrationPicksCandidates() {
+        TestDataGenerator data = new TestDataGenerator(4096);
+        CutoffProfile p = CutoffCalibrator.calibrate(data.getIntData("random"), data.getIntData("sorted"));
+        assertTrue(p.toString(), p.mergeXLeafSize() >= 4 && p.mergeXLeafSize() <= 32);
+        assertTrue(p.toString(), p.binaryLeafSize() >= 4 && p.binaryLeafSize() <= 32);
+        assertTrue(p.toString(), p.binarySimpleInsertion() >= 0 && p.binarySimpleInsertion() <= 16);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.ExternalMergeX;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * External sorts must produce the same file as an in-memory sort, over
+ * one chunk, a single merge and several merge passes, and clean up
+ * their runs.
+ *
+ * @author Dmitry Leskov
+ */
+public class ExternalMergeXTest {
+
+    private Path dir, input, output;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("external");
+        input = dir.resolve("input.bin");
+        output = dir.resolve("output.bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testSort() throws IOException {
+        int[][] grid = {
+            // chunkSize, fanIn, bufferSize
+            {1000000, 2, 64},
+            {100, 64, 64},
+            {100, 5, 12},
+            {7, 2, 4},
+            {64, 3, 1000},
+        };
+        for (int n : new int[] {0, 1, 7, 100, 1000, 2049}) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                int[] a = data.getIntData(key);
+                for (int i = 0; i < n; i += 3) a[i] = -a[i];
+                write(input, a);
+                int[] expected = a.clone();
+                Arrays.sort(expected);
+                for (int[] p : grid) {
+                    ExternalMergeX.Stats stats = ExternalMergeX.sort(input, output, dir, p[0], p[1], p[2]);
+                    String name = key + " " + n + " " + Arrays.toString(p);
+                    assertArrayEquals(name, expected, read(output));
+                    assertEquals(name, (n + p[0] - 1) / p[0], stats.runs);
+                    assertEquals(name + " leftover runs", 2, dir.toFile().list().length);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartialValue() throws IOException {
+        Files.write(input, new byte[] {1, 2, 3});
+        ExternalMergeX.sort(input, output);
+    }
+
+    private static void write(Path file, int[] a) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (int v : a) out.writeInt(v);
+        }
+    }
+
+    private static int[] read(Path file) throws IOException {
+        int[] a = new int[(int) (Files.size(file) / 4)];
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            for (int i = 0; i < a.length; i++) a[i] = in.readInt();
+        }
+        return a;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.IncrementalMergeX;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * After every batch, the incremental sorter must agree with a stable
+ * sort of everything added so far.
+ *
+ * @author Dmitry Leskov
+ */
+public class IncrementalMergeXTest {
+
+    // orders by value only, so that equal values can be told apart
+    private static final class Item implements Comparable<Item> {
+        final int value, index;
+
+        Item(int value, int index) {
+            this.value = value;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(Item that) {
+            return Integer.compare(value, that.value);
+        }
+    }
+
+    @Test
+    public void testBatches() {
+        int n = 2000;
+        TestDataGenerator data = new TestDataGenerator(n);
+        for (String key : data.keySet()) {
+            int[] ints = data.getIntData(key);
+            for (int fanIn : new int[] {2, 3, IncrementalMergeX.DEFAULT_FAN_IN}) {
+                for (int batchSize : new int[] {1, 7, 100, 2000}) {
+                    IncrementalMergeX<Item> sorter = new IncrementalMergeX<>(fanIn);
+                    List<Item> added = new ArrayList<>();
+                    for (int lo = 0; lo < n; lo += batchSize) {
+                        Item[] batch = new Item[Math.min(batchSize, n - lo)];
+                        for (int i = 0; i < batch.length; i++)
+                            batch[i] = new Item(ints[lo + i] % 10, lo + i);
+                        sorter.add(batch);
+                        added.addAll(Arrays.asList(batch));
+                        check(key + " " + fanIn + " " + batchSize, sorter, added, lo + batch.length >= n);
+                    }
+                    assertEquals(1, sorter.runs());
+                }
+            }
+        }
+    }
+
+    // merges advance a bounded amount per batch, but must keep up, so
+    // that there are only a few runs per level at any time
+    @Test
+    public void testRunsStayFew() {
+        int n = 20000;
+        int[] ints = new TestDataGenerator(n).getIntData("random");
+        for (int fanIn : new int[] {2, IncrementalMergeX.DEFAULT_FAN_IN}) {
+            for (int batchSize : new int[] {1, 7}) {
+                IncrementalMergeX<Integer> sorter = new IncrementalMergeX<>(fanIn);
+                int levels = (int) Math.ceil(Math.log((double) n / batchSize) / Math.log(fanIn));
+                for (int lo = 0; lo < n; lo += batchSize) {
+                    Integer[] batch = new Integer[Math.min(batchSize, n - lo)];
+                    for (int i = 0; i < batch.length; i++)
+                        batch[i] = ints[lo + i];
+                    sorter.add(batch);
+                    assertTrue(fanIn + " " + batchSize + ": " + sorter.runs() + " runs after " + (lo + batch.length),
+                               sorter.runs() <= fanIn * (levels + 2));
+                }
+                assertEquals(n, sorter.size());
+            }
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testEmpty() {
+        IncrementalMergeX<Integer> sorter = new IncrementalMergeX<>();
+        sorter.add(new Integer[0]);
+        assertFalse(sorter.iterator().hasNext());
+        sorter.min();
+    }
+
+    // iterating compacts the runs, so do it only now and then
+    private static void check(String name, IncrementalMergeX<Item> sorter, List<Item> added, boolean iterate) {
+        Item[] expected = added.toArray(new Item[0]);
+        Arrays.sort(expected);   // stable
+        assertEquals(name, expected.length, sorter.size());
+        assertSame(name + " min", expected[0], sorter.min());
+        assertSame(name + " max", expected[expected.length - 1], sorter.max());
+        if (iterate || added.size() % 301 == 0) {
+            int i = 0;
+            for (Item item : sorter)
+                assertSame(name + " at " + i, expected[i++], item);
+            assertEquals(name, expected.length, i);
+        }
+    }
+}
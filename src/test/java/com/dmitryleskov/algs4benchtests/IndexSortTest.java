@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.MergeX;
+import com.dmitryleskov.algs4bench.MergeXBinary;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.Collections;
+import java.util.Comparator;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Index sorts must return the permutation a stable sort would produce,
+ * and leave the array alone.
+ *
+ * @author Dmitry Leskov
+ */
+public class IndexSortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000};
+
+    @Test
+    public void testIndexSorts() {
+        Comparator<Integer> descending = Collections.reverseOrder();
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                // few distinct values, so that stability matters
+                int[] ints = data.getIntData(key);
+                Integer[] a = new Integer[n];
+                for (int i = 0; i < n; i++) a[i] = ints[i] % 5;
+                Integer[] original = a.clone();
+
+                check("MergeX " + key, a, null, MergeX.indexSort(a));
+                check("MergeXBinary " + key, a, null, MergeXBinary.indexSort(a));
+                check("MergeX comparator " + key, a, descending, MergeX.indexSort(a, descending));
+                check("MergeXBinary comparator " + key, a, descending, MergeXBinary.indexSort(a, descending));
+                assertArrayEquals(original, a);
+            }
+        }
+    }
+
+    // p must order a[] by c (natural order if null), ties by index
+    private static void check(String name, Integer[] a, Comparator<Integer> c, int[] p) {
+        assertEquals(name, a.length, p.length);
+        boolean[] seen = new boolean[a.length];
+        for (int i = 0; i < p.length; i++) {
+            assertFalse(name + " duplicate " + p[i], seen[p[i]]);
+            seen[p[i]] = true;
+            if (i > 0) {
+                int cmp = (c == null) ? a[p[i-1]].compareTo(a[p[i]]) : c.compare(a[p[i-1]], a[p[i]]);
+                assertTrue(name + " order at " + i, cmp < 0 || (cmp == 0 && p[i-1] < p[i]));
+            }
+        }
+    }
+}
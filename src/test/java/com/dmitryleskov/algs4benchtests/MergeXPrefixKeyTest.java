@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.MergeXPrefixKey;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * MergeXPrefixKey must agree with String.compareTo() whatever the packed
+ * keys look like, and be stable: equal strings are distinct objects here,
+ * and must come out in the same order as from Arrays.sort.
+ *
+ * @author Dmitry Leskov
+ */
+public class MergeXPrefixKeyTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 9, 16, 17, 100, 1000};
+
+    // zero is also the padding past the end of a string, 0x7fff and 0x8000
+    // are on either side of the sign bit of a packed char, 0xffff is the top
+    private static final char[] CHARS = {'\u0000', '\u0001', 'a', '\u7fff', '\u8000', '\uffff'};
+
+    private static final String[] PREFIXES = {"", "tenant-42/namespace/", "\uffff\u8000"};
+
+    // n strings of up to maxLength chars after the prefix, with many duplicates
+    private static String[] strings(Random random, int n, String prefix, int maxLength) {
+        String[] a = new String[n];
+        for (int i = 0; i < n; i++) {
+            StringBuilder sb = new StringBuilder(prefix);
+            int length = random.nextInt(maxLength + 1);
+            for (int k = 0; k < length; k++)
+                sb.append(CHARS[random.nextInt(CHARS.length)]);
+            a[i] = new String(sb.toString());
+        }
+        return a;
+    }
+
+    private static void assertSortedStably(String message, String[] input) {
+        String[] a = input.clone();
+        MergeXPrefixKey.sort(a);
+        StableKey.assertSortedStably(message, input, a);
+    }
+
+    @Test
+    public void testSortsLikeCompareTo() {
+        Random random = new Random(20140901);
+        for (int n : SIZES) {
+            for (String prefix : PREFIXES) {
+                // keys past the end of the shorter strings, keys that tie on 4 chars
+                for (int maxLength : new int[] {0, 2, 4, 9}) {
+                    String[] a = strings(random, n, prefix, maxLength);
+                    assertSortedStably(n + " \"" + prefix + "\" " + maxLength, a);
+                }
+            }
+        }
+    }
+
+    // the common prefix ends inside some strings and is all of others
+    @Test
+    public void testStringsEndingAtThePrefix() {
+        String p = "tenant/";
+        String[] a = {
+            p + "\u8000", p, p + "\u0000", new String(p), p + "\u7fff\uffff",
+            p + "\u0000\u0000\u0000\u0000", p + "\u0000\u0000\u0000\u0000\u0000",
+            p + "\uffff", new String(p + "\u0000"), p + "a", new String(p)
+        };
+        assertSortedStably("prefix", a);
+    }
+
+    // with an empty string there is no common prefix at all
+    @Test
+    public void testEmptyStrings() {
+        String[] a = {"b", "", "\u0000", new String(""), "\uffff", "a", new String(""), "\u8000"};
+        assertSortedStably("empty", a);
+        assertSortedStably("only empty", new String[] {"", new String(""), new String("")});
+    }
+
+    // all strings equal: the prefix is the whole string and every key is zero
+    @Test
+    public void testEqualStrings() {
+        String[] a = new String[100];
+        for (int i = 0; i < a.length; i++)
+            a[i] = new String("tenant-42/namespace/key");
+        assertSortedStably("equal", a);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.OffHeapMergeX;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Records must come out ordered by key, ties in their original order,
+ * with the rest of each record and the bytes around them intact.
+ *
+ * @author Dmitry Leskov
+ */
+public class OffHeapMergeXTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000};
+    private static final int HEADER = 3;   // bytes before the first record
+
+    @Test
+    public void testIntKeys() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                for (int recordSize : new int[] {7, 12, 24}) {
+                    for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+                        ByteBuffer b = records(data.getIntData(key), recordSize, false, order);
+                        OffHeapMergeX.sortByIntKey(b, recordSize, recordSize - 4);
+                        check(key + " " + n + " " + recordSize + " " + order, b, recordSize, false);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongKeys() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                ByteBuffer b = records(data.getIntData(key), 16, true, ByteOrder.nativeOrder());
+                OffHeapMergeX.sortByLongKey(b, ByteBuffer.allocate(b.limit()), 16, 16 - 8);
+                check(key + " " + n, b, 16, true);
+            }
+        }
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        int n = 1000, recordSize = 12;
+        ByteBuffer b = records(new TestDataGenerator(n).getIntData("random"), recordSize, false, ByteOrder.BIG_ENDIAN);
+        File file = File.createTempFile("records", ".bin");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = raf.getChannel();
+            b.clear();
+            channel.write(b, 0);
+            OffHeapMergeX.sortByIntKey(channel, HEADER, n * recordSize, recordSize, recordSize - 4);
+            b.clear();
+            channel.read(b, 0);
+        } finally {
+            file.delete();
+        }
+        b.position(HEADER).limit(HEADER + n * recordSize);
+        check("mapped", b, recordSize, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeyOutsideRecord() {
+        OffHeapMergeX.sortByLongKey(ByteBuffer.allocateDirect(16), 8, 4);
+    }
+
+    // each record holds its index in the first 3 bytes and a key of 0 .. 4 at the end;
+    // the bytes around the records are 0x55
+    private static ByteBuffer records(int[] keys, int recordSize, boolean longKey, ByteOrder order) {
+        int n = keys.length;
+        ByteBuffer b = ByteBuffer.allocateDirect(HEADER + n * recordSize + HEADER).order(order);
+        for (int i = 0; i < b.capacity(); i++) b.put(i, (byte) 0x55);
+        for (int i = 0; i < n; i++) {
+            int offset = HEADER + i * recordSize;
+            b.put(offset, (byte) (i >> 16)).put(offset + 1, (byte) (i >> 8)).put(offset + 2, (byte) i);
+            int k = (i % 3 == 0 ? -1 : 1) * (keys[i] % 5);
+            if (longKey) b.putLong(offset + recordSize - 8, (long) k << 32);
+            else b.putInt(offset + recordSize - 4, k);
+        }
+        b.position(HEADER).limit(HEADER + n * recordSize);
+        return b;
+    }
+
+    private static void check(String name, ByteBuffer b, int recordSize, boolean longKey) {
+        assertEquals(name + " position", HEADER, b.position());
+        int n = (b.limit() - HEADER) / recordSize;
+        ByteBuffer all = b.duplicate();
+        all.clear();
+        for (int i = 0; i < HEADER; i++) {
+            assertEquals(name + " header", 0x55, all.get(i));
+            assertEquals(name + " trailer", 0x55, all.get(b.limit() + i));
+        }
+        boolean[] seen = new boolean[n];
+        long previousKey = Long.MIN_VALUE;
+        int previousIndex = -1;
+        for (int i = 0; i < n; i++) {
+            int offset = HEADER + i * recordSize;
+            int index = (b.get(offset) & 0xff) << 16 | (b.get(offset + 1) & 0xff) << 8 | (b.get(offset + 2) & 0xff);
+            for (int j = 3; j < recordSize - (longKey ? 8 : 4); j++)
+                assertEquals(name + " padding", 0x55, b.get(offset + j));
+            long key = longKey ? b.getLong(offset + recordSize - 8) : b.getInt(offset + recordSize - 4);
+            assertFalse(name + " duplicate " + index, seen[index]);
+            seen[index] = true;
+            assertTrue(name + " order at " + i, previousKey < key || (previousKey == key && previousIndex < index));
+            previousKey = key;
+            previousIndex = index;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.ParallelMergeX;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Dmitry Leskov
+ */
+public class ParallelMergeXTest {
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void setUpClass() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        pool.shutdown();
+    }
+
+    // key with a sequence number that does not take part in comparisons
+    private static class Item implements Comparable<Item> {
+        final int key, seq;
+        Item(int key, int seq) { this.key = key; this.seq = seq; }
+        @Override
+        public int compareTo(Item that) {
+            return key < that.key ? -1 : (key == that.key ? 0 : 1);
+        }
+    }
+
+    @Test
+    public void testSortIsStable() {
+        for (int n : new int[] {0, 1, 9, 100, 10000}) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                int[] keys = data.getIntData(key);
+                Item[] a = new Item[n];
+                for (int i = 0; i < n; i++) {
+                    a[i] = new Item(keys[i] % 50, i);
+                }
+                ParallelMergeX.sort(a, pool, 16);
+                for (int i = 1; i < n; i++) {
+                    assertTrue(key + " " + n + " at " + i, a[i-1].key <= a[i].key);
+                    if (a[i-1].key == a[i].key)
+                        assertTrue(key + " " + n + " unstable at " + i, a[i-1].seq < a[i].seq);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGrainTooSmall() {
+        ParallelMergeX.sort(new Integer[] {3, 2, 1}, pool, 4);
+    }
+
+}
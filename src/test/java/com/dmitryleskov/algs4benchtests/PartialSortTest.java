@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.PartialSort;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * The first k elements must be those of a full sort, and the array must
+ * remain a permutation of the input.
+ *
+ * @author Dmitry Leskov
+ */
+public class PartialSortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000, 5000};
+
+    @Test
+    public void testPartialSort() {
+        Comparator<Integer> descending = Collections.reverseOrder();
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                Integer[] a = data.getIntegerData(key);
+                Integer[] ascending = a.clone();
+                Arrays.sort(ascending);
+                Integer[] reversed = a.clone();
+                Arrays.sort(reversed, descending);
+                for (int k : new int[] {0, 1, 2, PartialSort.SMALL_K, PartialSort.SMALL_K + 1, n / 10, n / 2, n, n + 1}) {
+                    String name = key + " " + n + " " + k;
+                    int m = Math.min(k, n);
+
+                    Integer[] b = a.clone();
+                    PartialSort.partialSort(b, k);
+                    check(name, ascending, b, m);
+
+                    b = a.clone();
+                    PartialSort.partialSort(b, k, descending);
+                    check(name + " comparator", reversed, b, m);
+
+                    Integer[] original = a.clone();
+                    Comparable[] top = PartialSort.topK(a, k);
+                    assertArrayEquals(name + " topK", Arrays.copyOf(ascending, m), top);
+                    Integer[] topDescending = PartialSort.topK(a, k, descending);
+                    assertArrayEquals(name + " topK comparator", Arrays.copyOf(reversed, m), topDescending);
+                    assertArrayEquals(name + " unchanged", original, a);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeK() {
+        PartialSort.partialSort(new Integer[] {1, 2}, -1);
+    }
+
+    private static void check(String name, Integer[] sorted, Integer[] b, int k) {
+        assertArrayEquals(name, Arrays.copyOf(sorted, k), Arrays.copyOf(b, k));
+        Integer[] all = b.clone();
+        Arrays.sort(all, sorted.length > 1 && sorted[0] > sorted[sorted.length - 1]
+                ? Collections.<Integer>reverseOrder() : null);
+        assertArrayEquals(name + " permutation", sorted, all);
+    }
+}
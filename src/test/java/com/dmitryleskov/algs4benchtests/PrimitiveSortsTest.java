@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.BinaryInsertionX;
+import com.dmitryleskov.algs4bench.InsertionX;
+import com.dmitryleskov.algs4bench.Merge;
+import com.dmitryleskov.algs4bench.MergeX;
+import com.dmitryleskov.algs4bench.MergeX4;
+import com.dmitryleskov.algs4bench.MergeXBinary;
+import com.dmitryleskov.algs4bench.MergeXBranchless;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import com.dmitryleskov.algs4bench.VectorLeafSort;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Dmitry Leskov
+ */
+public class PrimitiveSortsTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000};
+
+    @Test
+    public void testIntSorts() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                int[] expected = data.getIntData(key);
+                Arrays.sort(expected);
+
+                int[] a = data.getIntData(key);
+                MergeX.sort(a);
+                assertArrayEquals("MergeX " + key + " " + n, expected, a);
+
+                a = data.getIntData(key);
+                MergeXBinary.sort(a);
+                assertArrayEquals("MergeXBinary " + key + " " + n, expected, a);
+
+                a = data.getIntData(key);
+                MergeXBranchless.sort(a);
+                assertArrayEquals("MergeXBranchless " + key + " " + n, expected, a);
+
+                a = data.getIntData(key);
+                MergeX4.sort(a);
+                assertArrayEquals("MergeX4 " + key + " " + n, expected, a);
+
+                a = data.getIntData(key);
+                Merge.sort(a);
+                assertArrayEquals("Merge " + key + " " + n, expected, a);
+
+                a = data.getIntData(key);
+                InsertionX.sort(a);
+                assertArrayEquals("InsertionX " + key + " " + n, expected, a);
+
+                a = data.getIntData(key);
+                BinaryInsertionX.sort(a);
+                assertArrayEquals("BinaryInsertionX " + key + " " + n, expected, a);
+            }
+        }
+    }
+
+    // the branchless int merge must not overflow on extreme values,
+    // and the Comparable one must take the left element on ties
+    @Test
+    public void testBranchlessExtremesAndStability() {
+        int[] a = new int[1000];
+        for (int i = 0; i < a.length; i++)
+            a[i] = (i % 3 == 0) ? Integer.MIN_VALUE + i : Integer.MAX_VALUE - i;
+        int[] expected = a.clone();
+        Arrays.sort(expected);
+        MergeXBranchless.sort(a);
+        assertArrayEquals(expected, a);
+
+        int[] ints = new int[1000];
+        for (int i = 0; i < ints.length; i++)
+            ints[i] = i;
+        StableKey[] input = StableKey.keys(ints, 7);
+        StableKey[] b = input.clone();
+        MergeXBranchless.sort(b);
+        StableKey.assertSortedStably("MergeXBranchless", input, b);
+    }
+
+    // the 4-way merge must take the earliest run on ties, including
+    // after a run is exhausted
+    @Test
+    public void testMergeX4Stability() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                StableKey[] input = StableKey.keys(data.getIntData(key), 5);
+                StableKey[] a = input.clone();
+                MergeX4.sort(a);
+                StableKey.assertSortedStably(key + " " + n, input, a);
+            }
+        }
+    }
+
+    // leaf sorters work on a[lo .. hi] only; which kernel create() picks
+    // depends on the JVM, so it must pass along with the scalar and the
+    // network kernel, which switches to insertion sort above 16 elements
+    @Test
+    public void testVectorLeafSort() {
+        VectorLeafSort[] sorters = {VectorLeafSort.create(), VectorLeafSort.scalar(), VectorLeafSort.network()};
+        for (int n = 0; n <= 40; n++) {
+            TestDataGenerator data = new TestDataGenerator(n + 2);
+            for (String key : data.keySet()) {
+                int[] ints = data.getIntData(key);
+                ints[0] = Integer.MAX_VALUE;
+                ints[n + 1] = Integer.MIN_VALUE;
+                long[] longs = new long[n + 2];
+                for (int i = 0; i < longs.length; i++)
+                    longs[i] = (long) ints[i] * -3;
+                int[] expectedInts = ints.clone();
+                Arrays.sort(expectedInts, 1, n + 1);
+                long[] expectedLongs = longs.clone();
+                Arrays.sort(expectedLongs, 1, n + 1);
+
+                for (VectorLeafSort sorter : sorters) {
+                    String name = (sorter.isVectorized() ? "vector " : "scalar ") + key + " " + n;
+                    int[] a = ints.clone();
+                    sorter.sort(a, 1, n);
+                    assertArrayEquals(name, expectedInts, a);
+                    long[] l = longs.clone();
+                    sorter.sort(l, 1, n);
+                    assertArrayEquals(name, expectedLongs, l);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongAndDoubleSorts() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                int[] ints = data.getIntData(key);
+                long[] longs = new long[n];
+                double[] doubles = new double[n];
+                for (int i = 0; i < n; i++) {
+                    longs[i] = (long) ints[i] << 16;
+                    doubles[i] = ints[i] / 3.0;
+                }
+                long[] expectedLongs = longs.clone();
+                Arrays.sort(expectedLongs);
+                double[] expectedDoubles = doubles.clone();
+                Arrays.sort(expectedDoubles);
+
+                long[] l = longs.clone();
+                MergeX.sort(l);
+                assertArrayEquals("MergeX " + key + " " + n, expectedLongs, l);
+                l = longs.clone();
+                MergeXBinary.sort(l);
+                assertArrayEquals("MergeXBinary " + key + " " + n, expectedLongs, l);
+                l = longs.clone();
+                Merge.sort(l);
+                assertArrayEquals("Merge " + key + " " + n, expectedLongs, l);
+
+                double[] d = doubles.clone();
+                MergeX.sort(d);
+                assertArrayEquals("MergeX " + key + " " + n, expectedDoubles, d, 0.0);
+                d = doubles.clone();
+                BinaryInsertionX.sort(d);
+                assertArrayEquals("BinaryInsertionX " + key + " " + n, expectedDoubles, d, 0.0);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.LSD;
+import com.dmitryleskov.algs4bench.MSD;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Dmitry Leskov
+ */
+public class RadixSortsTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 16, 17, 100, 1000, 5000};
+
+    @Test
+    public void testLSD() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                int[] ints = data.getIntData(key);
+                long[] longs = new long[n];
+                for (int i = 0; i < n; i++) {
+                    // mix signs and use the high bytes too
+                    ints[i] = (i % 3 == 0) ? -ints[i] : ints[i] * 65599;
+                    longs[i] = (long) ints[i] * 0x100000001L;
+                }
+                int[] expected = ints.clone();
+                Arrays.sort(expected);
+                LSD.sort(ints);
+                assertArrayEquals("LSD int " + key + " " + n, expected, ints);
+
+                long[] expectedLongs = longs.clone();
+                Arrays.sort(expectedLongs);
+                LSD.sort(longs);
+                assertArrayEquals("LSD long " + key + " " + n, expectedLongs, longs);
+            }
+        }
+        int[] extremes = {0, Integer.MIN_VALUE, -1, Integer.MAX_VALUE, 1, Integer.MIN_VALUE};
+        LSD.sort(extremes);
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE}, extremes);
+    }
+
+    @Test
+    public void testMSD() {
+        Random random = new Random(0);
+        String[] alphabet = {"", "a", "ab", "abc", "b", "\u0100", "\u00ff", "\uffff", "a\u0101"};
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                String[] a = TestDataGenerator.asStringArray(data.getIntData(key));
+                checkStableSort(key, a);
+            }
+            String[] narrow = new String[n];
+            String[] wide = new String[n];
+            for (int i = 0; i < n; i++) {
+                narrow[i] = alphabet[random.nextInt(5)] + alphabet[random.nextInt(5)];
+                wide[i] = alphabet[random.nextInt(alphabet.length)] + alphabet[random.nextInt(alphabet.length)];
+            }
+            checkStableSort("narrow", narrow);
+            checkStableSort("wide", wide);
+        }
+    }
+
+    // equal strings are distinct objects, so that instability shows
+    private static void checkStableSort(String name, String[] strings) {
+        String[] a = new String[strings.length];
+        for (int i = 0; i < a.length; i++)
+            a[i] = new String(strings[i]);
+        String[] expected = a.clone();
+        Arrays.sort(expected);
+        MSD.sort(a);
+        for (int i = 0; i < a.length; i++)
+            assertSame("MSD " + name + " " + a.length + " at " + i, expected[i], a[i]);
+    }
+}
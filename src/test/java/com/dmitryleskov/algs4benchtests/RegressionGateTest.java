@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.RegressionGate;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * The regression gate must read JMH CSV, keep baselines by key, and flag
+ * only changes beyond the threshold that the confidence intervals confirm.
+ *
+ * @author Dmitry Leskov
+ */
+public class RegressionGateTest {
+
+    private static final String HEADER =
+            "\"Benchmark\",\"Mode\",\"Threads\",\"Samples\",\"Score\",\"Score Error (99.9%)\",\"Unit\",\"Param: problemSize\"";
+
+    private Path dir, baseline, results;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("gate");
+        baseline = dir.resolve("baselines").resolve("machine.csv");
+        results = dir.resolve("results.csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(baseline);
+        Files.deleteIfExists(baseline.getParent());
+        Files.deleteIfExists(results);
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testCheck() throws IOException {
+        write(results,
+                row("testMergeX", "avgt", 1.000, 0.010, 32),
+                row("testMergeX", "avgt", 2.000, 0.010, 512),
+                row("testMergeXBinary", "avgt", 1.000, 0.010, 32),
+                row("testMergeXBinary", "avgt", 1.000, 0.010, 512),
+                row("testMSD", "thrpt", 100.0, 1.0, 32),
+                "\"com.dmitryleskov.algs4bench.CompareSorts.testMergeX:ops\",\"avgt\",1,10,5.000000,NaN,\"#\",32");
+        assertEquals(5, RegressionGate.save(results, baseline));
+
+        write(results,
+                row("testMergeX", "avgt", 1.020, 0.010, 32),     // within the threshold
+                row("testMergeX", "avgt", 2.200, 0.010, 512),    // 10% slower
+                row("testMergeXBinary", "avgt", 1.200, 0.300, 32),  // 20% slower, but noisy
+                row("testMergeXBinary", "avgt", 0.800, 0.010, 512), // faster
+                row("testMSD", "thrpt", 80.0, 1.0, 32),          // fewer ops/ms is slower
+                row("testLSD", "avgt", 1.000, Double.NaN, 32),   // not in the baseline
+                "\"com.dmitryleskov.algs4bench.CompareSorts.testMergeX:ops\",\"avgt\",1,10,500.000000,NaN,\"#\",32");
+        List<String> report = check(5);
+        assertEquals(8, report.size());
+        assertTrue(report.get(1), report.get(1).endsWith("SAME"));
+        assertTrue(report.get(2), report.get(2).endsWith("SLOWER"));
+        assertTrue(report.get(3), report.get(3).endsWith("SAME"));
+        assertTrue(report.get(4), report.get(4).endsWith("FASTER"));
+        assertTrue(report.get(5), report.get(5).endsWith("SLOWER"));
+        assertTrue(report.get(6), report.get(6).endsWith("NEW"));
+        assertEquals("2 regressions beyond 5.0%", report.get(7));
+
+        // a looser threshold lets the 10% regression through
+        assertEquals("1 regressions beyond 15.0%", check(15).get(7));
+    }
+
+    @Test
+    public void testSaveReplaces() throws IOException {
+        write(results, row("testMergeX", "avgt", 1.000, 0.010, 32), row("testMergeX", "avgt", 2.000, 0.010, 512));
+        RegressionGate.save(results, baseline);
+        write(results, row("testMergeX", "avgt", 3.000, 0.010, 512));
+        RegressionGate.save(results, baseline);
+
+        write(results, row("testMergeX", "avgt", 1.000, 0.010, 32), row("testMergeX", "avgt", 3.000, 0.010, 512));
+        List<String> report = check(5);
+        assertTrue(report.get(1), report.get(1).endsWith("SAME"));
+        assertTrue(report.get(2), report.get(2).endsWith("SAME"));
+    }
+
+    // the same benchmark in microseconds, as after a different -tu
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnitMismatch() throws IOException {
+        write(results, row("testMergeX", "avgt", 1.000, 0.010, 32));
+        RegressionGate.save(results, baseline);
+        write(results, row("testMergeX", "avgt", 1.000, 0.010, 32).replace("\"ms/op\"", "\"us/op\""));
+        check(5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotJmhCsv() throws IOException {
+        Files.write(results, Arrays.asList("name,score", "a,1"), StandardCharsets.UTF_8);
+        RegressionGate.save(results, baseline);
+    }
+
+    private List<String> check(double threshold) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RegressionGate.check(results, baseline, threshold, new PrintStream(bytes, true, "UTF-8"));
+        return Arrays.asList(bytes.toString("UTF-8").split("\\r?\\n"));
+    }
+
+    private static String row(String benchmark, String mode, double score, double error, int problemSize) {
+        return String.format(Locale.ROOT, "\"com.dmitryleskov.algs4bench.CompareSorts.%s\",\"%s\",1,10,%f,%s,\"%s\",%d",
+                benchmark, mode, score, Double.isNaN(error) ? "NaN" : String.format(Locale.ROOT, "%f", error),
+                mode.equals("thrpt") ? "ops/ms" : "ms/op", problemSize);
+    }
+
+    private static void write(Path file, String... rows) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        lines.addAll(Arrays.asList(rows));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+}
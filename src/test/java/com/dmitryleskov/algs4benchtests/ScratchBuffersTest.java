@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.Merge;
+import com.dmitryleskov.algs4bench.MergeX;
+import com.dmitryleskov.algs4bench.MergeXBinary;
+import com.dmitryleskov.algs4bench.ScratchBuffers;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Caller-supplied scratch arrays: the sort(a, aux) overloads and ScratchBuffers.
+ *
+ * @author Dmitry Leskov
+ */
+public class ScratchBuffersTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000};
+
+    // aux may be longer than a[], and whatever it holds must not leak into a[]
+    @Test
+    public void testAuxOverloads() {
+        for (int n : SIZES) {
+            TestDataGenerator data = new TestDataGenerator(n);
+            for (String key : data.keySet()) {
+                for (int extra : new int[] {0, 5}) {
+                    String name = key + " " + n + " + " + extra;
+                    int[] ints = data.getIntData(key);
+
+                    StableKey[] input = StableKey.keys(ints, 5);
+                    Comparable[] aux = new Comparable[n + extra];
+                    Arrays.fill(aux, Integer.MIN_VALUE);
+                    StableKey[] a = input.clone();
+                    MergeX.sort(a, aux);
+                    StableKey.assertSortedStably("MergeX " + name, input, a);
+                    Arrays.fill(aux, Integer.MIN_VALUE);
+                    a = input.clone();
+                    MergeXBinary.sort(a, aux);
+                    StableKey.assertSortedStably("MergeXBinary " + name, input, a);
+                    Arrays.fill(aux, Integer.MIN_VALUE);
+                    a = input.clone();
+                    Merge.sort(a, aux);
+                    StableKey.assertSortedStably("Merge " + name, input, a);
+
+                    int[] expectedInts = ints.clone();
+                    Arrays.sort(expectedInts);
+                    int[] intAux = new int[n + extra];
+                    Arrays.fill(intAux, Integer.MIN_VALUE);
+                    int[] b = ints.clone();
+                    MergeX.sort(b, intAux);
+                    assertArrayEquals("MergeX " + name, expectedInts, b);
+                    Arrays.fill(intAux, Integer.MIN_VALUE);
+                    b = ints.clone();
+                    MergeXBinary.sort(b, intAux);
+                    assertArrayEquals("MergeXBinary " + name, expectedInts, b);
+                    Arrays.fill(intAux, Integer.MIN_VALUE);
+                    b = ints.clone();
+                    Merge.sort(b, intAux);
+                    assertArrayEquals("Merge " + name, expectedInts, b);
+
+                    long[] longs = new long[n];
+                    double[] doubles = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        longs[i] = -(long) ints[i] << 20;
+                        doubles[i] = ints[i] / 7.0;
+                    }
+                    long[] expectedLongs = longs.clone();
+                    Arrays.sort(expectedLongs);
+                    double[] expectedDoubles = doubles.clone();
+                    Arrays.sort(expectedDoubles);
+                    long[] longAux = new long[n + extra];
+                    double[] doubleAux = new double[n + extra];
+
+                    long[] l = longs.clone();
+                    MergeX.sort(l, longAux);
+                    assertArrayEquals("MergeX " + name, expectedLongs, l);
+                    l = longs.clone();
+                    MergeXBinary.sort(l, longAux);
+                    assertArrayEquals("MergeXBinary " + name, expectedLongs, l);
+                    l = longs.clone();
+                    Merge.sort(l, longAux);
+                    assertArrayEquals("Merge " + name, expectedLongs, l);
+
+                    double[] d = doubles.clone();
+                    MergeX.sort(d, doubleAux);
+                    assertArrayEquals("MergeX " + name, expectedDoubles, d, 0.0);
+                    d = doubles.clone();
+                    MergeXBinary.sort(d, doubleAux);
+                    assertArrayEquals("MergeXBinary " + name, expectedDoubles, d, 0.0);
+                    d = doubles.clone();
+                    Merge.sort(d, doubleAux);
+                    assertArrayEquals("Merge " + name, expectedDoubles, d, 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testShortAux() {
+        Integer[] a = {3, 2, 1};
+        int[] ints = {3, 2, 1};
+        long[] longs = {3, 2, 1};
+        double[] doubles = {3, 2, 1};
+        try { MergeX.sort(a, new Comparable[2]); fail("MergeX Comparable"); }
+        catch (IllegalArgumentException expected) { }
+        try { MergeXBinary.sort(a, new Comparable[2]); fail("MergeXBinary Comparable"); }
+        catch (IllegalArgumentException expected) { }
+        try { Merge.sort(a, new Comparable[2]); fail("Merge Comparable"); }
+        catch (IllegalArgumentException expected) { }
+        try { MergeX.sort(ints, new int[2]); fail("MergeX int"); }
+        catch (IllegalArgumentException expected) { }
+        try { MergeXBinary.sort(ints, new int[2]); fail("MergeXBinary int"); }
+        catch (IllegalArgumentException expected) { }
+        try { Merge.sort(ints, new int[2]); fail("Merge int"); }
+        catch (IllegalArgumentException expected) { }
+        try { MergeX.sort(longs, new long[2]); fail("MergeX long"); }
+        catch (IllegalArgumentException expected) { }
+        try { MergeXBinary.sort(longs, new long[2]); fail("MergeXBinary long"); }
+        catch (IllegalArgumentException expected) { }
+        try { Merge.sort(longs, new long[2]); fail("Merge long"); }
+        catch (IllegalArgumentException expected) { }
+        try { MergeX.sort(doubles, new double[2]); fail("MergeX double"); }
+        catch (IllegalArgumentException expected) { }
+        try { MergeXBinary.sort(doubles, new double[2]); fail("MergeXBinary double"); }
+        catch (IllegalArgumentException expected) { }
+        try { Merge.sort(doubles, new double[2]); fail("Merge double"); }
+        catch (IllegalArgumentException expected) { }
+        // a rejected call must not have touched the array
+        assertArrayEquals(new Integer[] {3, 2, 1}, a);
+        assertArrayEquals(new int[] {3, 2, 1}, ints);
+    }
+
+    @Test
+    public void testBuffersGrowOnly() {
+        ScratchBuffers buffers = new ScratchBuffers();
+        Comparable[] c = buffers.comparables(100);
+        assertTrue(c.length >= 100);
+        assertSame(c, buffers.comparables(10));
+        assertSame(c, buffers.comparables(c.length));
+        Comparable[] bigger = buffers.comparables(c.length + 1);
+        assertTrue(bigger.length > c.length);
+        assertSame(bigger, buffers.comparables(100));
+
+        int[] i = buffers.ints(100);
+        assertTrue(i.length >= 100);
+        assertSame(i, buffers.ints(50));
+        long[] l = buffers.longs(100);
+        assertTrue(l.length >= 100);
+        assertSame(l, buffers.longs(50));
+        double[] d = buffers.doubles(100);
+        assertTrue(d.length >= 100);
+        assertSame(d, buffers.doubles(50));
+        assertNotSame(i, buffers.ints(i.length + 1));
+    }
+
+    @Test
+    public void testClearAndRelease() {
+        ScratchBuffers buffers = new ScratchBuffers();
+        Integer[] a = TestDataGenerator.asIntegerArray(new TestDataGenerator(100).getIntData("random"));
+        Comparable[] aux = buffers.comparables(a.length);
+        MergeX.sort(a, aux);
+        assertNotNull(aux[0]);
+
+        buffers.clear();
+        assertSame(aux, buffers.comparables(a.length));
+        for (int i = 0; i < aux.length; i++)
+            assertNull("at " + i, aux[i]);
+
+        int[] ints = buffers.ints(10);
+        buffers.release();
+        assertNotSame(aux, buffers.comparables(a.length));
+        assertNotSame(ints, buffers.ints(10));
+        assertTrue(buffers.comparables(a.length).length >= a.length);
+    }
+
+    @Test
+    public void testForCurrentThread() throws InterruptedException {
+        final ScratchBuffers mine = ScratchBuffers.forCurrentThread();
+        assertSame(mine, ScratchBuffers.forCurrentThread());
+        final ScratchBuffers[] theirs = new ScratchBuffers[1];
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                theirs[0] = ScratchBuffers.forCurrentThread();
+            }
+        };
+        t.start();
+        t.join();
+        assertNotNull(theirs[0]);
+        assertNotSame(mine, theirs[0]);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.SortAlgorithm;
+import com.dmitryleskov.algs4bench.SortAlgorithms;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Every registered engine must sort, and be found under its own name.
+ *
+ * @author Dmitry Leskov
+ */
+public class SortAlgorithmsTest {
+
+    private static final int[] SIZES = {0, 1, 2, 7, 8, 16, 17, 100, 1000};
+
+    @Test
+    public void testRegisteredAlgorithms() {
+        assertTrue(SortAlgorithms.names().containsAll(Arrays.asList(
+                "MergeX", "MergeXBinary", "Merge", "InsertionX", "BinaryInsertionX")));
+        for (String name : SortAlgorithms.names()) {
+            SortAlgorithm sorter = SortAlgorithms.get(name);
+            assertEquals(name, sorter.name());
+            for (int n : SIZES) {
+                TestDataGenerator data = new TestDataGenerator(n);
+                for (String key : data.keySet()) {
+                    Integer[] expected = data.getIntegerData(key);
+                    Arrays.sort(expected);
+                    Comparable[] a = data.getIntegerData(key);
+                    sorter.sort(a, new Comparable[n]);
+                    assertArrayEquals(name + " " + key + " " + n, expected, a);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownAlgorithm() {
+        SortAlgorithms.get("BogoSort");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dmitryleskov.algs4benchtests;
+
+import com.dmitryleskov.algs4bench.SortingNetworkGenerator;
+import com.dmitryleskov.algs4bench.SortingNetworks;
+import com.dmitryleskov.algs4bench.TestDataGenerator;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * The generated networks must sort subarrays of every size they cover,
+ * and only those.
+ *
+ * @author Dmitry Leskov
+ */
+public class SortingNetworksTest {
+
+    @Test
+    public void testNetworksAreValid() {
+        for (int n = 0; n <= SortingNetworks.MAX_SIZE; n++) {
+            int[][] network = SortingNetworkGenerator.network(n);
+            assertTrue("size " + n, SortingNetworkGenerator.isSortingNetwork(n, network));
+            assertEquals("size " + n, network.length, SortingNetworks.comparators(n));
+        }
+        assertFalse(SortingNetworkGenerator.isSortingNetwork(3, new int[][] {{0, 1}, {1, 2}}));
+    }
+
+    @Test
+    public void testSorts() {
+        for (int n = 0; n <= SortingNetworks.MAX_SIZE; n++) {
+            TestDataGenerator data = new TestDataGenerator(n + 2);
+            for (String key : data.keySet()) {
+                // the elements around the subarray must not move
+                int[] a = data.getIntData(key);
+                a[0] = Integer.MAX_VALUE;
+                a[n + 1] = Integer.MIN_VALUE;
+                int[] expected = a.clone();
+                Arrays.sort(expected, 1, n + 1);
+                Integer[] b = TestDataGenerator.asIntegerArray(a);
+                Integer[] expectedIntegers = TestDataGenerator.asIntegerArray(expected);
+
+                SortingNetworks.sort(a, 1, n);
+                assertArrayEquals("int " + key + " " + n, expected, a);
+                SortingNetworks.sort(b, 1, n);
+                assertArrayEquals("Comparable " + key + " " + n, expectedIntegers, b);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLarge() {
+        SortingNetworks.sort(new int[SortingNetworks.MAX_SIZE + 1], 0, SortingNetworks.MAX_SIZE);
+    }
+}
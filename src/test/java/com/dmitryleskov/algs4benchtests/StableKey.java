@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014, Dmitry Leskov. All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dmitryleskov.algs4benchtests;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import static org.junit.Assert.*;
+
+/**
+ * A sort key with an identity of its own, for the stability tests.
+ * Keys compare by value only, so a stable sort must keep equal keys in
+ * input order; the sequence number, the position in the input, tells
+ * equal keys apart in failure messages.
+ *
+ * @author Dmitry Leskov
+ */
+final class StableKey implements Comparable<StableKey> {
+
+    final int value;
+    final int seq;
+
+    StableKey(int value, int seq) {
+        this.value = value;
+        this.seq = seq;
+    }
+
+    @Override
+    public int compareTo(StableKey that) {
+        return Integer.compare(value, that.value);
+    }
+
+    @Override
+    public String toString() {
+        return value + "#" + seq;
+    }
+
+    /**
+     * Returns keys of <tt>data[i] % mod</tt>, so that there are many equal keys.
+     */
+    static StableKey[] keys(int[] data, int mod) {
+        StableKey[] a = new StableKey[data.length];
+        for (int i = 0; i < data.length; i++)
+            a[i] = new StableKey(data[i] % mod, i);
+        return a;
+    }
+
+    /**
+     * Checks that <tt>a</tt> holds the very objects of <tt>input</tt>
+     * in the order of a stable sort by their natural order.
+     */
+    static <T> void assertSortedStably(String message, T[] input, T[] a) {
+        assertSortedStably(message, input, a, null);
+    }
+
+    /**
+     * Checks that <tt>a</tt> holds the very objects of <tt>input</tt>
+     * in the order of a stable sort by <tt>c</tt>.
+     */
+    static <T> void assertSortedStably(String message, T[] input, T[] a, Comparator<? super T> c) {
+        T[] stable = input.clone();
+        Arrays.sort(stable, c);
+        assertEquals(message + " length", stable.length, a.length);
+        for (int i = 0; i < a.length; i++)
+            assertSame(message + " at " + i, stable[i], a[i]);
+    }
+}